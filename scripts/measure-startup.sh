@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request for a standard build versus the fast-start build
+# (Spring AOT + AppCDS archive + faststart profile).
+#
+# Usage: scripts/measure-startup.sh [runs]
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/hello"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+WORK="${ROOT}/target/startup"
+
+cd "${ROOT}"
+rm -rf "${WORK}"
+mkdir -p "${WORK}/standard" "${WORK}/faststart"
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the app with the given command, waits for the first successful request and prints the elapsed ms
+time_to_first_request() {
+    local start pid
+    start=$(now_ms)
+    "$@" --server.port="${PORT}" > "${WORK}/last-run.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "${URL}"; do
+        if ! kill -0 "${pid}" 2> /dev/null; then
+            echo "Application exited before serving a request, see ${WORK}/last-run.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    echo $(( $(now_ms) - start ))
+    kill "${pid}"
+    wait "${pid}" 2> /dev/null || true
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+measure() {
+    local label="$1"
+    shift
+    local results=()
+    for run in $(seq 1 "${RUNS}"); do
+        results+=("$(time_to_first_request "$@")")
+    done
+    echo "${label}: runs=${results[*]} ms, median=$(printf '%s\n' "${results[@]}" | median) ms"
+}
+
+echo "Building standard jar"
+./mvnw -q -B -DskipTests clean package
+java -Djarmode=tools -jar target/supply_manager-*.jar extract --destination "${WORK}/standard" > /dev/null
+
+echo "Building fast-start jar (AOT)"
+./mvnw -q -B -DskipTests -Pfaststart clean package
+java -Djarmode=tools -jar target/supply_manager-*.jar extract --destination "${WORK}/faststart" > /dev/null
+
+FASTSTART_JAR="$(ls "${WORK}"/faststart/*.jar)"
+STANDARD_JAR="$(ls "${WORK}"/standard/*.jar)"
+
+echo "Training run for the CDS archive"
+java -XX:ArchiveClassesAtExit="${WORK}/faststart/app.jsa" -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh -jar "${FASTSTART_JAR}" --spring.profiles.active=faststart \
+    > "${WORK}/training.log" 2>&1
+
+measure "standard " java -jar "${STANDARD_JAR}"
+measure "faststart" java -XX:SharedArchiveFile="${WORK}/faststart/app.jsa" -Dspring.aot.enabled=true \
+    -jar "${FASTSTART_JAR}" --spring.profiles.active=faststart
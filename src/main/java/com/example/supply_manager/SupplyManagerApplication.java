@@ -2,12 +2,16 @@ package com.example.supply_manager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class SupplyManagerApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(SupplyManagerApplication.class, args);
+		SpringApplication application = new SpringApplication(SupplyManagerApplication.class);
+		// Records startup steps for the report logged by StartupReport
+		application.setApplicationStartup(new BufferingApplicationStartup(10_000));
+		application.run(args);
 	}
 
 }
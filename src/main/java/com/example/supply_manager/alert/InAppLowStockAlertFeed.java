@@ -0,0 +1,40 @@
+package com.example.supply_manager.alert;
+
+import com.example.supply_manager.dto.LowStockAlert;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+// Keeps the most recent alerts in memory for the UI; older entries fall off the end
+@Component
+public class InAppLowStockAlertFeed implements LowStockAlertSink {
+
+    private final Deque<LowStockAlert> recent = new ArrayDeque<>();
+
+    @Value("${supply.alerts.low-stock.feed.capacity:500}")
+    private int capacity;
+
+    @Override
+    public synchronized void deliver(List<LowStockAlert> alerts) {
+        for (LowStockAlert alert : alerts) {
+            recent.addFirst(alert);
+            if (recent.size() > capacity) {
+                recent.removeLast();
+            }
+        }
+    }
+
+    public synchronized List<LowStockAlert> latest(int limit) {
+        List<LowStockAlert> latest = new ArrayList<>(Math.min(limit, recent.size()));
+        Iterator<LowStockAlert> iterator = recent.iterator();
+        while (iterator.hasNext() && latest.size() < limit) {
+            latest.add(iterator.next());
+        }
+        return latest;
+    }
+}
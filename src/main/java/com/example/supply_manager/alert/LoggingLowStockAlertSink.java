@@ -0,0 +1,24 @@
+package com.example.supply_manager.alert;
+
+import com.example.supply_manager.dto.LowStockAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "supply.alerts.low-stock.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LoggingLowStockAlertSink implements LowStockAlertSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingLowStockAlertSink.class);
+
+    @Override
+    public void deliver(List<LowStockAlert> alerts) {
+        for (LowStockAlert alert : alerts) {
+            log.warn("Low stock: {} ({}) has {} units, minimum is {}",
+                    alert.getCode(), alert.getName(), alert.getQuantity(), alert.getMinimumStock());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.supply_manager.alert;
+
+import com.example.supply_manager.dto.LowStockAlert;
+import com.example.supply_manager.dto.StockLevelChange;
+import com.example.supply_manager.entity.JobWatermark;
+import com.example.supply_manager.entity.LowStockAlertState;
+import com.example.supply_manager.repository.JobWatermarkRepository;
+import com.example.supply_manager.repository.LowStockAlertStateRepository;
+import com.example.supply_manager.repository.ProductRepository;
+import com.example.supply_manager.repository.ShardedProductStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Alerts once per crossing below minimum stock, reading only rows changed since the watermark less an overlap
+@Component
+public class LowStockAlertJob {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockAlertJob.class);
+
+    private static final String WATERMARK_NAME = "low-stock-alerts";
+
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JobWatermarkRepository jobWatermarkRepository;
+
+    @Autowired
+    private LowStockAlertStateRepository alertStateRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private List<LowStockAlertSink> sinks;
+
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+
+    @Value("${supply.alerts.low-stock.batch-size:500}")
+    private int batchSize;
+
+    @Value("${supply.alerts.low-stock.max-rows-per-run:50000}")
+    private int maxRowsPerRun;
+
+    // Each run starts this far behind the watermark, so a transaction that stamped updatedAt before the
+    // watermark but committed after it (the seeder, cascade jobs, bulk pricing) is still read; the alert
+    // state makes rereading a row harmless. Must exceed the longest transaction that writes products
+    @Value("${supply.alerts.low-stock.overlap:600000}")
+    private long overlapMillis;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong rowsScanned = new AtomicLong();
+    private final AtomicLong alertsRaised = new AtomicLong();
+    private final AtomicLong recoveries = new AtomicLong();
+
+    @Scheduled(initialDelayString = "${supply.alerts.low-stock.interval:30000}",
+               fixedDelayString = "${supply.alerts.low-stock.interval:30000}")
+    public void run() {
+        if (shardedProductStore != null) {
+            return;
+        }
+        JobWatermark start = jobWatermarkRepository.findById(WATERMARK_NAME)
+                .orElseGet(() -> new JobWatermark(WATERMARK_NAME, START, 0L));
+        LocalDateTime since = start.getLastUpdatedAt().minusNanos(overlapMillis * 1_000_000);
+        long afterId = 0L;
+        // Only rows past the stored watermark count against the limit, so a busy overlap cannot stall the job
+        int scanned = 0;
+        int fresh = 0;
+        while (fresh < maxRowsPerRun) {
+            LocalDateTime pageSince = since;
+            long pageAfterId = afterId;
+            List<LowStockAlert> alerts = new ArrayList<>();
+            List<StockLevelChange> changes = transactionTemplate.execute(
+                    status -> processPage(pageSince, pageAfterId, alerts));
+            deliver(alerts);
+            scanned += changes.size();
+            for (StockLevelChange change : changes) {
+                if (isAfter(change, start.getLastUpdatedAt(), start.getLastId())) {
+                    fresh++;
+                }
+            }
+            if (changes.size() < batchSize) {
+                break;
+            }
+            StockLevelChange last = changes.get(changes.size() - 1);
+            since = last.getUpdatedAt();
+            afterId = last.getProductId();
+        }
+        runs.incrementAndGet();
+        rowsScanned.addAndGet(scanned);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("runs", runs.get());
+        stats.put("rowsScanned", rowsScanned.get());
+        stats.put("alertsRaised", alertsRaised.get());
+        stats.put("recoveries", recoveries.get());
+        jobWatermarkRepository.findById(WATERMARK_NAME).ifPresent(watermark -> {
+            stats.put("watermarkUpdatedAt", watermark.getLastUpdatedAt());
+            stats.put("watermarkId", watermark.getLastId());
+        });
+        return stats;
+    }
+
+    private List<StockLevelChange> processPage(LocalDateTime since, long afterId, List<LowStockAlert> alerts) {
+        List<StockLevelChange> changes = productRepository.findStockChangesSince(
+                since, afterId, PageRequest.of(0, batchSize));
+        if (changes.isEmpty()) {
+            return changes;
+        }
+
+        List<Long> ids = new ArrayList<>(changes.size());
+        for (StockLevelChange change : changes) {
+            ids.add(change.getProductId());
+        }
+        Set<Long> alerted = new HashSet<>();
+        for (LowStockAlertState state : alertStateRepository.findAllById(ids)) {
+            alerted.add(state.getProductId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LowStockAlertState> crossed = new ArrayList<>();
+        List<Long> recovered = new ArrayList<>();
+        for (StockLevelChange change : changes) {
+            boolean low = change.isLowStock();
+            if (low && !alerted.contains(change.getProductId())) {
+                crossed.add(new LowStockAlertState(change.getProductId(), now));
+                alerts.add(new LowStockAlert(change.getProductId(), change.getCode(), change.getName(),
+                        change.getQuantity(), change.getMinimumStock(), now));
+            } else if (!low && alerted.contains(change.getProductId())) {
+                recovered.add(change.getProductId());
+            }
+        }
+        alertStateRepository.saveAll(crossed);
+        alertStateRepository.deleteAllByIdInBatch(recovered);
+        recoveries.addAndGet(recovered.size());
+
+        // Pages inside the overlap must not move the watermark backwards
+        JobWatermark watermark = jobWatermarkRepository.findById(WATERMARK_NAME)
+                .orElseGet(() -> new JobWatermark(WATERMARK_NAME, START, 0L));
+        StockLevelChange last = changes.get(changes.size() - 1);
+        if (isAfter(last, watermark.getLastUpdatedAt(), watermark.getLastId())) {
+            watermark.setLastUpdatedAt(last.getUpdatedAt());
+            watermark.setLastId(last.getProductId());
+            jobWatermarkRepository.save(watermark);
+        }
+        return changes;
+    }
+    
+    private static boolean isAfter(StockLevelChange change, LocalDateTime updatedAt, Long id) {
+        int order = change.getUpdatedAt().compareTo(updatedAt);
+        return order > 0 || (order == 0 && change.getProductId() > id);
+    }
+
+    private void deliver(List<LowStockAlert> alerts) {
+        if (alerts.isEmpty()) {
+            return;
+        }
+        alertsRaised.addAndGet(alerts.size());
+        for (LowStockAlertSink sink : sinks) {
+            try {
+                sink.deliver(alerts);
+            } catch (RuntimeException e) {
+                log.warn("Low stock alert sink {} failed: {}", sink.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.supply_manager.alert;
+
+import com.example.supply_manager.dto.LowStockAlert;
+
+import java.util.List;
+
+public interface LowStockAlertSink {
+
+    void deliver(List<LowStockAlert> alerts);
+}
@@ -0,0 +1,39 @@
+package com.example.supply_manager.alert;
+
+import com.example.supply_manager.dto.LowStockAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "supply.alerts.low-stock.webhook.url")
+public class WebhookLowStockAlertSink implements LowStockAlertSink {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookLowStockAlertSink.class);
+
+    private final RestClient restClient;
+
+    public WebhookLowStockAlertSink(RestClient.Builder builder, @Value("${supply.alerts.low-stock.webhook.url}") String url) {
+        this.restClient = builder.baseUrl(url).build();
+    }
+
+    @Override
+    public void deliver(List<LowStockAlert> alerts) {
+        try {
+            restClient.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(alerts)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException e) {
+            log.warn("Failed to deliver {} low stock alerts to webhook: {}", alerts.size(), e.getMessage());
+        }
+    }
+}
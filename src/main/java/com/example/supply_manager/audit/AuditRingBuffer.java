@@ -0,0 +1,157 @@
+package com.example.supply_manager.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+// Lock-free MPSC ring of preallocated slots; BLOCK producers only wait while the consumer is alive
+public class AuditRingBuffer {
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP
+    }
+
+    public static final class Slot {
+
+        String entityType;
+        Long entityId;
+        String action;
+        String actor;
+        long timestamp;
+
+        public String getEntityType() {
+            return entityType;
+        }
+
+        public Long getEntityId() {
+            return entityId;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public String getActor() {
+            return actor;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+
+    public interface SlotHandler {
+        void handle(Slot slot);
+    }
+
+    private final Slot[] slots;
+
+    private final int mask;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final AtomicLong claimed = new AtomicLong();
+
+    private final AtomicLongArray published;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong droppedWithoutConsumer = new AtomicLong();
+
+    private volatile BooleanSupplier consumerAlive = () -> true;
+
+    // Next sequence the consumer will read; only the consumer thread writes it
+    private volatile long consumed;
+
+    public AuditRingBuffer(int capacity, OverflowPolicy overflowPolicy) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two");
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.overflowPolicy = overflowPolicy;
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    public void setConsumerAlive(BooleanSupplier consumerAlive) {
+        this.consumerAlive = consumerAlive;
+    }
+
+    public boolean publish(String entityType, Long entityId, String action, String actor, long timestamp) {
+        long sequence;
+        while (true) {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                if (!consumerAlive.getAsBoolean()) {
+                    dropped.incrementAndGet();
+                    droppedWithoutConsumer.incrementAndGet();
+                    return false;
+                }
+                LockSupport.parkNanos(1_000);
+                continue;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+
+        int index = (int) (sequence & mask);
+        Slot slot = slots[index];
+        slot.entityType = entityType;
+        slot.entityId = entityId;
+        slot.action = action;
+        slot.actor = actor;
+        slot.timestamp = timestamp;
+        published.lazySet(index, sequence);
+        return true;
+    }
+
+    // Hands up to max published slots to the handler in order, then frees them for producers
+    public int drain(SlotHandler handler, int max) {
+        long next = consumed;
+        int count = 0;
+        while (count < max) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                break;
+            }
+            handler.handle(slots[index]);
+            next++;
+            count++;
+        }
+        consumed = next;
+        return count;
+    }
+
+    public long getPublished() {
+        return claimed.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getDroppedWithoutConsumer() {
+        return droppedWithoutConsumer.get();
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    public long size() {
+        return claimed.get() - consumed;
+    }
+}
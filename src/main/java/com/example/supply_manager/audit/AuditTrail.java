@@ -0,0 +1,141 @@
+package com.example.supply_manager.audit;
+
+import com.example.supply_manager.service.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Records are queued in the ring after commit and persisted in JDBC batches by one background thread
+@Component
+public class AuditTrail {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditTrail.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_log (entity_type, entity_id, action, actor, changed_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${supply.audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${supply.audit.capacity:16384}")
+    private int capacity;
+
+    @Value("${supply.audit.overflow-policy:BLOCK}")
+    private AuditRingBuffer.OverflowPolicy overflowPolicy;
+
+    @Value("${supply.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${supply.audit.flush-interval:200}")
+    private long flushIntervalMillis;
+
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private AuditRingBuffer buffer;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        buffer = new AuditRingBuffer(capacity, overflowPolicy);
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        buffer.setConsumerAlive(writer::isAlive);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    public void record(String entityType, Long entityId, String action) {
+        if (!enabled) {
+            return;
+        }
+        String actor = currentActor();
+        long timestamp = System.currentTimeMillis();
+        TransactionHooks.afterCommit(() -> buffer.publish(entityType, entityId, action, actor, timestamp));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("capacity", buffer.getCapacity());
+        stats.put("overflowPolicy", overflowPolicy);
+        stats.put("published", buffer.getPublished());
+        stats.put("pending", buffer.size());
+        stats.put("dropped", buffer.getDropped());
+        stats.put("droppedWithoutWriter", buffer.getDroppedWithoutConsumer());
+        stats.put("writerAlive", writer != null && writer.isAlive());
+        stats.put("persisted", persisted.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    private void drainLoop() {
+        try {
+            drainUntilStopped();
+        } catch (Throwable e) {
+            log.error("Audit writer stopped unexpectedly; further records are dropped once the buffer is full", e);
+            throw e;
+        }
+    }
+
+    private void drainUntilStopped() {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            buffer.drain(slot -> batch.add(new Object[] {
+                    slot.getEntityType(), slot.getEntityId(), slot.getAction(), slot.getActor(),
+                    new Timestamp(slot.getTimestamp())
+            }), batchSize);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis));
+                continue;
+            }
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                persisted.addAndGet(batch.size());
+            } catch (RuntimeException e) {
+                failed.addAndGet(batch.size());
+                log.error("Failed to persist {} audit records: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : "system";
+    }
+}
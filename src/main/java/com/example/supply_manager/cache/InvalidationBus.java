@@ -0,0 +1,164 @@
+package com.example.supply_manager.cache;
+
+import com.example.supply_manager.service.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong totalLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private final AtomicLong staleEpisodes = new AtomicLong();
+
+    // Last time each peer was heard from; this node's own packets never count as liveness
+    private final Map<String, Long> peerLastSeen = new ConcurrentHashMap<>();
+
+    private volatile boolean stale;
+
+    @Autowired
+    private InvalidationTransport transport;
+
+    // Lazy so that caches depending on the bus can also be listeners without a cycle
+    @Lazy
+    @Autowired
+    private List<InvalidationListener> listeners;
+
+    @Value("${supply.invalidation.max-staleness:5000}")
+    private long maxStalenessMillis;
+    
+    // A peer that vanished without a leave message is forgotten after this long and stops holding the node stale
+    @Value("${supply.invalidation.peer-expiry:60000}")
+    private long peerExpiryMillis;
+
+    @PostConstruct
+    public void start() {
+        transport.start(this::receive);
+    }
+
+    @PreDestroy
+    public void stop() {
+        transport.send(new InvalidationEvent(InvalidationEvent.LEAVE, null, 0, nodeId, System.currentTimeMillis()));
+        transport.close();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // False while heartbeats are overdue; caches should not serve entries that may have missed invalidations
+    public boolean isHealthy() {
+        return !stale;
+    }
+
+    public void publish(String entityType, Long entityId, long version) {
+        TransactionHooks.afterCommit(() -> {
+            InvalidationEvent event = new InvalidationEvent(entityType, entityId, version, nodeId, System.currentTimeMillis());
+            dispatch(event);
+            transport.send(event);
+            published.incrementAndGet();
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${supply.invalidation.heartbeat-interval:1000}")
+    public void heartbeat() {
+        transport.send(new InvalidationEvent(InvalidationEvent.HEARTBEAT, null, 0, nodeId, System.currentTimeMillis()));
+
+        long now = System.currentTimeMillis();
+        peerLastSeen.entrySet().removeIf(peer -> {
+            boolean expired = now - peer.getValue() > peerExpiryMillis;
+            if (expired) {
+                log.info("Forgetting invalidation peer {} after {} ms of silence", peer.getKey(), now - peer.getValue());
+            }
+            return expired;
+        });
+        List<String> overduePeers = peerLastSeen.entrySet().stream()
+                .filter(peer -> now - peer.getValue() > maxStalenessMillis)
+                .map(Map.Entry::getKey)
+                .toList();
+        boolean overdue = !overduePeers.isEmpty();
+        if (overdue && !stale) {
+            stale = true;
+            staleEpisodes.incrementAndGet();
+            log.warn("No invalidation traffic from {} for over {} ms; flushing local caches", overduePeers, maxStalenessMillis);
+            for (InvalidationListener listener : listeners) {
+                listener.onInvalidateAll();
+            }
+        } else if (!overdue && stale) {
+            stale = false;
+            log.info("Invalidation traffic resumed");
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long receivedCount = received.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nodeId", nodeId);
+        stats.put("healthy", !stale);
+        stats.put("published", published.get());
+        stats.put("received", receivedCount);
+        stats.put("applied", applied.get());
+        stats.put("averageLagMillis", receivedCount == 0 ? 0 : totalLagMillis.get() / receivedCount);
+        stats.put("maxLagMillis", maxLagMillis.get());
+        stats.put("staleEpisodes", staleEpisodes.get());
+        stats.put("maxStalenessMillis", maxStalenessMillis);
+        long now = System.currentTimeMillis();
+        Map<String, Long> peers = new LinkedHashMap<>();
+        peerLastSeen.forEach((peer, seenAt) -> peers.put(peer, now - seenAt));
+        stats.put("peerSilenceMillis", peers);
+        return stats;
+    }
+
+    private void receive(InvalidationEvent event) {
+        if (nodeId.equals(event.getOriginNode())) {
+            return;
+        }
+        if (InvalidationEvent.LEAVE.equals(event.getEntityType())) {
+            peerLastSeen.remove(event.getOriginNode());
+            return;
+        }
+        long now = System.currentTimeMillis();
+        peerLastSeen.put(event.getOriginNode(), now);
+        if (InvalidationEvent.HEARTBEAT.equals(event.getEntityType())) {
+            return;
+        }
+        long lag = Math.max(0, now - event.getPublishedAt());
+        received.incrementAndGet();
+        totalLagMillis.addAndGet(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        dispatch(event);
+    }
+
+    private void dispatch(InvalidationEvent event) {
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(event);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation listener {} failed for {} {}: {}",
+                        listener.getClass().getSimpleName(), event.getEntityType(), event.getEntityId(), e.getMessage());
+            }
+        }
+        applied.incrementAndGet();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.supply_manager.cache;
+
+public class InvalidationEvent {
+    
+    public static final String HEARTBEAT = "heartbeat";
+    
+    // Sent by a node on shutdown so peers stop expecting its heartbeats
+    public static final String LEAVE = "leave";
+    
+    private final String entityType;
+    private final Long entityId;
+    private final long version;
+    private final String originNode;
+    private final long publishedAt;
+
+    public InvalidationEvent(String entityType, Long entityId, long version, String originNode, long publishedAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.version = version;
+        this.originNode = originNode;
+        this.publishedAt = publishedAt;
+    }
+    
+    public static InvalidationEvent parse(String line) {
+        String[] parts = line.split("\\|", -1);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Malformed invalidation event: " + line);
+        }
+        return new InvalidationEvent(parts[0], parts[1].isEmpty() ? null : Long.valueOf(parts[1]),
+                Long.parseLong(parts[2]), parts[3], Long.parseLong(parts[4]));
+    }
+    
+    public String format() {
+        return entityType + "|" + (entityId != null ? entityId : "") + "|" + version + "|" + originNode + "|" + publishedAt;
+    }
+    
+    // An event without an id invalidates every cached entry of its entity type
+    public boolean isBulk() {
+        return entityId == null;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getOriginNode() {
+        return originNode;
+    }
+
+    public long getPublishedAt() {
+        return publishedAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.supply_manager.cache;
+
+public interface InvalidationListener {
+    
+    void onInvalidation(InvalidationEvent event);
+    
+    // Called when the bus stops hearing heartbeats, so anything cached may be older than the staleness bound
+    void onInvalidateAll();
+}
@@ -0,0 +1,13 @@
+package com.example.supply_manager.cache;
+
+import java.util.function.Consumer;
+
+public interface InvalidationTransport extends AutoCloseable {
+    
+    void start(Consumer<InvalidationEvent> receiver);
+    
+    void send(InvalidationEvent event);
+    
+    @Override
+    void close();
+}
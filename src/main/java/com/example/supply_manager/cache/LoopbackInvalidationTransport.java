@@ -0,0 +1,27 @@
+package com.example.supply_manager.cache;
+
+import java.util.function.Consumer;
+
+// Single-node transport: events are delivered straight back to this node
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+    
+    private volatile Consumer<InvalidationEvent> receiver;
+    
+    @Override
+    public void start(Consumer<InvalidationEvent> receiver) {
+        this.receiver = receiver;
+    }
+    
+    @Override
+    public void send(InvalidationEvent event) {
+        Consumer<InvalidationEvent> current = receiver;
+        if (current != null) {
+            current.accept(event);
+        }
+    }
+    
+    @Override
+    public void close() {
+        receiver = null;
+    }
+}
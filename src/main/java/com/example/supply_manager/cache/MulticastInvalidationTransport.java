@@ -0,0 +1,87 @@
+package com.example.supply_manager.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+public class MulticastInvalidationTransport implements InvalidationTransport {
+    
+    private static final Logger log = LoggerFactory.getLogger(MulticastInvalidationTransport.class);
+    
+    private static final int MAX_PACKET_SIZE = 512;
+    
+    private final InetSocketAddress group;
+    
+    private final NetworkInterface networkInterface;
+    
+    private MulticastSocket socket;
+    
+    private Thread receiverThread;
+
+    public MulticastInvalidationTransport(String groupAddress, int port, String interfaceName) throws IOException {
+        this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+        this.networkInterface = interfaceName != null && !interfaceName.isBlank()
+                ? NetworkInterface.getByName(interfaceName)
+                : NetworkInterface.getByInetAddress(InetAddress.getLoopbackAddress());
+    }
+    
+    @Override
+    public void start(Consumer<InvalidationEvent> receiver) {
+        try {
+            socket = new MulticastSocket(group.getPort());
+            socket.setNetworkInterface(networkInterface);
+            // Nodes sharing a host only hear each other with loopback on; the bus drops this node's own packets
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            socket.joinGroup(group, networkInterface);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not join invalidation multicast group " + group, e);
+        }
+        
+        receiverThread = new Thread(() -> {
+            byte[] buffer = new byte[MAX_PACKET_SIZE];
+            while (!socket.isClosed()) {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                try {
+                    socket.receive(packet);
+                    receiver.accept(InvalidationEvent.parse(
+                            new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8)));
+                } catch (SocketException e) {
+                    if (!socket.isClosed()) {
+                        log.warn("Invalidation receiver socket error: {}", e.getMessage());
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Dropped invalidation packet: {}", e.getMessage());
+                }
+            }
+        }, "invalidation-receiver");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+    }
+    
+    @Override
+    public void send(InvalidationEvent event) {
+        byte[] payload = event.format().getBytes(StandardCharsets.UTF_8);
+        try {
+            socket.send(new DatagramPacket(payload, payload.length, group));
+        } catch (IOException e) {
+            log.warn("Could not send invalidation for {} {}: {}", event.getEntityType(), event.getEntityId(), e.getMessage());
+        }
+    }
+    
+    @Override
+    public void close() {
+        if (socket != null) {
+            socket.close();
+        }
+    }
+}
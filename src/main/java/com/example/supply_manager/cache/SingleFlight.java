@@ -0,0 +1,145 @@
+package com.example.supply_manager.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Concurrent callers for a key share one load and its result for a short TTL; waiters give up after a bounded wait
+@Component
+public class SingleFlight implements InvalidationListener {
+
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong waitTimeouts = new AtomicLong();
+
+    @Value("${supply.single-flight.ttl:500}")
+    private long ttlMillis;
+
+    @Value("${supply.single-flight.wait-timeout:5000}")
+    private long waitTimeoutMillis;
+
+    @Lazy
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        requests.incrementAndGet();
+        while (true) {
+            Flight flight = flights.get(key);
+            if (flight != null) {
+                if (!flight.result.isDone()) {
+                    joined.incrementAndGet();
+                    return (T) await(key, flight);
+                }
+                if (isFresh(flight)) {
+                    cacheHits.incrementAndGet();
+                    return (T) await(key, flight);
+                }
+                flights.remove(key, flight);
+                continue;
+            }
+
+            Flight own = new Flight();
+            if (flights.putIfAbsent(key, own) != null) {
+                continue;
+            }
+            loads.incrementAndGet();
+            T value;
+            try {
+                value = loader.get();
+            } catch (RuntimeException | Error e) {
+                flights.remove(key, own);
+                own.result.completeExceptionally(e);
+                throw e;
+            }
+            own.completedAt = System.currentTimeMillis();
+            own.result.complete(value);
+            if (ttlMillis <= 0) {
+                flights.remove(key, own);
+            }
+            return value;
+        }
+    }
+
+    public void invalidate(String keyPrefix) {
+        flights.keySet().removeIf(key -> key.startsWith(keyPrefix));
+    }
+
+    // Product rows embed their category and supplier, so changes to those also drop product results
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        invalidate(event.getEntityType() + ":");
+        if ("category".equals(event.getEntityType()) || "supplier".equals(event.getEntityType())) {
+            invalidate("product:");
+        }
+    }
+
+    @Override
+    public void onInvalidateAll() {
+        flights.clear();
+    }
+
+    public Map<String, Object> stats() {
+        long requestCount = requests.get();
+        long loadCount = loads.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", requestCount);
+        stats.put("databaseLoads", loadCount);
+        stats.put("joinedInFlight", joined.get());
+        stats.put("cacheHits", cacheHits.get());
+        stats.put("coalescingRatio", loadCount == 0 ? 0.0 : (double) requestCount / loadCount);
+        stats.put("waitTimeouts", waitTimeouts.get());
+        stats.put("ttlMillis", ttlMillis);
+        stats.put("waitTimeoutMillis", waitTimeoutMillis);
+        return stats;
+    }
+
+    private boolean isFresh(Flight flight) {
+        return !flight.result.isCompletedExceptionally()
+                && System.currentTimeMillis() - flight.completedAt < ttlMillis
+                && invalidationBus.isHealthy();
+    }
+
+    private Object await(String key, Flight flight) {
+        try {
+            return flight.result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            waitTimeouts.incrementAndGet();
+            throw new RuntimeException("Timed out after " + waitTimeoutMillis + " ms waiting for in-flight load of " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for in-flight load of " + key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static final class Flight {
+
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        volatile long completedAt;
+    }
+}
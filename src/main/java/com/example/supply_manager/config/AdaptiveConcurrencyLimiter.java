@@ -0,0 +1,91 @@
+package com.example.supply_manager.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// AIMD limit on in-flight requests: grows by 1/limit per fast response, shrinks multiplicatively on slow ones,
+// at most once per backoff window so a burst of slow responses from one episode counts as a single signal
+public class AdaptiveConcurrencyLimiter {
+    
+    private static final double BACKOFF_RATIO = 0.9;
+    
+    private final int minLimit;
+    
+    private final int maxLimit;
+    
+    private final long targetLatencyNanos;
+    
+    private final long backoffWindowNanos;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    private final AtomicLong accepted = new AtomicLong();
+    
+    private final AtomicLong rejected = new AtomicLong();
+    
+    private final AtomicLong backoffs = new AtomicLong();
+    
+    private double limit;
+    
+    private long lastBackoffNanos;
+    
+    private boolean backedOff;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyMillis,
+                                      long backoffWindowMillis) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyMillis * 1_000_000L;
+        this.backoffWindowNanos = backoffWindowMillis * 1_000_000L;
+    }
+    
+    public boolean tryAcquire() {
+        int max = currentLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= max) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.incrementAndGet();
+                return true;
+            }
+        }
+    }
+    
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            if (latencyNanos > targetLatencyNanos) {
+                long now = System.nanoTime();
+                if (!backedOff || now - lastBackoffNanos >= backoffWindowNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    lastBackoffNanos = now;
+                    backedOff = true;
+                    backoffs.incrementAndGet();
+                }
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+    
+    public synchronized int currentLimit() {
+        return (int) limit;
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("limit", currentLimit());
+        stats.put("inFlight", inFlight.get());
+        stats.put("accepted", accepted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("backoffs", backoffs.get());
+        stats.put("targetLatencyMillis", targetLatencyNanos / 1_000_000L);
+        return stats;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.supply_manager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(prefix = "supply.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+    
+    @Value("${supply.admission.initial-limit:20}")
+    private int initialLimit;
+    
+    @Value("${supply.admission.min-limit:2}")
+    private int minLimit;
+    
+    @Value("${supply.admission.max-limit:200}")
+    private int maxLimit;
+    
+    @Value("${supply.admission.target-latency.cheap-read:50}")
+    private long cheapReadTargetMillis;
+    
+    @Value("${supply.admission.target-latency.expensive-read:500}")
+    private long expensiveReadTargetMillis;
+    
+    @Value("${supply.admission.target-latency.write:200}")
+    private long writeTargetMillis;
+    
+    @Value("${supply.admission.client.rate-per-second:50}")
+    private double clientRatePerSecond;
+    
+    @Value("${supply.admission.client.burst:100}")
+    private double clientBurst;
+    
+    @Value("${supply.admission.client.max-tracked:10000}")
+    private int maxTrackedClients;
+    
+    @Value("${supply.admission.backoff-window:1000}")
+    private long backoffWindowMillis;
+    
+    @Bean
+    public AdmissionControlFilter admissionControlFilter() {
+        Map<AdmissionControlFilter.RequestClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(AdmissionControlFilter.RequestClass.class);
+        limiters.put(AdmissionControlFilter.RequestClass.CHEAP_READ,
+                new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, cheapReadTargetMillis, backoffWindowMillis));
+        limiters.put(AdmissionControlFilter.RequestClass.EXPENSIVE_READ,
+                new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, expensiveReadTargetMillis, backoffWindowMillis));
+        limiters.put(AdmissionControlFilter.RequestClass.WRITE,
+                new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, writeTargetMillis, backoffWindowMillis));
+        return new AdmissionControlFilter(limiters, () -> new TokenBucket(clientRatePerSecond, clientBurst), maxTrackedClients);
+    }
+    
+    // Runs right after Spring Security so buckets can be keyed on the authenticated principal;
+    // the chain is stateless and does no per-request credential hashing, so shed requests stay cheap
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(AdmissionControlFilter filter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 10);
+        return registration;
+    }
+    
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleClients() {
+        admissionControlFilter().evictIdleClients(TimeUnit.MINUTES.toNanos(5));
+    }
+}
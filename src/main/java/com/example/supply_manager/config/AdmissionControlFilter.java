@@ -0,0 +1,131 @@
+package com.example.supply_manager.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    
+    public enum RequestClass {
+        CHEAP_READ,
+        EXPENSIVE_READ,
+        WRITE
+    }
+    
+    // Single-row lookups: /api/{resource}/{id} and /api/{resource}/{code|name|tax|email|username}/{value}
+    private static final Pattern POINT_LOOKUP = Pattern.compile(
+            "^/api/[a-z-]+/(\\d+|(code|name|tax|email|username)/[^/]+)$");
+    
+    private final Map<RequestClass, AdaptiveConcurrencyLimiter> limiters;
+    
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    
+    private final Supplier<TokenBucket> bucketFactory;
+    
+    private final int maxTrackedClients;
+    
+    // Clients beyond the tracking cap share one bucket, so a flood of distinct keys is throttled as a group
+    private final TokenBucket overflowBucket;
+    
+    private final AtomicLong overflowRequests = new AtomicLong();
+
+    public AdmissionControlFilter(Map<RequestClass, AdaptiveConcurrencyLimiter> limiters, Supplier<TokenBucket> bucketFactory,
+                                  int maxTrackedClients) {
+        this.limiters = new EnumMap<>(limiters);
+        this.bucketFactory = bucketFactory;
+        this.maxTrackedClients = maxTrackedClients;
+        this.overflowBucket = bucketFactory.get();
+    }
+    
+    public static RequestClass classify(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return RequestClass.WRITE;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return POINT_LOOKUP.matcher(path).matches() ? RequestClass.CHEAP_READ : RequestClass.EXPENSIVE_READ;
+    }
+    
+    // The authenticated principal when there is one, otherwise the peer address. Forwarded headers are only
+    // honoured by the container's remote-IP handling for trusted proxies, so getRemoteAddr is the real client
+    // behind the load balancer and cannot be picked by the caller.
+    public static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+    
+    public void evictIdleClients(long idleNanos) {
+        long cutoff = System.nanoTime() - idleNanos;
+        buckets.values().removeIf(bucket -> bucket.getLastUsed() < cutoff);
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        limiters.forEach((requestClass, limiter) -> stats.put(requestClass.name(), limiter.stats()));
+        stats.put("trackedClients", buckets.size());
+        stats.put("maxTrackedClients", maxTrackedClients);
+        stats.put("overflowRequests", overflowRequests.get());
+        return stats;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = bucketFor(clientKey(request)).tryConsume();
+        if (waitNanos > 0) {
+            reject(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1), "Client request rate exceeded");
+            return;
+        }
+        
+        AdaptiveConcurrencyLimiter limiter = limiters.get(classify(request));
+        if (!limiter.tryAcquire()) {
+            reject(response, 1, "Server is at capacity");
+            return;
+        }
+        
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+    
+    private TokenBucket bucketFor(String client) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxTrackedClients) {
+            overflowRequests.incrementAndGet();
+            return overflowBucket;
+        }
+        return buckets.computeIfAbsent(client, key -> bucketFactory.get());
+    }
+    
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain");
+        response.getWriter().write(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.supply_manager.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class ClientContextFilter extends OncePerRequestFilter {
+    
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    
+    public static String currentClient() {
+        return CURRENT.get();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        CURRENT.set(clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.supply_manager.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+// Proxies every connection, so it stays off unless a measurement run turns it on
+@Configuration
+@ConditionalOnProperty(prefix = "supply.connection-hold", name = "enabled", havingValue = "true")
+public class ConnectionHoldConfig {
+    
+    @Bean
+    public static ConnectionHoldRecorder connectionHoldRecorder() {
+        return new ConnectionHoldRecorder();
+    }
+    
+    // Times every connection handed out by the application's DataSource from checkout to close
+    @Bean
+    public static BeanPostProcessor connectionHoldDataSourcePostProcessor(ObjectProvider<ConnectionHoldRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource)) {
+                    return bean;
+                }
+                ConnectionHoldRecorder holdRecorder = recorder.getObject();
+                ProxyFactory factory = new ProxyFactory(bean);
+                factory.addAdvice((MethodInterceptor) invocation -> {
+                    Object result = invocation.proceed();
+                    if (result instanceof Connection connection && "getConnection".equals(invocation.getMethod().getName())) {
+                        return timed(connection, holdRecorder);
+                    }
+                    return result;
+                });
+                return factory.getProxy();
+            }
+        };
+    }
+    
+    @Bean
+    public FilterRegistrationBean<ConnectionHoldFilter> connectionHoldFilter(ConnectionHoldRecorder recorder) {
+        FilterRegistrationBean<ConnectionHoldFilter> registration = new FilterRegistrationBean<>(new ConnectionHoldFilter(recorder));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+    
+    private static Connection timed(Connection connection, ConnectionHoldRecorder recorder) {
+        long checkedOut = System.nanoTime();
+        boolean[] closed = new boolean[1];
+        ProxyFactory factory = new ProxyFactory(connection);
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            if ("close".equals(invocation.getMethod().getName()) && !closed[0]) {
+                closed[0] = true;
+                recorder.recordHold(System.nanoTime() - checkedOut);
+            }
+            return invocation.proceed();
+        });
+        return (Connection) factory.getProxy();
+    }
+}
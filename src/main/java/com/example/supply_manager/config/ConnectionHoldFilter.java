@@ -0,0 +1,32 @@
+package com.example.supply_manager.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+public class ConnectionHoldFilter extends OncePerRequestFilter {
+
+    private final ConnectionHoldRecorder recorder;
+
+    public ConnectionHoldFilter(ConnectionHoldRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        recorder.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // The matched pattern keeps /api/products/1 and /api/products/2 under one key
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            recorder.endRequest(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+        }
+    }
+}
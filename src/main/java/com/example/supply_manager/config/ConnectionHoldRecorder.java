@@ -0,0 +1,80 @@
+package com.example.supply_manager.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time each endpoint kept JDBC connections checked out; holds outside a request count as "background"
+public class ConnectionHoldRecorder {
+
+    private static final String BACKGROUND = "background";
+
+    private final ThreadLocal<RequestHold> current = new ThreadLocal<>();
+
+    private final Map<String, EndpointHold> endpoints = new ConcurrentHashMap<>();
+
+    public void beginRequest() {
+        current.set(new RequestHold());
+    }
+
+    public void endRequest(String endpoint) {
+        RequestHold hold = current.get();
+        current.remove();
+        if (hold != null) {
+            endpoints.computeIfAbsent(endpoint, key -> new EndpointHold()).add(hold.connections, hold.nanos);
+        }
+    }
+
+    public void recordHold(long nanos) {
+        RequestHold hold = current.get();
+        if (hold != null) {
+            hold.connections++;
+            hold.nanos += nanos;
+        } else {
+            endpoints.computeIfAbsent(BACKGROUND, key -> new EndpointHold()).add(1, nanos);
+        }
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new TreeMap<>();
+        endpoints.forEach((endpoint, hold) -> stats.put(endpoint, hold.stats()));
+        return stats;
+    }
+
+    private static final class RequestHold {
+        private int connections;
+        private long nanos;
+    }
+
+    private static final class EndpointHold {
+
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong connections = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(int requestConnections, long nanos) {
+            requests.incrementAndGet();
+            connections.addAndGet(requestConnections);
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        Map<String, Object> stats() {
+            long count = requests.get();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", count);
+            stats.put("connections", connections.get());
+            stats.put("totalHoldMillis", totalNanos.get() / 1_000_000);
+            stats.put("averageHoldMicros", count == 0 ? 0 : totalNanos.get() / count / 1_000);
+            stats.put("maxHoldMicros", maxNanos.get() / 1_000);
+            return stats;
+        }
+    }
+}
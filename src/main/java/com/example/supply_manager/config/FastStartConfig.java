@@ -0,0 +1,32 @@
+package com.example.supply_manager.config;
+
+import com.example.supply_manager.alert.LowStockAlertJob;
+import com.example.supply_manager.audit.AuditTrail;
+import com.example.supply_manager.cache.InvalidationBus;
+import com.example.supply_manager.service.CascadeDeleteService;
+import com.example.supply_manager.service.ProductSuggestionIndex;
+import com.example.supply_manager.snapshot.CatalogSnapshotStore;
+import com.example.supply_manager.timeseries.StockHistoryStore;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FastStartConfig {
+    
+    // Beans with scheduled work, background threads or boot-time warm-up must exist even when
+    // spring.main.lazy-initialization is on, otherwise they would never start
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBackgroundBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                InvalidationBus.class,
+                AuditTrail.class,
+                StockHistoryStore.class,
+                LowStockAlertJob.class,
+                CascadeDeleteService.class,
+                ProductSuggestionIndex.class,
+                CatalogSnapshotStore.class,
+                AdmissionControlConfig.class,
+                ReplicaRoutingConfig.class);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.supply_manager.config;
+
+import com.example.supply_manager.cache.InvalidationTransport;
+import com.example.supply_manager.cache.LoopbackInvalidationTransport;
+import com.example.supply_manager.cache.MulticastInvalidationTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+public class InvalidationConfig {
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "supply.invalidation", name = "transport", havingValue = "multicast")
+    public InvalidationTransport multicastInvalidationTransport(
+            @Value("${supply.invalidation.multicast.group:239.255.42.99}") String group,
+            @Value("${supply.invalidation.multicast.port:4446}") int port,
+            @Value("${supply.invalidation.multicast.interface:}") String interfaceName) throws IOException {
+        return new MulticastInvalidationTransport(group, port, interfaceName);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "supply.invalidation", name = "transport", havingValue = "loopback", matchIfMissing = true)
+    public InvalidationTransport loopbackInvalidationTransport() {
+        return new LoopbackInvalidationTransport();
+    }
+}
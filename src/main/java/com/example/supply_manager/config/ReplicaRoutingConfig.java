@@ -0,0 +1,123 @@
+package com.example.supply_manager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(prefix = "supply.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+    
+    private static final String HEARTBEAT_TABLE = "replication_heartbeat";
+    
+    private final ReplicaRoutingProperties properties;
+    
+    private final HikariDataSource primaryDataSource;
+    
+    private final Map<String, DataSource> replicaDataSources = new LinkedHashMap<>();
+    
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    public ReplicaRoutingConfig(ReplicaRoutingProperties properties, DataSourceProperties dataSourceProperties) {
+        this.properties = properties;
+        this.primaryDataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        
+        List<ReplicaRoutingProperties.Replica> replicas = properties.getReplicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaRoutingProperties.Replica replica = replicas.get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.getUsername());
+            dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.getPassword());
+            dataSource.setPoolName("replica-" + i);
+            replicaDataSources.put("replica-" + i, dataSource);
+        }
+        
+        this.routingDataSource = new ReplicaRoutingDataSource(new ArrayList<>(replicaDataSources.keySet()), properties.getStickiness());
+        Map<Object, Object> targets = new HashMap<>(replicaDataSources);
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+    }
+    
+    // Registered as beans so the container closes the pools on shutdown
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource() {
+        return primaryDataSource;
+    }
+    
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource() {
+        return routingDataSource;
+    }
+    
+    // Connections are fetched on the first statement, after the transaction's read-only flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        return new LazyConnectionDataSourceProxy(routingDataSource());
+    }
+    
+    @Bean
+    public FilterRegistrationBean<ClientContextFilter> clientContextFilter() {
+        FilterRegistrationBean<ClientContextFilter> registration = new FilterRegistrationBean<>(new ClientContextFilter());
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+    
+    @PostConstruct
+    public void createHeartbeatTable() {
+        new JdbcTemplate(primaryDataSource)
+                .execute("CREATE TABLE IF NOT EXISTS " + HEARTBEAT_TABLE + " (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+    }
+    
+    // The primary stamps a heartbeat row; a replica is eligible while its copy of the row is fresher than max-lag
+    @Scheduled(fixedDelayString = "${supply.datasource.routing.heartbeat-interval:1000}")
+    public void checkReplicaLag() {
+        long now = System.currentTimeMillis();
+        try {
+            JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+            if (primary.update("UPDATE " + HEARTBEAT_TABLE + " SET beat_at = ? WHERE id = 1", now) == 0) {
+                primary.update("INSERT INTO " + HEARTBEAT_TABLE + " (id, beat_at) VALUES (1, ?)", now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not write replication heartbeat: {}", e.getMessage());
+        }
+        
+        for (Map.Entry<String, DataSource> replica : replicaDataSources.entrySet()) {
+            boolean healthy;
+            try {
+                Long beatAt = new JdbcTemplate(replica.getValue())
+                        .queryForObject("SELECT beat_at FROM " + HEARTBEAT_TABLE + " WHERE id = 1", Long.class);
+                healthy = beatAt != null && now - beatAt <= properties.getMaxLag().toMillis();
+            } catch (RuntimeException e) {
+                healthy = false;
+            }
+            routingDataSource.markReplicaHealthy(replica.getKey(), healthy);
+        }
+        routingDataSource.evictExpiredStickiness();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.supply_manager.config;
+
+import com.example.supply_manager.service.TransactionHooks;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    
+    public static final String PRIMARY = "primary";
+    
+    private final List<String> replicaKeys;
+    
+    private final Duration stickiness;
+    
+    private final Map<String, Boolean> replicaHealth = new ConcurrentHashMap<>();
+    
+    private final Map<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+    
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(List<String> replicaKeys, Duration stickiness) {
+        this.replicaKeys = replicaKeys;
+        this.stickiness = stickiness;
+    }
+    
+    public void markReplicaHealthy(String replicaKey, boolean healthy) {
+        replicaHealth.put(replicaKey, healthy);
+    }
+    
+    public void evictExpiredStickiness() {
+        long cutoff = System.currentTimeMillis() - stickiness.toMillis();
+        lastWriteByClient.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = ClientContextFilter.currentClient();
+        
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Stamped on commit so the stickiness window starts when the write becomes visible, not when it began
+            if (client != null) {
+                TransactionHooks.afterCommit(() -> lastWriteByClient.put(client, System.currentTimeMillis()));
+            }
+            return PRIMARY;
+        }
+        
+        if (client != null) {
+            Long lastWrite = lastWriteByClient.get(client);
+            if (lastWrite != null && System.currentTimeMillis() - lastWrite < stickiness.toMillis()) {
+                return PRIMARY;
+            }
+        }
+        
+        int size = replicaKeys.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            String replicaKey = replicaKeys.get((start + i) % size);
+            if (Boolean.TRUE.equals(replicaHealth.get(replicaKey))) {
+                return replicaKey;
+            }
+        }
+        return PRIMARY;
+    }
+    
+    // Replica pools are owned by the router; the primary pool is a bean of its own
+    @Override
+    public void destroy() throws Exception {
+        for (Map.Entry<Object, DataSource> target : getResolvedDataSources().entrySet()) {
+            if (!PRIMARY.equals(target.getKey()) && target.getValue() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+}
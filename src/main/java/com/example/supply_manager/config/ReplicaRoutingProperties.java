@@ -0,0 +1,84 @@
+package com.example.supply_manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "supply.datasource.routing")
+public class ReplicaRoutingProperties {
+    
+    private boolean enabled;
+    
+    private List<Replica> replicas = new ArrayList<>();
+    
+    private Duration maxLag = Duration.ofSeconds(5);
+    
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getStickiness() {
+        return stickiness;
+    }
+
+    public void setStickiness(Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    public static class Replica {
+        
+        private String url;
+        
+        private String username;
+        
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -64,7 +64,17 @@ public class SecurityConfig {
                 .requestMatchers("/api/products/**").permitAll()
                 .requestMatchers("/api/categories/**").permitAll()
                 .requestMatchers("/api/suppliers/**").permitAll()
+                .requestMatchers("/api/reports/**").permitAll()
+                .requestMatchers("/api/replenishment/**").permitAll()
+                .requestMatchers("/api/jobs/**").permitAll()
+                .requestMatchers("/api/alerts/**").permitAll()
+                .requestMatchers("/api/catalog/**").permitAll()
+                .requestMatchers("/api/bootstrap/**").permitAll()
                 .requestMatchers("/api/users/**").hasAnyRole("ADMIN", "USER")
+                .requestMatchers("/api/ops/**").hasRole("ADMIN")
+                .requestMatchers("/api/audit/**").hasRole("ADMIN")
+                .requestMatchers("/api/forecast/**").hasRole("ADMIN")
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .headers(headers -> headers.disable());
@@ -0,0 +1,36 @@
+package com.example.supply_manager.config;
+
+import com.example.supply_manager.repository.ShardedProductStore;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "supply.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+    
+    @Bean(destroyMethod = "close")
+    public ShardedProductStore shardedProductStore(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("supply.sharding.enabled is set but no supply.sharding.shards are configured");
+        }
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            ShardingProperties.Shard shard = properties.getShards().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setPoolName("shard-" + i);
+            dataSources.add(dataSource);
+        }
+        return new ShardedProductStore(dataSources);
+    }
+}
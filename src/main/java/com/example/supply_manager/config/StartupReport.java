@@ -0,0 +1,106 @@
+package com.example.supply_manager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Logs time per startup phase and the slowest bean instantiations once the application is ready
+@Component
+public class StartupReport {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+
+    private static final int SLOWEST_BEANS = 10;
+
+    private static final String BEAN_INSTANTIATE = "spring.beans.instantiate";
+
+    private volatile Map<String, Object> report = Collections.emptyMap();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("jvmUptimeMillis", ManagementFactory.getRuntimeMXBean().getUptime());
+        summary.put("contextReadyMillis", event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : null);
+
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (startup instanceof BufferingApplicationStartup buffering) {
+            // Draining frees the recorded steps; the summary is all that is kept
+            List<StartupTimeline.TimelineEvent> events = buffering.drainBufferedTimeline().getEvents();
+            Map<Long, String> stepNames = new HashMap<>();
+            for (StartupTimeline.TimelineEvent timelineEvent : events) {
+                stepNames.put(timelineEvent.getStartupStep().getId(), timelineEvent.getStartupStep().getName());
+            }
+            Map<String, Long> phases = new HashMap<>();
+            List<StartupTimeline.TimelineEvent> beans = new ArrayList<>();
+            for (StartupTimeline.TimelineEvent timelineEvent : events) {
+                StartupStep step = timelineEvent.getStartupStep();
+                if (BEAN_INSTANTIATE.equals(step.getName())) {
+                    beans.add(timelineEvent);
+                    // Nested instantiations are already part of their parent's time
+                    if (BEAN_INSTANTIATE.equals(stepNames.get(step.getParentId()))) {
+                        continue;
+                    }
+                }
+                phases.merge(step.getName(), timelineEvent.getDuration().toMillis(), Long::sum);
+            }
+            beans.sort(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed());
+
+            Map<String, Long> phaseMillis = new LinkedHashMap<>();
+            phases.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(entry -> phaseMillis.put(entry.getKey(), entry.getValue()));
+            Map<String, Long> slowestBeans = new LinkedHashMap<>();
+            for (StartupTimeline.TimelineEvent bean : beans.subList(0, Math.min(SLOWEST_BEANS, beans.size()))) {
+                slowestBeans.put(beanName(bean.getStartupStep()), bean.getDuration().toMillis());
+            }
+            summary.put("phases", phaseMillis);
+            summary.put("slowestBeans", slowestBeans);
+        }
+        report = summary;
+
+        StringBuilder message = new StringBuilder("Startup report: ready in ")
+                .append(summary.get("contextReadyMillis")).append(" ms (JVM uptime ")
+                .append(summary.get("jvmUptimeMillis")).append(" ms)");
+        appendSection(message, "phases", summary.get("phases"));
+        appendSection(message, "slowest beans", summary.get("slowestBeans"));
+        log.info(message.toString());
+    }
+
+    public Map<String, Object> getReport() {
+        return report;
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+
+    private static void appendSection(StringBuilder message, String title, Object section) {
+        if (!(section instanceof Map<?, ?> entries)) {
+            return;
+        }
+        message.append(System.lineSeparator()).append("  ").append(title).append(':');
+        entries.forEach((name, millis) -> message.append(System.lineSeparator())
+                .append(String.format("    %6d ms  %s", (Long) millis, name)));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.supply_manager.config;
+
+public class TokenBucket {
+    
+    private final double ratePerNano;
+    
+    private final double capacity;
+    
+    private double tokens;
+    
+    private long lastRefill;
+    
+    private volatile long lastUsed;
+
+    public TokenBucket(double ratePerSecond, double capacity) {
+        this.ratePerNano = ratePerSecond / 1_000_000_000d;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+        this.lastUsed = lastRefill;
+    }
+    
+    // Returns 0 when a token was taken, otherwise the nanoseconds until one becomes available
+    public synchronized long tryConsume() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+        lastUsed = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / ratePerNano);
+    }
+    
+    public long getLastUsed() {
+        return lastUsed;
+    }
+}
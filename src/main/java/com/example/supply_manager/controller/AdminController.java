@@ -0,0 +1,26 @@
+package com.example.supply_manager.controller;
+
+import com.example.supply_manager.seed.SeedResult;
+import com.example.supply_manager.seed.SeedSpec;
+import com.example.supply_manager.service.SeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    
+    @Autowired
+    private SeedService seedService;
+    
+    @PostMapping("/seed")
+    public ResponseEntity<?> seed(@RequestBody(required = false) SeedSpec spec) {
+        try {
+            SeedResult result = seedService.seed(spec != null ? spec : new SeedSpec());
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
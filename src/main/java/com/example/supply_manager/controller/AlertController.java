@@ -0,0 +1,39 @@
+package com.example.supply_manager.controller;
+
+import com.example.supply_manager.alert.InAppLowStockAlertFeed;
+import com.example.supply_manager.dto.LowStockAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/alerts")
+public class AlertController {
+    
+    private static final Logger log = LoggerFactory.getLogger(AlertController.class);
+    
+    @Autowired
+    private InAppLowStockAlertFeed alertFeed;
+    
+    @GetMapping
+    public ResponseEntity<List<LowStockAlert>> getRecentAlerts(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(alertFeed.latest(Math.max(1, limit)));
+    }
+    
+    // Local receiver for the webhook sink, for development without an external endpoint
+    @PostMapping("/webhook-stub")
+    public ResponseEntity<Void> receiveWebhook(@RequestBody List<Map<String, Object>> alerts) {
+        log.info("Webhook stub received {} low stock alerts", alerts.size());
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.supply_manager.controller;
+
+import com.example.supply_manager.entity.AuditLog;
+import com.example.supply_manager.repository.AuditLogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+    
+    private static final int MAX_LIMIT = 1000;
+    
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    
+    @GetMapping("/{entityType}/{entityId}")
+    public ResponseEntity<List<AuditLog>> getHistory(@PathVariable String entityType,
+                                                     @PathVariable Long entityId,
+                                                     @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(auditLogRepository.findByEntityTypeAndEntityIdOrderByChangedAtDescIdDesc(
+                entityType, entityId, PageRequest.of(0, pageSize)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.supply_manager.controller;
+
+import com.example.supply_manager.dto.ProductPageBootstrap;
+import com.example.supply_manager.service.BootstrapService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/bootstrap")
+public class BootstrapController {
+    
+    @Autowired
+    private BootstrapService bootstrapService;
+    
+    // no-cache lets the browser keep the payload but forces an If-None-Match round trip on every load
+    @GetMapping("/products")
+    public ResponseEntity<?> getProductPage(WebRequest request) {
+        try {
+            // Taken before the load, so a concurrent write can only make the next request refetch
+            String version = bootstrapService.version();
+            if (request.checkNotModified(version)) {
+                return null;
+            }
+            ProductPageBootstrap bootstrap = bootstrapService.loadProductPage();
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(version).body(bootstrap);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.supply_manager.controller;
+
+import com.example.supply_manager.snapshot.CatalogSnapshot;
+import com.example.supply_manager.snapshot.CatalogSnapshotStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogController {
+    
+    private static final String SNAPSHOT_AGE_HEADER = "X-Snapshot-Age-Millis";
+    
+    @Autowired
+    private CatalogSnapshotStore catalogSnapshotStore;
+    
+    // Served from the mapped snapshot only; callers that need fresher data use /api/products/code/{code}
+    @GetMapping("/code/{code}")
+    public ResponseEntity<?> getByCode(@PathVariable String code) {
+        CatalogSnapshot snapshot = catalogSnapshotStore.current();
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Catalog snapshot is not available");
+        }
+        int index = snapshot.indexOf(code);
+        catalogSnapshotStore.recordLookup(index >= 0);
+        String age = Long.toString(catalogSnapshotStore.ageMillis(snapshot));
+        if (index < 0) {
+            return ResponseEntity.notFound().header(SNAPSHOT_AGE_HEADER, age).build();
+        }
+        return ResponseEntity.ok().header(SNAPSHOT_AGE_HEADER, age).body(snapshot.entry(index));
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.supply_manager.controller;
 
+import com.example.supply_manager.dto.CategoryStats;
 import com.example.supply_manager.entity.Category;
+import com.example.supply_manager.service.CascadeDeleteJob;
 import com.example.supply_manager.service.CategoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -17,7 +20,15 @@ public class CategoryController {
     private CategoryService categoryService;
     
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
+    public ResponseEntity<?> getAllCategories(@RequestParam(defaultValue = "false") boolean withStats) {
+        if (withStats) {
+            try {
+                List<CategoryStats> categories = categoryService.findAllWithStats();
+                return ResponseEntity.ok(categories);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         List<Category> categories = categoryService.findAll();
         return ResponseEntity.ok(categories);
     }
@@ -66,7 +77,10 @@ public class CategoryController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCategory(@PathVariable Long id) {
         try {
-            categoryService.deleteById(id);
+            CascadeDeleteJob job = categoryService.deleteById(id);
+            if (job != null) {
+                return ResponseEntity.accepted().location(URI.create("/api/jobs/" + job.getId())).body(job);
+            }
             return ResponseEntity.noContent().build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -0,0 +1,52 @@
+package com.example.supply_manager.controller;
+
+import com.example.supply_manager.dto.MinimumStockRecommendation;
+import com.example.supply_manager.service.DemandForecastService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/forecast")
+public class ForecastController {
+    
+    private static final int MAX_LIMIT = 10_000;
+    
+    @Autowired
+    private DemandForecastService demandForecastService;
+    
+    @PostMapping("/run")
+    public ResponseEntity<?> runForecast() {
+        try {
+            Map<String, Object> summary = demandForecastService.run();
+            return ResponseEntity.ok(summary);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @GetMapping("/minimum-stock")
+    public ResponseEntity<?> getMinimumStockRecommendations(@RequestParam(defaultValue = "true") boolean changedOnly,
+                                                            @RequestParam(defaultValue = "0") int offset,
+                                                            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            List<MinimumStockRecommendation> recommendations = demandForecastService.findRecommendations(
+                    changedOnly, Math.max(0, offset), Math.max(1, Math.min(limit, MAX_LIMIT)));
+            return ResponseEntity.ok(recommendations);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @PostMapping("/minimum-stock/apply")
+    public ResponseEntity<?> applyMinimumStockRecommendations() {
+        try {
+            return ResponseEntity.ok(demandForecastService.applyRecommendations());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.supply_manager.controller;
+
+import com.example.supply_manager.service.CascadeDeleteJob;
+import com.example.supply_manager.service.CascadeDeleteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+    
+    @Autowired
+    private CascadeDeleteService cascadeDeleteService;
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<CascadeDeleteJob> getJob(@PathVariable String id) {
+        return cascadeDeleteService.findJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.supply_manager.controller;
+
+import com.example.supply_manager.alert.LowStockAlertJob;
+import com.example.supply_manager.audit.AuditTrail;
+import com.example.supply_manager.cache.InvalidationBus;
+import com.example.supply_manager.cache.SingleFlight;
+import com.example.supply_manager.config.AdmissionControlFilter;
+import com.example.supply_manager.config.ConnectionHoldRecorder;
+import com.example.supply_manager.config.StartupReport;
+import com.example.supply_manager.snapshot.CatalogSnapshotStore;
+import com.example.supply_manager.timeseries.StockHistoryStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/ops")
+public class OpsController {
+    
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Autowired
+    private AuditTrail auditTrail;
+    
+    @Autowired
+    private LowStockAlertJob lowStockAlertJob;
+    
+    @Autowired
+    private StockHistoryStore stockHistoryStore;
+    
+    @Autowired
+    private StartupReport startupReport;
+    
+    @Autowired
+    private CatalogSnapshotStore catalogSnapshotStore;
+    
+    @Autowired(required = false)
+    private ConnectionHoldRecorder connectionHoldRecorder;
+    
+    @Autowired(required = false)
+    private AdmissionControlFilter admissionControlFilter;
+    
+    @GetMapping("/invalidation")
+    public ResponseEntity<Map<String, Object>> getInvalidationStats() {
+        return ResponseEntity.ok(invalidationBus.stats());
+    }
+    
+    @GetMapping("/single-flight")
+    public ResponseEntity<Map<String, Object>> getSingleFlightStats() {
+        return ResponseEntity.ok(singleFlight.stats());
+    }
+    
+    @GetMapping("/admission")
+    public ResponseEntity<Map<String, Object>> getAdmissionStats() {
+        if (admissionControlFilter == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(admissionControlFilter.stats());
+    }
+    
+    @GetMapping("/audit")
+    public ResponseEntity<Map<String, Object>> getAuditStats() {
+        return ResponseEntity.ok(auditTrail.stats());
+    }
+    
+    @GetMapping("/low-stock-alerts")
+    public ResponseEntity<Map<String, Object>> getLowStockAlertStats() {
+        return ResponseEntity.ok(lowStockAlertJob.stats());
+    }
+    
+    @GetMapping("/stock-history")
+    public ResponseEntity<Map<String, Object>> getStockHistoryStats() {
+        return ResponseEntity.ok(stockHistoryStore.stats());
+    }
+    
+    @GetMapping("/catalog-snapshot")
+    public ResponseEntity<Map<String, Object>> getCatalogSnapshotStats() {
+        return ResponseEntity.ok(catalogSnapshotStore.stats());
+    }
+    
+    @GetMapping("/startup")
+    public ResponseEntity<Map<String, Object>> getStartupReport() {
+        return ResponseEntity.ok(startupReport.getReport());
+    }
+    
+    @GetMapping("/connection-hold")
+    public ResponseEntity<Map<String, Object>> getConnectionHoldStats() {
+        if (connectionHoldRecorder == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(connectionHoldRecorder.stats());
+    }
+    
+    @DeleteMapping("/connection-hold")
+    public ResponseEntity<Void> resetConnectionHoldStats() {
+        if (connectionHoldRecorder == null) {
+            return ResponseEntity.notFound().build();
+        }
+        connectionHoldRecorder.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
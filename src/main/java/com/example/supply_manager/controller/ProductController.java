@@ -1,13 +1,27 @@
 package com.example.supply_manager.controller;
 
+import com.example.supply_manager.dto.BulkPriceUpdateRequest;
+import com.example.supply_manager.dto.BulkPriceUpdateResult;
+import com.example.supply_manager.dto.ProductLookupRequest;
+import com.example.supply_manager.dto.ProductLookupResult;
+import com.example.supply_manager.dto.ProductSuggestion;
+import com.example.supply_manager.dto.StockSample;
 import com.example.supply_manager.entity.Product;
+import com.example.supply_manager.repository.ProductSpecifications;
+import com.example.supply_manager.service.ProductLookupService;
+import com.example.supply_manager.service.ProductSuggestionIndex;
 import com.example.supply_manager.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
@@ -16,32 +30,107 @@ public class ProductController {
     @Autowired
     private ProductService productService;
     
+    @Autowired
+    private ProductSuggestionIndex productSuggestionIndex;
+    
+    @Autowired
+    private ProductLookupService productLookupService;
+    
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = productService.findAll();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<?> getAllProducts(@RequestParam(required = false) Long category,
+                                            @RequestParam(required = false) Long supplier,
+                                            @RequestParam(required = false) BigDecimal minPrice,
+                                            @RequestParam(required = false) BigDecimal maxPrice,
+                                            @RequestParam(required = false) Boolean lowStock,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) Integer page,
+                                            @RequestParam(defaultValue = "50") int size,
+                                            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            try {
+                return ResponseEntity.ok(productService.findFields(fields, category, supplier, minPrice, maxPrice,
+                        lowStock, ProductSpecifications.sort(sort), page, size));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        if (category == null && supplier == null && minPrice == null && maxPrice == null
+                && lowStock == null && sort == null) {
+            try {
+                List<Product> products = page != null ? productService.findPage(page, size) : productService.findAll();
+                return ResponseEntity.ok(products);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        try {
+            List<Product> products = productService.findByFilter(category, supplier, minPrice, maxPrice, lowStock, ProductSpecifications.sort(sort));
+            return ResponseEntity.ok(products);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+    public ResponseEntity<?> getProductById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            try {
+                return productService.findFieldsById(id, fields)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         return productService.findById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/code/{code}")
-    public ResponseEntity<Product> getProductByCode(@PathVariable String code) {
+    public ResponseEntity<?> getProductByCode(@PathVariable String code, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            try {
+                return productService.findFieldsByCode(code, fields)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         return productService.findByCode(code)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @PostMapping("/lookup")
+    public ResponseEntity<?> lookupProducts(@RequestBody ProductLookupRequest request) {
+        try {
+            ProductLookupResult result = productLookupService.lookup(request.getIds(), request.getCodes());
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     @GetMapping("/search")
     public ResponseEntity<List<Product>> searchProducts(@RequestParam String name) {
         List<Product> products = productService.findByNameContaining(name);
         return ResponseEntity.ok(products);
     }
     
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestion>> suggestProducts(@RequestParam String prefix,
+                                                                   @RequestParam(defaultValue = "10") int limit) {
+        List<ProductSuggestion> suggestions = productService.suggest(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+    
+    @GetMapping("/suggest/stats")
+    public ResponseEntity<Map<String, Object>> getSuggestionIndexStats() {
+        return ResponseEntity.ok(productSuggestionIndex.stats());
+    }
+    
     @GetMapping("/category/{categoryId}")
     public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable Long categoryId) {
         List<Product> products = productService.findByCategory(categoryId);
@@ -97,6 +186,30 @@ public class ProductController {
         }
     }
     
+    @PostMapping("/pricing/bulk")
+    public ResponseEntity<?> bulkUpdatePrices(@RequestBody BulkPriceUpdateRequest request) {
+        try {
+            BulkPriceUpdateResult result = productService.bulkUpdatePrices(request);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @GetMapping("/{id}/stock-history")
+    public ResponseEntity<?> getStockHistory(@PathVariable Long id,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(90);
+        try {
+            List<StockSample> samples = productService.findStockHistory(id, toEpochMillis(start), toEpochMillis(end));
+            return ResponseEntity.ok(samples);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     @PutMapping("/{id}/stock")
     public ResponseEntity<?> updateStock(@PathVariable Long id, @RequestParam Integer quantity) {
         try {
@@ -126,4 +239,8 @@ public class ProductController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+    
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 }
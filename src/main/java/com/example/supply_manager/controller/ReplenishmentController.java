@@ -0,0 +1,57 @@
+package com.example.supply_manager.controller;
+
+import com.example.supply_manager.dto.SupplierOrderDraft;
+import com.example.supply_manager.service.ReplenishmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/replenishment")
+public class ReplenishmentController {
+    
+    @Autowired
+    private ReplenishmentService replenishmentService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @GetMapping("/plan")
+    public ResponseEntity<?> getReplenishmentPlan() {
+        try {
+            List<SupplierOrderDraft> orders = replenishmentService.planOrders();
+            return ResponseEntity.ok(orders);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Each supplier's draft is written as soon as it is planned, so lines are not in supplier order
+    @GetMapping(value = "/plan/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> streamReplenishmentPlan() {
+        try {
+            replenishmentService.checkSupported();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+        }
+        StreamingResponseBody body = out -> replenishmentService.planOrders(order -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(order));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.supply_manager.controller;
+
+import com.example.supply_manager.dto.InventorySummary;
+import com.example.supply_manager.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+    
+    @Autowired
+    private ReportService reportService;
+    
+    @GetMapping("/inventory")
+    public ResponseEntity<?> getInventoryReport(@RequestParam(required = false) String groupBy) {
+        try {
+            if (groupBy == null || groupBy.isBlank()) {
+                return ResponseEntity.ok(reportService.summarizeInventory());
+            }
+            List<InventorySummary> summaries = reportService.summarizeInventory(groupBy);
+            return ResponseEntity.ok(summaries);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
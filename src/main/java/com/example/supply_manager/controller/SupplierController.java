@@ -1,12 +1,15 @@
 package com.example.supply_manager.controller;
 
+import com.example.supply_manager.dto.SupplierStats;
 import com.example.supply_manager.entity.Supplier;
+import com.example.supply_manager.service.CascadeDeleteJob;
 import com.example.supply_manager.service.SupplierService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -17,13 +20,38 @@ public class SupplierController {
     private SupplierService supplierService;
     
     @GetMapping
-    public ResponseEntity<List<Supplier>> getAllSuppliers() {
+    public ResponseEntity<?> getAllSuppliers(@RequestParam(defaultValue = "false") boolean withStats,
+                                             @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            try {
+                return ResponseEntity.ok(supplierService.findFields(fields));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        if (withStats) {
+            try {
+                List<SupplierStats> suppliers = supplierService.findAllWithStats();
+                return ResponseEntity.ok(suppliers);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         List<Supplier> suppliers = supplierService.findAll();
         return ResponseEntity.ok(suppliers);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Supplier> getSupplierById(@PathVariable Long id) {
+    public ResponseEntity<?> getSupplierById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            try {
+                return supplierService.findFieldsById(id, fields)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         return supplierService.findById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -86,7 +114,10 @@ public class SupplierController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteSupplier(@PathVariable Long id) {
         try {
-            supplierService.deleteById(id);
+            CascadeDeleteJob job = supplierService.deleteById(id);
+            if (job != null) {
+                return ResponseEntity.accepted().location(URI.create("/api/jobs/" + job.getId())).body(job);
+            }
             return ResponseEntity.noContent().build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
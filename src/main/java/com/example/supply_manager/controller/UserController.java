@@ -1,6 +1,8 @@
 package com.example.supply_manager.controller;
 
+import com.example.supply_manager.dto.BulkUserResult;
 import com.example.supply_manager.entity.User;
+import com.example.supply_manager.service.UserProvisioningService;
 import com.example.supply_manager.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -17,16 +19,35 @@ public class UserController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            try {
+                return ResponseEntity.ok(userService.findFields(fields));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         List<User> users = userService.findAll();
         return ResponseEntity.ok(users);
     }
     
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
+    public ResponseEntity<?> getUserById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            try {
+                return userService.findFieldsById(id, fields)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         return userService.findById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -51,6 +72,17 @@ public class UserController {
         }
     }
     
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createUsers(@RequestBody List<User> users) {
+        try {
+            BulkUserResult result = userProvisioningService.createAll(users);
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
     public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody User user) {
@@ -0,0 +1,65 @@
+package com.example.supply_manager.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class BulkPriceUpdateRequest {
+    
+    public enum Mode {
+        PERCENTAGE,
+        ABSOLUTE,
+        PRICE_TABLE
+    }
+    
+    private Mode mode;
+    
+    // Percentage (e.g. 7 for +7%) or absolute amount, depending on the mode
+    private BigDecimal value;
+    
+    // Product code to new price, used by PRICE_TABLE
+    private Map<String, BigDecimal> prices;
+    
+    private Long categoryId;
+    
+    private Long supplierId;
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public void setValue(BigDecimal value) {
+        this.value = value;
+    }
+
+    public Map<String, BigDecimal> getPrices() {
+        return prices;
+    }
+
+    public void setPrices(Map<String, BigDecimal> prices) {
+        this.prices = prices;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getSupplierId() {
+        return supplierId;
+    }
+
+    public void setSupplierId(Long supplierId) {
+        this.supplierId = supplierId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.supply_manager.dto;
+
+public class BulkPriceUpdateResult {
+    
+    private final BulkPriceUpdateRequest.Mode mode;
+    private final int affectedRows;
+
+    public BulkPriceUpdateResult(BulkPriceUpdateRequest.Mode mode, int affectedRows) {
+        this.mode = mode;
+        this.affectedRows = affectedRows;
+    }
+
+    public BulkPriceUpdateRequest.Mode getMode() {
+        return mode;
+    }
+
+    public int getAffectedRows() {
+        return affectedRows;
+    }
+}
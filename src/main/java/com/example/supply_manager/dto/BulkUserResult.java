@@ -0,0 +1,34 @@
+package com.example.supply_manager.dto;
+
+import java.util.List;
+
+public class BulkUserResult {
+    
+    private final int created;
+    private final List<Long> ids;
+    private final long hashMillis;
+    private final long insertMillis;
+
+    public BulkUserResult(List<Long> ids, long hashMillis, long insertMillis) {
+        this.created = ids.size();
+        this.ids = ids;
+        this.hashMillis = hashMillis;
+        this.insertMillis = insertMillis;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public long getHashMillis() {
+        return hashMillis;
+    }
+
+    public long getInsertMillis() {
+        return insertMillis;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.supply_manager.dto;
+
+import java.math.BigDecimal;
+
+public class CatalogEntry {
+    
+    private final long productId;
+    private final String code;
+    private final String name;
+    private final BigDecimal price;
+    private final long categoryId;
+    private final String categoryName;
+
+    public CatalogEntry(long productId, String code, String name, BigDecimal price, long categoryId, String categoryName) {
+        this.productId = productId;
+        this.code = code;
+        this.name = name;
+        this.price = price;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.supply_manager.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface CategoryStats {
+    
+    Long getId();
+    
+    String getName();
+    
+    String getDescription();
+    
+    LocalDateTime getCreatedAt();
+    
+    LocalDateTime getUpdatedAt();
+    
+    Long getProductCount();
+    
+    Long getUnitsInStock();
+    
+    BigDecimal getStockValue();
+}
@@ -0,0 +1,25 @@
+package com.example.supply_manager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public interface InventorySummary {
+    
+    Long getCategoryId();
+    
+    String getCategoryName();
+    
+    Long getSupplierId();
+    
+    String getSupplierName();
+    
+    Long getSkuCount();
+    
+    Long getTotalUnits();
+    
+    BigDecimal getTotalValue();
+    
+    Long getLowStockCount();
+}
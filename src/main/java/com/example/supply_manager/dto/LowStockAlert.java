@@ -0,0 +1,46 @@
+package com.example.supply_manager.dto;
+
+import java.time.LocalDateTime;
+
+public class LowStockAlert {
+    
+    private final Long productId;
+    private final String code;
+    private final String name;
+    private final Integer quantity;
+    private final Integer minimumStock;
+    private final LocalDateTime detectedAt;
+
+    public LowStockAlert(Long productId, String code, String name, Integer quantity, Integer minimumStock, LocalDateTime detectedAt) {
+        this.productId = productId;
+        this.code = code;
+        this.name = name;
+        this.quantity = quantity;
+        this.minimumStock = minimumStock;
+        this.detectedAt = detectedAt;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public Integer getMinimumStock() {
+        return minimumStock;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.supply_manager.dto;
+
+import java.math.BigDecimal;
+
+public class LowStockItem {
+    
+    private final Long productId;
+    private final String code;
+    private final String name;
+    private final BigDecimal price;
+    private final Integer quantity;
+    private final Integer minimumStock;
+    private final Long supplierId;
+    private final String supplierName;
+
+    public LowStockItem(Long productId, String code, String name, BigDecimal price, Integer quantity, Integer minimumStock, Long supplierId, String supplierName) {
+        this.productId = productId;
+        this.code = code;
+        this.name = name;
+        this.price = price;
+        this.quantity = quantity;
+        this.minimumStock = minimumStock;
+        this.supplierId = supplierId;
+        this.supplierName = supplierName;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public Integer getMinimumStock() {
+        return minimumStock;
+    }
+
+    public Long getSupplierId() {
+        return supplierId;
+    }
+
+    public String getSupplierName() {
+        return supplierName;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.supply_manager.dto;
+
+public class MinimumStockRecommendation {
+    
+    private final Long productId;
+    private final Integer currentMinimumStock;
+    private final int recommendedMinimumStock;
+    private final double dailyDemand;
+    private final double demandStdDev;
+
+    public MinimumStockRecommendation(Long productId, Integer currentMinimumStock, int recommendedMinimumStock, double dailyDemand, double demandStdDev) {
+        this.productId = productId;
+        this.currentMinimumStock = currentMinimumStock;
+        this.recommendedMinimumStock = recommendedMinimumStock;
+        this.dailyDemand = dailyDemand;
+        this.demandStdDev = demandStdDev;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Integer getCurrentMinimumStock() {
+        return currentMinimumStock;
+    }
+
+    public int getRecommendedMinimumStock() {
+        return recommendedMinimumStock;
+    }
+
+    public double getDailyDemand() {
+        return dailyDemand;
+    }
+
+    public double getDemandStdDev() {
+        return demandStdDev;
+    }
+}
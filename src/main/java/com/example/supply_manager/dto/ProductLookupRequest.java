@@ -0,0 +1,26 @@
+package com.example.supply_manager.dto;
+
+import java.util.List;
+
+public class ProductLookupRequest {
+    
+    private List<Long> ids;
+    
+    private List<String> codes;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getCodes() {
+        return codes;
+    }
+
+    public void setCodes(List<String> codes) {
+        this.codes = codes;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.supply_manager.dto;
+
+import com.example.supply_manager.entity.Product;
+
+import java.util.List;
+
+public class ProductLookupResult {
+    
+    // One entry per requested key, in request order; product is null when found is false
+    public static class Entry {
+        
+        private final Object key;
+        private final Product product;
+
+        public Entry(Object key, Product product) {
+            this.key = key;
+            this.product = product;
+        }
+
+        public Object getKey() {
+            return key;
+        }
+
+        public boolean isFound() {
+            return product != null;
+        }
+
+        public Product getProduct() {
+            return product;
+        }
+    }
+    
+    private final List<Entry> ids;
+    private final List<Entry> codes;
+    private final int found;
+    private final int notFound;
+
+    public ProductLookupResult(List<Entry> ids, List<Entry> codes) {
+        this.ids = ids;
+        this.codes = codes;
+        int hits = 0;
+        for (Entry entry : ids) {
+            hits += entry.isFound() ? 1 : 0;
+        }
+        for (Entry entry : codes) {
+            hits += entry.isFound() ? 1 : 0;
+        }
+        this.found = hits;
+        this.notFound = ids.size() + codes.size() - hits;
+    }
+
+    public List<Entry> getIds() {
+        return ids;
+    }
+
+    public List<Entry> getCodes() {
+        return codes;
+    }
+
+    public int getFound() {
+        return found;
+    }
+
+    public int getNotFound() {
+        return notFound;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.supply_manager.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Everything products.html needs for its first render, limited to the fields it shows
+public class ProductPageBootstrap {
+    
+    public static class ProductRow {
+        
+        private final long id;
+        private final String name;
+        private final String description;
+        private final BigDecimal price;
+        private final int stock;
+        private final long categoryId;
+        private final long supplierId;
+
+        public ProductRow(long id, String name, String description, BigDecimal price, int stock, long categoryId, long supplierId) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.price = price;
+            this.stock = stock;
+            this.categoryId = categoryId;
+            this.supplierId = supplierId;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public int getStock() {
+            return stock;
+        }
+
+        public long getCategoryId() {
+            return categoryId;
+        }
+
+        public long getSupplierId() {
+            return supplierId;
+        }
+    }
+    
+    public static class Option {
+        
+        private final long id;
+        private final String name;
+
+        public Option(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+    
+    private final List<ProductRow> products;
+    private final List<Option> categories;
+    private final List<Option> suppliers;
+
+    public ProductPageBootstrap(List<ProductRow> products, List<Option> categories, List<Option> suppliers) {
+        this.products = products;
+        this.categories = categories;
+        this.suppliers = suppliers;
+    }
+
+    public List<ProductRow> getProducts() {
+        return products;
+    }
+
+    public List<Option> getCategories() {
+        return categories;
+    }
+
+    public List<Option> getSuppliers() {
+        return suppliers;
+    }
+}
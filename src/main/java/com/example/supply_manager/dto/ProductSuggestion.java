@@ -0,0 +1,36 @@
+package com.example.supply_manager.dto;
+
+public class ProductSuggestion {
+    
+    private final Long id;
+    private final String code;
+    private final String name;
+    private final long score;
+
+    public ProductSuggestion(Long id, String code, String name) {
+        this(id, code, name, 0);
+    }
+
+    public ProductSuggestion(Long id, String code, String name, long score) {
+        this.id = id;
+        this.code = code;
+        this.name = name;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.supply_manager.dto;
+
+import java.math.BigDecimal;
+
+public class ReorderLine {
+    
+    private final Long productId;
+    private final String code;
+    private final String name;
+    private final Integer currentQuantity;
+    private final Integer minimumStock;
+    private final Integer reorderQuantity;
+    private final BigDecimal unitPrice;
+    private final BigDecimal lineTotal;
+
+    public ReorderLine(Long productId, String code, String name, Integer currentQuantity, Integer minimumStock, Integer reorderQuantity, BigDecimal unitPrice) {
+        this.productId = productId;
+        this.code = code;
+        this.name = name;
+        this.currentQuantity = currentQuantity;
+        this.minimumStock = minimumStock;
+        this.reorderQuantity = reorderQuantity;
+        this.unitPrice = unitPrice;
+        this.lineTotal = unitPrice.multiply(BigDecimal.valueOf(reorderQuantity));
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getCurrentQuantity() {
+        return currentQuantity;
+    }
+
+    public Integer getMinimumStock() {
+        return minimumStock;
+    }
+
+    public Integer getReorderQuantity() {
+        return reorderQuantity;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public BigDecimal getLineTotal() {
+        return lineTotal;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.supply_manager.dto;
+
+public class StockSample {
+    
+    private final long timestamp;
+    private final int quantity;
+
+    public StockSample(long timestamp, int quantity) {
+        this.timestamp = timestamp;
+        this.quantity = quantity;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.supply_manager.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class SupplierOrderDraft {
+    
+    private final Long supplierId;
+    private final String supplierName;
+    private final List<ReorderLine> lines;
+    private final long totalUnits;
+    private final BigDecimal totalCost;
+
+    public SupplierOrderDraft(Long supplierId, String supplierName, List<ReorderLine> lines) {
+        this.supplierId = supplierId;
+        this.supplierName = supplierName;
+        this.lines = lines;
+        long units = 0;
+        BigDecimal cost = BigDecimal.ZERO;
+        for (ReorderLine line : lines) {
+            units += line.getReorderQuantity();
+            cost = cost.add(line.getLineTotal());
+        }
+        this.totalUnits = units;
+        this.totalCost = cost;
+    }
+
+    public Long getSupplierId() {
+        return supplierId;
+    }
+
+    public String getSupplierName() {
+        return supplierName;
+    }
+
+    public List<ReorderLine> getLines() {
+        return lines;
+    }
+
+    public long getTotalUnits() {
+        return totalUnits;
+    }
+
+    public BigDecimal getTotalCost() {
+        return totalCost;
+    }
+}
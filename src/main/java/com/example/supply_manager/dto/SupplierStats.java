@@ -0,0 +1,31 @@
+package com.example.supply_manager.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface SupplierStats {
+    
+    Long getId();
+    
+    String getName();
+    
+    String getContact();
+    
+    String getEmail();
+    
+    String getPhone();
+    
+    String getTaxId();
+    
+    String getAddress();
+    
+    LocalDateTime getCreatedAt();
+    
+    LocalDateTime getUpdatedAt();
+    
+    Long getProductCount();
+    
+    Long getUnitsInStock();
+    
+    BigDecimal getStockValue();
+}
@@ -0,0 +1,51 @@
+package com.example.supply_manager.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_watermark")
+public class JobWatermark {
+    
+    @Id
+    @Column(length = 100)
+    private String name;
+    
+    @Column(name = "last_updated_at", nullable = false)
+    private LocalDateTime lastUpdatedAt;
+    
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    public JobWatermark() {}
+
+    public JobWatermark(String name, LocalDateTime lastUpdatedAt, Long lastId) {
+        this.name = name;
+        this.lastUpdatedAt = lastUpdatedAt;
+        this.lastId = lastId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDateTime getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    public void setLastUpdatedAt(LocalDateTime lastUpdatedAt) {
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.supply_manager.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One row per product that is currently below its minimum stock and has already been alerted
+@Entity
+@Table(name = "low_stock_alert_state")
+public class LowStockAlertState {
+    
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Column(name = "alerted_at", nullable = false)
+    private LocalDateTime alertedAt;
+
+    public LowStockAlertState() {}
+
+    public LowStockAlertState(Long productId, LocalDateTime alertedAt) {
+        this.productId = productId;
+        this.alertedAt = alertedAt;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public LocalDateTime getAlertedAt() {
+        return alertedAt;
+    }
+
+    public void setAlertedAt(LocalDateTime alertedAt) {
+        this.alertedAt = alertedAt;
+    }
+}
@@ -5,7 +5,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_category_quantity", columnList = "category_id, quantity"),
+    @Index(name = "idx_products_supplier", columnList = "supplier_id"),
+    @Index(name = "idx_products_price", columnList = "price"),
+    @Index(name = "idx_products_updated_at", columnList = "updated_at, id")
+})
 public class Product {
     
     @Id
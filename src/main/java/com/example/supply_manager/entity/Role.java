@@ -1,7 +1,35 @@
 package com.example.supply_manager.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum Role {
     ADMIN,
     USER,
-    MANAGER
+    MANAGER;
+
+    // Bits follow declaration order, so new roles must only ever be appended
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static int toMask(Set<Role> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (Role role : roles) {
+                mask |= role.bit();
+            }
+        }
+        return mask;
+    }
+
+    public static Set<Role> fromMask(int mask) {
+        EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : values()) {
+            if ((mask & role.bit()) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
 }
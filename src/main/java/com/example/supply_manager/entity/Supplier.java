@@ -1,10 +1,13 @@
 package com.example.supply_manager.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "suppliers")
 public class Supplier {
     
@@ -30,6 +33,7 @@ public class Supplier {
     @Column(length = 1000)
     private String address;
     
+    @JsonIgnore
     @OneToMany(mappedBy = "supplier", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Product> products;
     
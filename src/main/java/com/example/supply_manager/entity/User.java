@@ -1,6 +1,9 @@
 package com.example.supply_manager.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -28,11 +31,18 @@ public class User {
     @Column(name = "is_active")
     private Boolean isActive = true;
     
-    @ElementCollection(fetch = FetchType.EAGER)
+    // One bit per Role ordinal, so a user row carries its roles without a second query
+    @ColumnDefault("0")
+    @Column(name = "role_mask", nullable = false)
+    private int roleMask;
+    
+    // Kept in step with roleMask for anything still reading user_roles; never loaded by the application
+    @JsonIgnore
+    @ElementCollection(fetch = FetchType.LAZY)
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role")
-    private Set<Role> roles = new HashSet<>();
+    private Set<Role> legacyRoles = new HashSet<>();
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -108,12 +118,19 @@ public class User {
         this.isActive = isActive;
     }
 
+    // Returns a copy; use setRoles to change them
     public Set<Role> getRoles() {
-        return roles;
+        return Role.fromMask(roleMask);
     }
 
     public void setRoles(Set<Role> roles) {
-        this.roles = roles;
+        this.roleMask = Role.toMask(roles);
+        this.legacyRoles = roles == null || roles.isEmpty() ? new HashSet<>() : new HashSet<>(roles);
+    }
+
+    @JsonIgnore
+    public int getRoleMask() {
+        return roleMask;
     }
 
     public LocalDateTime getCreatedAt() {
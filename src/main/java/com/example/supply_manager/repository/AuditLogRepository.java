@@ -0,0 +1,14 @@
+package com.example.supply_manager.repository;
+
+import com.example.supply_manager.entity.AuditLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+    
+    List<AuditLog> findByEntityTypeAndEntityIdOrderByChangedAtDescIdDesc(String entityType, Long entityId, Pageable pageable);
+}
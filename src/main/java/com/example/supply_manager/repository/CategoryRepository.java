@@ -1,7 +1,11 @@
 package com.example.supply_manager.repository;
 
+import com.example.supply_manager.dto.CategoryStats;
 import com.example.supply_manager.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,7 +18,20 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     List<Category> findByNameContainingIgnoreCase(String name);
     
+    @Query("SELECT c.id AS id, c.name AS name, c.description AS description, " +
+           "c.createdAt AS createdAt, c.updatedAt AS updatedAt, " +
+           "COUNT(p.id) AS productCount, COALESCE(SUM(p.quantity), 0) AS unitsInStock, " +
+           "COALESCE(SUM(p.price * p.quantity), 0) AS stockValue " +
+           "FROM Category c LEFT JOIN Product p ON p.category.id = c.id " +
+           "GROUP BY c.id, c.name, c.description, c.createdAt, c.updatedAt ORDER BY c.name")
+    List<CategoryStats> findAllWithStats();
+    
     boolean existsByName(String name);
     
+    // Bypasses the products cascade; callers delete the child products first
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id = :id")
+    int deleteInBulkById(@Param("id") Long id);
+    
     boolean existsByNameAndIdNot(String name, Long id);
 }
@@ -0,0 +1,77 @@
+package com.example.supply_manager.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Fields a client may request with ?fields= and their attribute paths; anything unlisted, such as passwords, is rejected
+public final class FieldSelection<T> {
+    
+    private final Class<T> entityType;
+    
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+    
+    private FieldSelection(Class<T> entityType) {
+        this.entityType = entityType;
+    }
+    
+    public static <T> FieldSelection<T> of(Class<T> entityType) {
+        return new FieldSelection<>(entityType);
+    }
+    
+    public FieldSelection<T> field(String name) {
+        return field(name, name, Function.identity());
+    }
+    
+    public FieldSelection<T> field(String name, String path) {
+        return field(name, path, Function.identity());
+    }
+    
+    // The converter turns the selected column value into what the full entity would have serialized
+    public FieldSelection<T> field(String name, String path, Function<Object, Object> converter) {
+        fields.put(name, new Field(name, path.split("\\."), converter));
+        return this;
+    }
+    
+    public Class<T> getEntityType() {
+        return entityType;
+    }
+    
+    List<Field> parse(String requested) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : requested.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        if (names.isEmpty()) {
+            throw new RuntimeException("At least one field is required");
+        }
+        List<Field> selected = new ArrayList<>(names.size());
+        for (String name : names) {
+            Field field = fields.get(name);
+            if (field == null) {
+                throw new RuntimeException("Unknown field: " + name + " (allowed: " + String.join(",", fields.keySet()) + ")");
+            }
+            selected.add(field);
+        }
+        return selected;
+    }
+    
+    static final class Field {
+        
+        final String name;
+        final String[] path;
+        final Function<Object, Object> converter;
+        
+        Field(String name, String[] path, Function<Object, Object> converter) {
+            this.name = name;
+            this.path = path;
+            this.converter = converter;
+        }
+    }
+}
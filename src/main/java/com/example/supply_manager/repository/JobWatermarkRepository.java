@@ -0,0 +1,9 @@
+package com.example.supply_manager.repository;
+
+import com.example.supply_manager.entity.JobWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+}
@@ -1,33 +1,132 @@
 package com.example.supply_manager.repository;
 
+import com.example.supply_manager.dto.InventorySummary;
+import com.example.supply_manager.dto.LowStockItem;
+import com.example.supply_manager.dto.ProductSuggestion;
+import com.example.supply_manager.dto.StockLevelChange;
 import com.example.supply_manager.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductRepositoryCustom {
     
+    // Product reads fetch category and supplier up front; responses are serialized after the session closes
+    @Override
+    @EntityGraph(attributePaths = {"category", "supplier"})
+    Optional<Product> findById(Long id);
+    
+    @Override
+    @EntityGraph(attributePaths = {"category", "supplier"})
+    List<Product> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = {"category", "supplier"})
+    Page<Product> findAll(Pageable pageable);
+    
+    @Override
+    @EntityGraph(attributePaths = {"category", "supplier"})
+    List<Product> findAll(Specification<Product> spec, Sort sort);
+    
+    @EntityGraph(attributePaths = {"category", "supplier"})
     Optional<Product> findByCode(String code);
     
+    @EntityGraph(attributePaths = {"category", "supplier"})
+    List<Product> findByIdIn(Collection<Long> ids);
+    
+    @EntityGraph(attributePaths = {"category", "supplier"})
+    List<Product> findByCodeIn(Collection<String> codes);
+    
+    @EntityGraph(attributePaths = {"category", "supplier"})
     List<Product> findByNameContainingIgnoreCase(String name);
     
+    @EntityGraph(attributePaths = {"category", "supplier"})
     List<Product> findByCategoryId(Long categoryId);
     
+    @EntityGraph(attributePaths = {"category", "supplier"})
     List<Product> findBySupplierId(Long supplierId);
     
     List<Product> findByQuantityLessThan(Integer quantity);
     
-    @Query("SELECT p FROM Product p WHERE p.quantity < p.minimumStock")
+    @Query("SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.supplier WHERE p.quantity < p.minimumStock")
     List<Product> findLowStockProducts();
     
-    @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.quantity < p.minimumStock")
+    @Query("SELECT p FROM Product p JOIN FETCH p.category c JOIN FETCH p.supplier WHERE c.id = :categoryId AND p.quantity < p.minimumStock")
     List<Product> findLowStockProductsByCategory(@Param("categoryId") Long categoryId);
     
+    @Query("SELECT new com.example.supply_manager.dto.LowStockItem(p.id, p.code, p.name, p.price, p.quantity, p.minimumStock, s.id, s.name) " +
+           "FROM Product p JOIN p.supplier s WHERE p.quantity < p.minimumStock")
+    List<LowStockItem> findLowStockItems();
+    
+    // Keyset page over (updatedAt, id) so each call only touches rows changed after the cursor
+    @Query("SELECT new com.example.supply_manager.dto.StockLevelChange(p.id, p.code, p.name, p.quantity, p.minimumStock, p.updatedAt) " +
+           "FROM Product p WHERE p.updatedAt > :since OR (p.updatedAt = :since AND p.id > :afterId) " +
+           "ORDER BY p.updatedAt, p.id")
+    List<StockLevelChange> findStockChangesSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+    
+    @Query("SELECT new com.example.supply_manager.dto.ProductSuggestion(p.id, p.code, p.name) FROM Product p")
+    List<ProductSuggestion> findAllSuggestionKeys();
+    
+    @Query("SELECT new com.example.supply_manager.dto.ProductSuggestion(p.id, p.code, p.name) FROM Product p WHERE p.id = :id")
+    Optional<ProductSuggestion> findSuggestionKeyById(@Param("id") Long id);
+    
+    @Query("SELECT c.id AS categoryId, c.name AS categoryName, " +
+           "COUNT(p) AS skuCount, COALESCE(SUM(p.quantity), 0) AS totalUnits, " +
+           "COALESCE(SUM(p.price * p.quantity), 0) AS totalValue, " +
+           "SUM(CASE WHEN p.quantity < p.minimumStock THEN 1 ELSE 0 END) AS lowStockCount " +
+           "FROM Product p JOIN p.category c GROUP BY c.id, c.name ORDER BY c.name")
+    List<InventorySummary> summarizeInventoryByCategory();
+    
+    @Query("SELECT s.id AS supplierId, s.name AS supplierName, " +
+           "COUNT(p) AS skuCount, COALESCE(SUM(p.quantity), 0) AS totalUnits, " +
+           "COALESCE(SUM(p.price * p.quantity), 0) AS totalValue, " +
+           "SUM(CASE WHEN p.quantity < p.minimumStock THEN 1 ELSE 0 END) AS lowStockCount " +
+           "FROM Product p JOIN p.supplier s GROUP BY s.id, s.name ORDER BY s.name")
+    List<InventorySummary> summarizeInventoryBySupplier();
+    
+    @Query("SELECT c.id AS categoryId, c.name AS categoryName, s.id AS supplierId, s.name AS supplierName, " +
+           "COUNT(p) AS skuCount, COALESCE(SUM(p.quantity), 0) AS totalUnits, " +
+           "COALESCE(SUM(p.price * p.quantity), 0) AS totalValue, " +
+           "SUM(CASE WHEN p.quantity < p.minimumStock THEN 1 ELSE 0 END) AS lowStockCount " +
+           "FROM Product p JOIN p.category c JOIN p.supplier s " +
+           "GROUP BY c.id, c.name, s.id, s.name ORDER BY c.name, s.name")
+    List<InventorySummary> summarizeInventoryByCategoryAndSupplier();
+    
+    @Query("SELECT COUNT(p) AS skuCount, COALESCE(SUM(p.quantity), 0) AS totalUnits, " +
+           "COALESCE(SUM(p.price * p.quantity), 0) AS totalValue, " +
+           "COALESCE(SUM(CASE WHEN p.quantity < p.minimumStock THEN 1 ELSE 0 END), 0) AS lowStockCount " +
+           "FROM Product p")
+    InventorySummary summarizeInventory();
+    
+    long countByCategoryId(Long categoryId);
+    
+    long countBySupplierId(Long supplierId);
+    
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId ORDER BY p.id")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query("SELECT p.id FROM Product p WHERE p.supplier.id = :supplierId ORDER BY p.id")
+    List<Long> findIdsBySupplierId(@Param("supplierId") Long supplierId, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.id IN :ids")
+    int deleteInBulkByIds(@Param("ids") List<Long> ids);
+    
     boolean existsByCode(String code);
     
     boolean existsByName(String name);
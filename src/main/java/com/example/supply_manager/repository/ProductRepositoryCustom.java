@@ -0,0 +1,14 @@
+package com.example.supply_manager.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface ProductRepositoryCustom {
+    
+    int multiplyPrices(BigDecimal factor, Long categoryId, Long supplierId, LocalDateTime updatedAt);
+    
+    int addToPrices(BigDecimal amount, Long categoryId, Long supplierId, LocalDateTime updatedAt);
+    
+    int setPricesByCode(Map<String, BigDecimal> prices, Long categoryId, Long supplierId, LocalDateTime updatedAt);
+}
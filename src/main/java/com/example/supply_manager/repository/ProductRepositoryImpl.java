@@ -0,0 +1,117 @@
+package com.example.supply_manager.repository;
+
+import com.example.supply_manager.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+    
+    private static final int PRICE_SCALE = 2;
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public int multiplyPrices(BigDecimal factor, Long categoryId, Long supplierId, LocalDateTime updatedAt) {
+        return updatePrices((cb, price) -> cb.prod(price, factor), categoryId, supplierId, updatedAt);
+    }
+    
+    @Override
+    public int addToPrices(BigDecimal amount, Long categoryId, Long supplierId, LocalDateTime updatedAt) {
+        return updatePrices((cb, price) -> cb.sum(price, amount), categoryId, supplierId, updatedAt);
+    }
+    
+    @Override
+    public int setPricesByCode(Map<String, BigDecimal> prices, Long categoryId, Long supplierId, LocalDateTime updatedAt) {
+        StringBuilder sql = new StringBuilder("UPDATE products SET price = ?, updated_at = ? WHERE code = ?");
+        if (categoryId != null) {
+            sql.append(" AND category_id = ?");
+        }
+        if (supplierId != null) {
+            sql.append(" AND supplier_id = ?");
+        }
+        
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        List<Object[]> rows = new ArrayList<>(prices.size());
+        prices.forEach((code, price) -> rows.add(new Object[] { price, timestamp, code }));
+        
+        int affected = 0;
+        for (int[] batch : jdbcTemplate.batchUpdate(sql.toString(), rows, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setBigDecimal(1, (BigDecimal) row[0]);
+                    ps.setTimestamp(2, (Timestamp) row[1]);
+                    ps.setString(3, (String) row[2]);
+                    int index = 4;
+                    if (categoryId != null) {
+                        ps.setLong(index++, categoryId);
+                    }
+                    if (supplierId != null) {
+                        ps.setLong(index, supplierId);
+                    }
+                })) {
+            for (int count : batch) {
+                affected += Math.max(count, 0);
+            }
+        }
+        return affected;
+    }
+    
+    // Rejects the whole adjustment when any matched price would end up negative; throwing rolls back the
+    // caller's transaction, so the check runs after the update and sees exactly the rows it changed
+    private int updatePrices(BiFunction<CriteriaBuilder, Expression<BigDecimal>, Expression<BigDecimal>> newPrice,
+                             Long categoryId, Long supplierId, LocalDateTime updatedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = cb.createCriteriaUpdate(Product.class);
+        Root<Product> root = update.from(Product.class);
+        
+        Expression<BigDecimal> rounded = cb.round(newPrice.apply(cb, root.<BigDecimal>get("price")), PRICE_SCALE);
+        update.set(root.<BigDecimal>get("price"), rounded);
+        update.set(root.<LocalDateTime>get("updatedAt"), updatedAt);
+        
+        update.where(filters(cb, root, categoryId, supplierId).toArray(new Predicate[0]));
+        int affected = entityManager.createQuery(update).executeUpdate();
+        
+        CriteriaQuery<Long> negative = cb.createQuery(Long.class);
+        Root<Product> product = negative.from(Product.class);
+        List<Predicate> predicates = filters(cb, product, categoryId, supplierId);
+        predicates.add(cb.lt(product.<BigDecimal>get("price"), BigDecimal.ZERO));
+        negative.select(cb.count(product)).where(predicates.toArray(new Predicate[0]));
+        long rejected = entityManager.createQuery(negative).getSingleResult();
+        if (rejected > 0) {
+            throw new RuntimeException("Price adjustment would make " + rejected + " product prices negative");
+        }
+        return affected;
+    }
+    
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<Product> root, Long categoryId, Long supplierId) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (categoryId != null) {
+            predicates.add(cb.equal(root.get("category").get("id"), categoryId));
+        }
+        if (supplierId != null) {
+            predicates.add(cb.equal(root.get("supplier").get("id"), supplierId));
+        }
+        return predicates;
+    }
+}
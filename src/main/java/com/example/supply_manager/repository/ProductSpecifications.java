@@ -0,0 +1,86 @@
+package com.example.supply_manager.repository;
+
+import com.example.supply_manager.entity.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+public final class ProductSpecifications {
+    
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            "id", "code", "name", "price", "quantity", "minimumStock", "createdAt", "updatedAt");
+    
+    private ProductSpecifications() {}
+    
+    public static Specification<Product> hasId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+    
+    public static Specification<Product> hasCode(String code) {
+        return (root, query, cb) -> cb.equal(root.get("code"), code);
+    }
+    
+    public static Specification<Product> hasCategory(Long categoryId) {
+        return (root, query, cb) -> categoryId == null ? null : cb.equal(root.get("category").get("id"), categoryId);
+    }
+    
+    public static Specification<Product> hasSupplier(Long supplierId) {
+        return (root, query, cb) -> supplierId == null ? null : cb.equal(root.get("supplier").get("id"), supplierId);
+    }
+    
+    public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> minPrice == null ? null : cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+    
+    public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> maxPrice == null ? null : cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+    
+    // true selects products below their minimum stock, false those at or above it, null leaves stock unfiltered
+    public static Specification<Product> lowStock(Boolean lowStock) {
+        return (root, query, cb) -> {
+            if (lowStock == null) {
+                return null;
+            }
+            return lowStock
+                    ? cb.lessThan(root.get("quantity"), root.get("minimumStock"))
+                    : cb.greaterThanOrEqualTo(root.get("quantity"), root.get("minimumStock"));
+        };
+    }
+    
+    public static Specification<Product> filter(Long categoryId, Long supplierId, BigDecimal minPrice, BigDecimal maxPrice, Boolean lowStock) {
+        return Specification.allOf(
+                hasCategory(categoryId),
+                hasSupplier(supplierId),
+                priceAtLeast(minPrice),
+                priceAtMost(maxPrice),
+                lowStock(lowStock));
+    }
+    
+    // Accepts "field", "field,asc", "field,desc" or "-field", separated by ';' for multiple keys
+    public static Sort sort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("id");
+        }
+        Sort result = Sort.unsorted();
+        for (String key : sort.split(";")) {
+            String[] parts = key.trim().split(",");
+            String field = parts[0].trim();
+            Sort.Direction direction = Sort.Direction.ASC;
+            if (field.startsWith("-")) {
+                field = field.substring(1);
+                direction = Sort.Direction.DESC;
+            }
+            if (parts.length > 1) {
+                direction = Sort.Direction.fromString(parts[1].trim());
+            }
+            if (!SORTABLE_FIELDS.contains(field)) {
+                throw new RuntimeException("Invalid sort field: " + field);
+            }
+            result = result.and(Sort.by(direction, field));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.supply_manager.repository;
+
+import com.example.supply_manager.dto.ProductSuggestion;
+import com.example.supply_manager.entity.Category;
+import com.example.supply_manager.entity.Product;
+import com.example.supply_manager.entity.Supplier;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+// Products spread across databases by a hash of the code; the low SHARD_BITS of an id name its shard
+public class ShardedProductStore implements AutoCloseable {
+
+    public static final int SHARD_BITS = 10;
+
+    private static final long SHARD_MASK = (1L << SHARD_BITS) - 1;
+
+    private static final String COLUMNS =
+            "id, code, name, description, price, quantity, minimum_stock, category_id, supplier_id, created_at, updated_at";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "code", "code",
+            "name", "name",
+            "price", "price",
+            "quantity", "quantity",
+            "minimumStock", "minimum_stock",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+
+    private static final Comparator<Product> BY_ID = Comparator.comparing(Product::getId);
+
+    private static final RowMapper<Product> PRODUCT_ROW_MAPPER = (rs, rowNum) -> {
+        Product product = new Product();
+        product.setId(rs.getLong("id"));
+        product.setCode(rs.getString("code"));
+        product.setName(rs.getString("name"));
+        product.setDescription(rs.getString("description"));
+        product.setPrice(rs.getBigDecimal("price"));
+        product.setQuantity(rs.getInt("quantity"));
+        int minimumStock = rs.getInt("minimum_stock");
+        product.setMinimumStock(rs.wasNull() ? null : minimumStock);
+        Category category = new Category();
+        category.setId(rs.getLong("category_id"));
+        product.setCategory(category);
+        Supplier supplier = new Supplier();
+        supplier.setId(rs.getLong("supplier_id"));
+        product.setSupplier(supplier);
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        product.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        product.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+        return product;
+    };
+
+    private final List<DataSource> dataSources;
+
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+
+    private final ExecutorService executor;
+
+    public ShardedProductStore(List<DataSource> dataSources) {
+        if (dataSources.isEmpty() || dataSources.size() > (1 << SHARD_BITS)) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + (1 << SHARD_BITS));
+        }
+        this.dataSources = dataSources;
+        for (DataSource dataSource : dataSources) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            createSchema(jdbcTemplate);
+            shards.add(jdbcTemplate);
+        }
+        this.executor = Executors.newFixedThreadPool(dataSources.size());
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public int shardOf(String code) {
+        int hash = code.hashCode();
+        hash ^= (hash >>> 16);
+        hash *= 0x85ebca6b;
+        hash ^= (hash >>> 13);
+        return Math.floorMod(hash, shards.size());
+    }
+
+    public int shardOfId(long id) {
+        return (int) (id & SHARD_MASK);
+    }
+
+    public Optional<Product> findById(Long id) {
+        int shard = shardOfId(id);
+        if (shard >= shards.size()) {
+            return Optional.empty();
+        }
+        return shards.get(shard).query("SELECT " + COLUMNS + " FROM products WHERE id = ?", PRODUCT_ROW_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    public Optional<Product> findByCode(String code) {
+        return shards.get(shardOf(code)).query("SELECT " + COLUMNS + " FROM products WHERE code = ?", PRODUCT_ROW_MAPPER, code)
+                .stream().findFirst();
+    }
+
+    public boolean existsByCode(String code) {
+        return findByCode(code).isPresent();
+    }
+
+    public boolean existsByNameAndIdNot(String name, Long id) {
+        long excluded = id != null ? id : -1L;
+        return scatter(jdbc -> jdbc.queryForList("SELECT id FROM products WHERE name = ? AND id <> ?", Long.class, name, excluded))
+                .stream().anyMatch(ids -> !ids.isEmpty());
+    }
+
+    public Product insert(Product product) {
+        int shard = shardOf(product.getCode());
+        JdbcTemplate jdbc = shards.get(shard);
+        Long sequence = jdbc.queryForObject("SELECT NEXT VALUE FOR product_seq", Long.class);
+        long id = (sequence << SHARD_BITS) | shard;
+        LocalDateTime now = LocalDateTime.now();
+        jdbc.update("INSERT INTO products (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, product.getCode(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getQuantity(), product.getMinimumStock(), product.getCategory().getId(),
+                product.getSupplier().getId(), Timestamp.valueOf(now), Timestamp.valueOf(now));
+        product.setId(id);
+        product.setCreatedAt(now);
+        product.setUpdatedAt(now);
+        return product;
+    }
+
+    public Product update(Product product) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = shards.get(shardOfId(product.getId())).update(
+                "UPDATE products SET name = ?, description = ?, price = ?, quantity = ?, minimum_stock = ?, " +
+                "category_id = ?, supplier_id = ?, updated_at = ? WHERE id = ?",
+                product.getName(), product.getDescription(), product.getPrice(), product.getQuantity(),
+                product.getMinimumStock(), product.getCategory().getId(), product.getSupplier().getId(),
+                Timestamp.valueOf(now), product.getId());
+        if (updated == 0) {
+            throw new RuntimeException("Product not found");
+        }
+        return findById(product.getId()).orElseThrow(() -> new RuntimeException("Product not found"));
+    }
+
+    public boolean deleteById(Long id) {
+        int shard = shardOfId(id);
+        return shard < shards.size() && shards.get(shard).update("DELETE FROM products WHERE id = ?", id) > 0;
+    }
+
+    public boolean setQuantity(Long id, int quantity) {
+        int shard = shardOfId(id);
+        return shard < shards.size() && shards.get(shard).update(
+                "UPDATE products SET quantity = ?, updated_at = ? WHERE id = ?",
+                quantity, Timestamp.valueOf(LocalDateTime.now()), id) > 0;
+    }
+
+    // Applies the delta in one statement so concurrent stock moves on the same row cannot go negative
+    public boolean adjustQuantity(Long id, int delta) {
+        int shard = shardOfId(id);
+        return shard < shards.size() && shards.get(shard).update(
+                "UPDATE products SET quantity = quantity + ?, updated_at = ? WHERE id = ? AND quantity + ? >= 0",
+                delta, Timestamp.valueOf(LocalDateTime.now()), id, delta) > 0;
+    }
+
+    public List<Product> findAll(int offset, int limit) {
+        return gather("", new Object[0], offset, limit);
+    }
+
+    public List<Product> findByNameContaining(String name) {
+        return gather("WHERE LOWER(name) LIKE ?", new Object[] { "%" + name.toLowerCase() + "%" }, 0, Integer.MAX_VALUE);
+    }
+
+    public List<Product> findLowStock() {
+        return gather("WHERE quantity < minimum_stock", new Object[0], 0, Integer.MAX_VALUE);
+    }
+
+    public List<Product> findByCategory(Long categoryId) {
+        return gather("WHERE category_id = ?", new Object[] { categoryId }, 0, Integer.MAX_VALUE);
+    }
+
+    public List<Product> findBySupplier(Long supplierId) {
+        return gather("WHERE supplier_id = ?", new Object[] { supplierId }, 0, Integer.MAX_VALUE);
+    }
+
+    public List<Product> findLowStockByCategory(Long categoryId) {
+        return gather("WHERE category_id = ? AND quantity < minimum_stock", new Object[] { categoryId }, 0, Integer.MAX_VALUE);
+    }
+
+    // Same predicates as ProductSpecifications.filter; null arguments leave that dimension unfiltered
+    public List<Product> findByFilter(Long categoryId, Long supplierId, BigDecimal minPrice, BigDecimal maxPrice,
+                                      Boolean lowStock, Sort sort) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (categoryId != null) {
+            conditions.add("category_id = ?");
+            args.add(categoryId);
+        }
+        if (supplierId != null) {
+            conditions.add("supplier_id = ?");
+            args.add(supplierId);
+        }
+        if (minPrice != null) {
+            conditions.add("price >= ?");
+            args.add(minPrice);
+        }
+        if (maxPrice != null) {
+            conditions.add("price <= ?");
+            args.add(maxPrice);
+        }
+        if (lowStock != null) {
+            conditions.add(lowStock ? "quantity < minimum_stock" : "quantity >= minimum_stock");
+        }
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions);
+
+        // Id is always the last key so every shard and the merge agree on a total order
+        List<String> orderBy = new ArrayList<>();
+        Comparator<Product> order = null;
+        for (Sort.Order sortOrder : sort) {
+            String column = SORT_COLUMNS.get(sortOrder.getProperty());
+            if (column == null) {
+                throw new RuntimeException("Invalid sort field: " + sortOrder.getProperty());
+            }
+            Comparator<Product> key = comparator(sortOrder.getProperty());
+            if (sortOrder.isDescending()) {
+                orderBy.add(column + " DESC NULLS LAST");
+                key = key.reversed();
+            } else {
+                orderBy.add(column + " ASC NULLS FIRST");
+            }
+            order = order == null ? key : order.thenComparing(key);
+        }
+        orderBy.add("id");
+        order = order == null ? BY_ID : order.thenComparing(BY_ID);
+        return gather(where, args.toArray(), String.join(", ", orderBy), order, 0, Integer.MAX_VALUE);
+    }
+
+    public List<ProductSuggestion> findAllSuggestionKeys() {
+        List<ProductSuggestion> keys = new ArrayList<>();
+        for (List<ProductSuggestion> shardKeys : scatter(jdbc -> jdbc.query("SELECT id, code, name FROM products",
+                (rs, rowNum) -> new ProductSuggestion(rs.getLong("id"), rs.getString("code"), rs.getString("name"))))) {
+            keys.addAll(shardKeys);
+        }
+        return keys;
+    }
+
+    @Override
+    public void close() throws Exception {
+        executor.shutdown();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private List<Product> gather(String where, Object[] args, int offset, int limit) {
+        return gather(where, args, "id", BY_ID, offset, limit);
+    }
+
+    // Each shard returns its first offset + limit rows in the requested order; a k-way merge then yields the global page
+    private List<Product> gather(String where, Object[] args, String orderBy, Comparator<Product> order, int offset, int limit) {
+        long perShard = Math.min((long) offset + limit, Integer.MAX_VALUE);
+        String sql = "SELECT " + COLUMNS + " FROM products " + where + " ORDER BY " + orderBy
+                + (perShard < Integer.MAX_VALUE ? " LIMIT " + perShard : "");
+        List<List<Product>> results = scatter(jdbc -> jdbc.query(sql, PRODUCT_ROW_MAPPER, args));
+
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Comparator.comparing(
+                (int[] head) -> results.get(head[0]).get(head[1]), order));
+        for (int shard = 0; shard < results.size(); shard++) {
+            if (!results.get(shard).isEmpty()) {
+                heads.add(new int[] { shard, 0 });
+            }
+        }
+
+        List<Product> page = new ArrayList<>();
+        int skipped = 0;
+        while (!heads.isEmpty() && page.size() < limit) {
+            int[] head = heads.poll();
+            List<Product> shardRows = results.get(head[0]);
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                page.add(shardRows.get(head[1]));
+            }
+            if (head[1] + 1 < shardRows.size()) {
+                heads.add(new int[] { head[0], head[1] + 1 });
+            }
+        }
+        return page;
+    }
+
+    private <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (JdbcTemplate shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), executor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    private static Comparator<Product> comparator(String property) {
+        return switch (property) {
+            case "id" -> BY_ID;
+            case "code" -> Comparator.comparing(Product::getCode);
+            case "name" -> Comparator.comparing(Product::getName);
+            case "price" -> Comparator.comparing(Product::getPrice);
+            case "quantity" -> Comparator.comparing(Product::getQuantity);
+            case "minimumStock" -> Comparator.comparing(Product::getMinimumStock, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "createdAt" -> Comparator.comparing(Product::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "updatedAt" -> Comparator.comparing(Product::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> throw new RuntimeException("Invalid sort field: " + property);
+        };
+    }
+
+    private static void createSchema(JdbcTemplate jdbc) {
+        jdbc.execute("CREATE SEQUENCE IF NOT EXISTS product_seq");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS products (" +
+                "id BIGINT PRIMARY KEY, " +
+                "code VARCHAR(255) NOT NULL UNIQUE, " +
+                "name VARCHAR(255) NOT NULL, " +
+                "description VARCHAR(1000), " +
+                "price DECIMAL(10, 2) NOT NULL, " +
+                "quantity INT NOT NULL, " +
+                "minimum_stock INT, " +
+                "category_id BIGINT NOT NULL, " +
+                "supplier_id BIGINT NOT NULL, " +
+                "created_at TIMESTAMP, " +
+                "updated_at TIMESTAMP)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_products_name ON products (name)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_products_category_quantity ON products (category_id, quantity)");
+    }
+}
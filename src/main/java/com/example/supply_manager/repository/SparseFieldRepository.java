@@ -0,0 +1,82 @@
+package com.example.supply_manager.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Tuple queries over only the requested columns; rows come back as maps keyed by field name in request order
+@Repository
+public class SparseFieldRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public <T> List<Map<String, Object>> find(FieldSelection<T> selection, String fields, Specification<T> spec,
+                                              Sort sort, Integer offset, Integer limit) {
+        List<FieldSelection.Field> selected = selection.parse(fields);
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(selection.getEntityType());
+        List<Selection<?>> columns = new ArrayList<>(selected.size());
+        for (FieldSelection.Field field : selected) {
+            columns.add(path(root, field.path).alias(field.name));
+        }
+        query.multiselect(columns);
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (offset != null) {
+            typedQuery.setFirstResult(offset);
+        }
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        
+        List<Tuple> tuples = typedQuery.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < selected.size(); i++) {
+                FieldSelection.Field field = selected.get(i);
+                Object value = tuple.get(i);
+                row.put(field.name, value == null ? null : field.converter.apply(value));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+    
+    // Path navigation on a to-one id ("category.id") reads the foreign key column without a join
+    private static Path<?> path(Root<?> root, String[] segments) {
+        Path<?> path = root.get(segments[0]);
+        for (int i = 1; i < segments.length; i++) {
+            path = path.get(segments[i]);
+        }
+        return path;
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.supply_manager.repository;
 
+import com.example.supply_manager.dto.SupplierStats;
 import com.example.supply_manager.entity.Supplier;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,8 +24,22 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     
     List<Supplier> findByEmailContainingIgnoreCase(String email);
     
+    @Query("SELECT s.id AS id, s.name AS name, s.contact AS contact, s.email AS email, s.phone AS phone, " +
+           "s.taxId AS taxId, s.address AS address, s.createdAt AS createdAt, s.updatedAt AS updatedAt, " +
+           "COUNT(p.id) AS productCount, COALESCE(SUM(p.quantity), 0) AS unitsInStock, " +
+           "COALESCE(SUM(p.price * p.quantity), 0) AS stockValue " +
+           "FROM Supplier s LEFT JOIN Product p ON p.supplier.id = s.id " +
+           "GROUP BY s.id, s.name, s.contact, s.email, s.phone, s.taxId, s.address, s.createdAt, s.updatedAt " +
+           "ORDER BY s.name")
+    List<SupplierStats> findAllWithStats();
+    
     boolean existsByName(String name);
     
+    // Bypasses the products cascade; callers delete the child products first
+    @Modifying
+    @Query("DELETE FROM Supplier s WHERE s.id = :id")
+    int deleteInBulkById(@Param("id") Long id);
+    
     boolean existsByTaxId(String taxId);
     
     boolean existsByEmail(String email);
@@ -0,0 +1,226 @@
+package com.example.supply_manager.seed;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+// Synthetic catalog via batched JDBC inserts with skewed parents and log-normal prices; the same spec gives the same rows
+public class CatalogSeeder {
+
+    private static final String[] ADJECTIVES = {
+            "Heavy-Duty", "Compact", "Premium", "Standard", "Industrial", "Lightweight", "Reinforced", "Eco",
+            "Professional", "Portable", "Insulated", "Galvanized", "Precision", "Universal", "Modular", "Classic"
+    };
+
+    private static final String[] MATERIALS = {
+            "Steel", "Aluminum", "Copper", "Nylon", "Rubber", "Oak", "Polymer", "Brass", "Ceramic", "Glass",
+            "Cotton", "Carbon", "Titanium", "PVC", "Bamboo", "Leather"
+    };
+
+    private static final String[] NOUNS = {
+            "Bolt", "Bracket", "Cable", "Valve", "Hinge", "Panel", "Filter", "Bearing", "Gasket", "Clamp",
+            "Hose", "Fitting", "Sensor", "Switch", "Pump", "Drill Bit", "Washer", "Pipe", "Spring", "Tape"
+    };
+
+    private static final String[] DEPARTMENTS = {
+            "Fasteners", "Electrical", "Plumbing", "Hardware", "Safety", "Tools", "Packaging", "Lighting",
+            "Adhesives", "Hydraulics", "Cleaning", "Office", "Automotive", "Garden", "Abrasives", "Storage"
+    };
+
+    private static final String[] SUPPLIER_WORDS = {
+            "Atlas", "Northwind", "Summit", "Pioneer", "Keystone", "Meridian", "Harbor", "Granite", "Beacon",
+            "Cascade", "Frontier", "Sterling", "Redwood", "Union", "Vertex", "Liberty"
+    };
+
+    private static final String[] ID_COLUMN = { "id" };
+
+    private final DataSource dataSource;
+
+    public CatalogSeeder(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public SeedResult seed(SeedSpec spec) {
+        spec.validate();
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long[] categoryIds = insertCategories(connection, spec, now);
+                long[] supplierIds = insertSuppliers(connection, spec, random.split(), now);
+                int lowStock = insertProducts(connection, spec, random.split(), categoryIds, supplierIds, now);
+                connection.commit();
+                return new SeedResult(spec.getSeed(), categoryIds.length, supplierIds.length, spec.getProducts(),
+                        lowStock, (System.nanoTime() - started) / 1_000_000);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Seeding failed: " + e.getMessage(), e);
+        }
+    }
+
+    private long[] insertCategories(Connection connection, SeedSpec spec, Timestamp now) throws SQLException {
+        long[] ids = new long[spec.getCategories()];
+        int count = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO categories (name, description, created_at, updated_at) VALUES (?, ?, ?, ?)", ID_COLUMN)) {
+            for (int i = 0; i < spec.getCategories(); i++) {
+                String department = DEPARTMENTS[i % DEPARTMENTS.length];
+                insert.setString(1, spec.getPrefix() + " " + department + " " + (i + 1));
+                insert.setString(2, department + " products");
+                insert.setTimestamp(3, now);
+                insert.setTimestamp(4, now);
+                insert.addBatch();
+                if ((i + 1) % spec.getBatchSize() == 0) {
+                    count = executeBatch(insert, ids, count);
+                }
+            }
+            count = executeBatch(insert, ids, count);
+        }
+        return checkIds(ids, count, "categories");
+    }
+
+    private long[] insertSuppliers(Connection connection, SeedSpec spec, SplittableRandom random, Timestamp now) throws SQLException {
+        long[] ids = new long[spec.getSuppliers()];
+        int count = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO suppliers (name, contact, email, phone, tax_id, address, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", ID_COLUMN)) {
+            for (int i = 0; i < spec.getSuppliers(); i++) {
+                String word = SUPPLIER_WORDS[random.nextInt(SUPPLIER_WORDS.length)];
+                String key = spec.getPrefix().toLowerCase() + "-" + (i + 1);
+                insert.setString(1, spec.getPrefix() + " " + word + " Supply " + (i + 1));
+                insert.setString(2, word + " Sales");
+                insert.setString(3, "sales@" + key + ".example.com");
+                insert.setString(4, String.format("+1-555-%03d-%04d", random.nextInt(1000), random.nextInt(10_000)));
+                insert.setString(5, spec.getPrefix() + "-TAX-" + String.format("%08d", i + 1));
+                insert.setString(6, (1 + random.nextInt(9_999)) + " Industrial Way");
+                insert.setTimestamp(7, now);
+                insert.setTimestamp(8, now);
+                insert.addBatch();
+                if ((i + 1) % spec.getBatchSize() == 0) {
+                    count = executeBatch(insert, ids, count);
+                }
+            }
+            count = executeBatch(insert, ids, count);
+        }
+        return checkIds(ids, count, "suppliers");
+    }
+
+    private int insertProducts(Connection connection, SeedSpec spec, SplittableRandom random,
+                               long[] categoryIds, long[] supplierIds, Timestamp now) throws SQLException {
+        double[] categoryWeights = zipfCumulative(categoryIds.length, spec.getSkew());
+        double[] supplierWeights = zipfCumulative(supplierIds.length, spec.getSkew());
+        int lowStock = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO products (code, name, description, price, quantity, minimum_stock, category_id, " +
+                "supplier_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < spec.getProducts(); i++) {
+                String code = spec.getPrefix() + "-" + String.format("%08d", i + 1);
+                String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                        + MATERIALS[random.nextInt(MATERIALS.length)] + " "
+                        + NOUNS[random.nextInt(NOUNS.length)] + " " + code;
+
+                // Log-normal prices: most items are cheap, a long tail is expensive
+                double price = Math.exp(3.0 + 1.1 * gaussian(random));
+                int minimumStock = (int) Math.max(1, Math.round(Math.exp(2.3 + 0.6 * gaussian(random))));
+                int quantity = random.nextDouble() < spec.getLowStockRatio()
+                        ? random.nextInt(minimumStock)
+                        : minimumStock + (int) Math.round(-Math.log(1 - random.nextDouble()) * minimumStock * 4);
+                if (quantity < minimumStock) {
+                    lowStock++;
+                }
+
+                insert.setString(1, code);
+                insert.setString(2, name);
+                if (random.nextInt(10) < 3) {
+                    insert.setString(3, "Synthetic item " + code + " for load testing");
+                } else {
+                    insert.setNull(3, Types.VARCHAR);
+                }
+                insert.setBigDecimal(4, BigDecimal.valueOf(Math.max(0.5, price)).setScale(2, RoundingMode.HALF_UP));
+                insert.setInt(5, quantity);
+                insert.setInt(6, minimumStock);
+                insert.setLong(7, categoryIds[pick(categoryWeights, random)]);
+                insert.setLong(8, supplierIds[pick(supplierWeights, random)]);
+                insert.setTimestamp(9, now);
+                insert.setTimestamp(10, now);
+                insert.addBatch();
+                if ((i + 1) % spec.getBatchSize() == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        return lowStock;
+    }
+
+    // Runs the pending batch and appends the ids it generated, in insert order
+    private static int executeBatch(PreparedStatement insert, long[] ids, int count) throws SQLException {
+        insert.executeBatch();
+        try (ResultSet keys = insert.getGeneratedKeys()) {
+            while (keys.next() && count < ids.length) {
+                ids[count++] = keys.getLong(1);
+            }
+        }
+        return count;
+    }
+
+    private static long[] checkIds(long[] ids, int count, String table) {
+        if (count < ids.length) {
+            throw new RuntimeException("Expected " + ids.length + " generated ids for " + table + " but got " + count);
+        }
+        return ids;
+    }
+
+    private static double[] zipfCumulative(int size, double skew) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += 1.0 / Math.pow(i + 1, skew);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        double target = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Box-Muller; SplittableRandom has no nextGaussian of its own
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.supply_manager.seed;
+
+public class SeedResult {
+
+    private final long seed;
+    private final int categories;
+    private final int suppliers;
+    private final int products;
+    private final int lowStockProducts;
+    private final long elapsedMillis;
+
+    public SeedResult(long seed, int categories, int suppliers, int products, int lowStockProducts, long elapsedMillis) {
+        this.seed = seed;
+        this.categories = categories;
+        this.suppliers = suppliers;
+        this.products = products;
+        this.lowStockProducts = lowStockProducts;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getCategories() {
+        return categories;
+    }
+
+    public int getSuppliers() {
+        return suppliers;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public int getLowStockProducts() {
+        return lowStockProducts;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.supply_manager.seed;
+
+public class SeedSpec {
+
+    private long seed = 42;
+    private int categories = 1_000;
+    private int suppliers = 500;
+    private int products = 100_000;
+    private String prefix = "SEED";
+    private double skew = 1.0;
+    private double lowStockRatio = 0.08;
+    private int batchSize = 1_000;
+
+    public SeedSpec() {}
+
+    public SeedSpec(long seed, int categories, int suppliers, int products) {
+        this.seed = seed;
+        this.categories = categories;
+        this.suppliers = suppliers;
+        this.products = products;
+    }
+
+    void validate() {
+        if (categories < 1 || suppliers < 1 || products < 0) {
+            throw new RuntimeException("Seeding needs at least one category and one supplier");
+        }
+        if (prefix == null || prefix.isBlank()) {
+            throw new RuntimeException("Seed prefix must be non-blank");
+        }
+        if (lowStockRatio < 0 || lowStockRatio > 1) {
+            throw new RuntimeException("Low stock ratio must be between 0 and 1");
+        }
+        if (batchSize < 1) {
+            throw new RuntimeException("Batch size must be positive");
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getCategories() {
+        return categories;
+    }
+
+    public void setCategories(int categories) {
+        this.categories = categories;
+    }
+
+    public int getSuppliers() {
+        return suppliers;
+    }
+
+    public void setSuppliers(int suppliers) {
+        this.suppliers = suppliers;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public void setProducts(int products) {
+        this.products = products;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public double getSkew() {
+        return skew;
+    }
+
+    public void setSkew(double skew) {
+        this.skew = skew;
+    }
+
+    public double getLowStockRatio() {
+        return lowStockRatio;
+    }
+
+    public void setLowStockRatio(double lowStockRatio) {
+        this.lowStockRatio = lowStockRatio;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.cache.InvalidationBus;
+import com.example.supply_manager.cache.InvalidationEvent;
+import com.example.supply_manager.cache.InvalidationListener;
+import com.example.supply_manager.dto.ProductPageBootstrap;
+import com.example.supply_manager.entity.Product;
+import com.example.supply_manager.repository.ShardedProductStore;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Product page payload; the three queries run concurrently on their own connections and select only rendered columns
+@Service
+public class BootstrapService implements InvalidationListener {
+    
+    private static final RowMapper<ProductPageBootstrap.Option> OPTION_ROW_MAPPER =
+            (rs, rowNum) -> new ProductPageBootstrap.Option(rs.getLong("id"), rs.getString("name"));
+    
+    private static final Set<String> PAGE_ENTITY_TYPES = Set.of("product", "category", "supplier");
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+    
+    // Bumped after every committed write to the tables the page reads, local or from a peer
+    private final AtomicLong changes = new AtomicLong();
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    // Node id plus a counter bumped after each committed catalog write, so a late-committing bulk write still changes it
+    public String version() {
+        return invalidationBus.getNodeId() + "-" + changes.get();
+    }
+    
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (PAGE_ENTITY_TYPES.contains(event.getEntityType())) {
+            changes.incrementAndGet();
+        }
+    }
+    
+    // Events may have been missed while the bus was unhealthy, so treat it as a change
+    @Override
+    public void onInvalidateAll() {
+        changes.incrementAndGet();
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductPageBootstrap loadProductPage() {
+        CompletableFuture<List<ProductPageBootstrap.ProductRow>> products = CompletableFuture.supplyAsync(this::loadProducts, executor);
+        CompletableFuture<List<ProductPageBootstrap.Option>> categories = CompletableFuture.supplyAsync(
+                () -> jdbcTemplate.query("SELECT id, name FROM categories ORDER BY name", OPTION_ROW_MAPPER), executor);
+        CompletableFuture<List<ProductPageBootstrap.Option>> suppliers = CompletableFuture.supplyAsync(
+                () -> jdbcTemplate.query("SELECT id, name FROM suppliers ORDER BY name", OPTION_ROW_MAPPER), executor);
+        try {
+            return new ProductPageBootstrap(products.join(), categories.join(), suppliers.join());
+        } catch (CompletionException e) {
+            throw new RuntimeException("Failed to load product page: " + e.getCause().getMessage());
+        }
+    }
+    
+    private List<ProductPageBootstrap.ProductRow> loadProducts() {
+        if (shardedProductStore != null) {
+            List<Product> products = shardedProductStore.findAll(0, Integer.MAX_VALUE);
+            List<ProductPageBootstrap.ProductRow> rows = new ArrayList<>(products.size());
+            for (Product product : products) {
+                rows.add(new ProductPageBootstrap.ProductRow(product.getId(), product.getName(), product.getDescription(),
+                        product.getPrice(), product.getQuantity(), product.getCategory().getId(), product.getSupplier().getId()));
+            }
+            return rows;
+        }
+        return jdbcTemplate.query(
+                "SELECT id, name, description, price, quantity, category_id, supplier_id FROM products ORDER BY id",
+                (rs, rowNum) -> new ProductPageBootstrap.ProductRow(rs.getLong("id"), rs.getString("name"),
+                        rs.getString("description"), rs.getBigDecimal("price"), rs.getInt("quantity"),
+                        rs.getLong("category_id"), rs.getLong("supplier_id")));
+    }
+}
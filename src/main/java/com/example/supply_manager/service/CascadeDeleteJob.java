@@ -0,0 +1,93 @@
+package com.example.supply_manager.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CascadeDeleteJob {
+    
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+    
+    private final String id = UUID.randomUUID().toString();
+    private final String entityType;
+    private final Long entityId;
+    private final long totalProducts;
+    private final AtomicLong deletedProducts = new AtomicLong();
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private volatile Status status = Status.PENDING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public CascadeDeleteJob(String entityType, Long entityId, long totalProducts) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.totalProducts = totalProducts;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public long getTotalProducts() {
+        return totalProducts;
+    }
+
+    public long getDeletedProducts() {
+        return deletedProducts.get();
+    }
+
+    public int getProgressPercent() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        return totalProducts == 0 ? 0 : (int) Math.min(99, deletedProducts.get() * 100 / totalProducts);
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    void addDeleted(long count) {
+        deletedProducts.addAndGet(count);
+    }
+
+    void markRunning() {
+        status = Status.RUNNING;
+    }
+
+    void markCompleted() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.audit.AuditTrail;
+import com.example.supply_manager.repository.ShardedProductStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+@Service
+public class CascadeDeleteService {
+    
+    private static final Logger log = LoggerFactory.getLogger(CascadeDeleteService.class);
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    
+    // In memory only: a restart forgets the jobs, so start and failure are also written to the audit trail.
+    // A category or supplier with a CASCADE_DELETE_STARTED entry but no DELETE is half-deleted; deleting it again finishes it.
+    private final Map<String, CascadeDeleteJob> jobs = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private AuditTrail auditTrail;
+    
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${supply.cascade-delete.chunk-size:1000}")
+    private int chunkSize;
+    
+    @Value("${supply.cascade-delete.async-threshold:5000}")
+    private long asyncThreshold;
+    
+    public boolean shouldRunAsync(long productCount) {
+        return productCount > asyncThreshold;
+    }
+    
+    // Deletes the child products chunk by chunk in the caller's transaction
+    public long deleteProducts(Function<Pageable, List<Long>> nextChunk) {
+        checkSupported();
+        long deleted = 0;
+        List<Long> ids;
+        while (!(ids = nextChunk.apply(PageRequest.of(0, chunkSize))).isEmpty()) {
+            deleted += productService.deleteChunk(ids);
+        }
+        return deleted;
+    }
+    
+    // Each chunk commits on its own so the job never holds more than one chunk of locks or entities
+    public CascadeDeleteJob submit(String entityType, Long entityId, long productCount,
+                                   Function<Pageable, List<Long>> nextChunk, Runnable deleteParent) {
+        checkSupported();
+        CascadeDeleteJob job = new CascadeDeleteJob(entityType, entityId, productCount);
+        jobs.put(job.getId(), job);
+        TransactionHooks.afterCommit(() -> executor.execute(() -> run(job, nextChunk, deleteParent)));
+        return job;
+    }
+    
+    public Optional<CascadeDeleteJob> findJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+    
+    @Scheduled(fixedDelay = 600_000)
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(1);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        for (CascadeDeleteJob job : jobs.values()) {
+            if (job.getFinishedAt() == null) {
+                log.warn("Cascade delete of {} {} interrupted after {} of {} products; delete it again to finish",
+                        job.getEntityType(), job.getEntityId(), job.getDeletedProducts(), job.getTotalProducts());
+            }
+        }
+    }
+    
+    // Shard products are not in the JPA products table, so the cascade would orphan them under a deleted parent
+    private void checkSupported() {
+        if (shardedProductStore != null) {
+            throw new RuntimeException("Cascade delete is not supported when sharding is enabled");
+        }
+    }
+    
+    private void run(CascadeDeleteJob job, Function<Pageable, List<Long>> nextChunk, Runnable deleteParent) {
+        job.markRunning();
+        auditTrail.record(job.getEntityType(), job.getEntityId(), "CASCADE_DELETE_STARTED");
+        try {
+            while (true) {
+                List<Long> ids = transactionTemplate.execute(status -> nextChunk.apply(PageRequest.of(0, chunkSize)));
+                if (ids == null || ids.isEmpty()) {
+                    break;
+                }
+                job.addDeleted(productService.deleteChunk(ids));
+            }
+            transactionTemplate.executeWithoutResult(status -> deleteParent.run());
+            job.markCompleted();
+        } catch (RuntimeException e) {
+            log.error("Cascade delete of {} {} failed after {} of {} products", job.getEntityType(), job.getEntityId(),
+                    job.getDeletedProducts(), job.getTotalProducts(), e);
+            auditTrail.record(job.getEntityType(), job.getEntityId(), "CASCADE_DELETE_FAILED");
+            job.markFailed(e.getMessage());
+        }
+    }
+}
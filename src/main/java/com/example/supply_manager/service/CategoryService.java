@@ -1,9 +1,16 @@
 package com.example.supply_manager.service;
 
+import com.example.supply_manager.audit.AuditTrail;
+import com.example.supply_manager.cache.InvalidationBus;
+import com.example.supply_manager.cache.SingleFlight;
+import com.example.supply_manager.dto.CategoryStats;
 import com.example.supply_manager.entity.Category;
 import com.example.supply_manager.repository.CategoryRepository;
+import com.example.supply_manager.repository.ProductRepository;
+import com.example.supply_manager.repository.ShardedProductStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -16,18 +23,48 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
     
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    @Autowired
+    private AuditTrail auditTrail;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CascadeDeleteService cascadeDeleteService;
+    
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Category> findAll() {
-        return categoryRepository.findAll();
+        return singleFlight.execute("category:all", categoryRepository::findAll);
     }
     
+    @Transactional(readOnly = true)
+    public List<CategoryStats> findAllWithStats() {
+        if (shardedProductStore != null) {
+            throw new RuntimeException("Product statistics are not supported when sharding is enabled");
+        }
+        return categoryRepository.findAllWithStats();
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<Category> findById(Long id) {
         return categoryRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Category> findByName(String name) {
         return categoryRepository.findByName(name);
     }
     
+    @Transactional(readOnly = true)
     public List<Category> findByNameContaining(String name) {
         return categoryRepository.findByNameContainingIgnoreCase(name);
     }
@@ -47,13 +84,37 @@ public class CategoryService {
             }
         }
         
-        return categoryRepository.save(category);
+        String action = category.getId() == null ? "CREATE" : "UPDATE";
+        Category saved = categoryRepository.save(category);
+        auditTrail.record("category", saved.getId(), action);
+        invalidationBus.publish("category", saved.getId(), System.currentTimeMillis());
+        return saved;
     }
     
-    public void deleteById(Long id) {
+    // Returns the background job when the cascade is too large to run inline, otherwise null
+    public CascadeDeleteJob deleteById(Long id) {
         if (!categoryRepository.existsById(id)) {
             throw new RuntimeException("Category not found");
         }
-        categoryRepository.deleteById(id);
+        
+        long productCount = productRepository.countByCategoryId(id);
+        if (cascadeDeleteService.shouldRunAsync(productCount)) {
+            return cascadeDeleteService.submit("category", id, productCount,
+                    page -> productRepository.findIdsByCategoryId(id, page),
+                    () -> deleteCategoryRow(id, true));
+        }
+        
+        long deleted = cascadeDeleteService.deleteProducts(page -> productRepository.findIdsByCategoryId(id, page));
+        deleteCategoryRow(id, deleted > 0);
+        return null;
+    }
+    
+    private void deleteCategoryRow(Long id, boolean productsDeleted) {
+        categoryRepository.deleteInBulkById(id);
+        auditTrail.record("category", id, "DELETE");
+        invalidationBus.publish("category", id, System.currentTimeMillis());
+        if (productsDeleted) {
+            invalidationBus.publish("product", null, System.currentTimeMillis());
+        }
     }
 }
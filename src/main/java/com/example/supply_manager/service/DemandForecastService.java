@@ -0,0 +1,420 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.audit.AuditTrail;
+import com.example.supply_manager.cache.InvalidationBus;
+import com.example.supply_manager.dto.MinimumStockRecommendation;
+import com.example.supply_manager.repository.ShardedProductStore;
+import com.example.supply_manager.timeseries.StockHistoryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Recommends minimumStock from removal history with weekly-seasonal smoothing plus service-level safety stock
+@Service
+public class DemandForecastService {
+    
+    private static final Logger log = LoggerFactory.getLogger(DemandForecastService.class);
+    
+    private static final long DAY_MILLIS = 86_400_000L;
+    
+    private static final int SEASON = 7;
+    
+    // Below this many products a task fits its range sequentially instead of forking
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+    
+    // Marks a missing minimumStock or a product without history in the primitive columns
+    private static final int UNSET = -1;
+    
+    // First-sample day of a product with no samples in the window
+    private static final int NO_SAMPLES = Integer.MAX_VALUE;
+    
+    private static final String APPLY_SQL = "UPDATE products SET minimum_stock = ?, updated_at = ? "
+            + "WHERE id = ? AND minimum_stock IS NOT DISTINCT FROM ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private StockHistoryStore stockHistoryStore;
+    
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    @Autowired
+    private AuditTrail auditTrail;
+    
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+    
+    @Value("${supply.forecast.history-days:56}")
+    private int historyDays;
+    
+    @Value("${supply.forecast.lead-time-days:7}")
+    private int leadTimeDays;
+    
+    @Value("${supply.forecast.service-level:0.95}")
+    private double serviceLevel;
+    
+    @Value("${supply.forecast.level-smoothing:0.2}")
+    private double alpha;
+    
+    @Value("${supply.forecast.season-smoothing:0.1}")
+    private double gamma;
+    
+    // One old sample covers two seasons by its date alone; a fit also needs this many samples in the window
+    @Value("${supply.forecast.min-samples:4}")
+    private int minSamples;
+    
+    @Value("${supply.forecast.chunk-size:250000}")
+    private int chunkSize;
+    
+    private volatile ForecastRun latestRun;
+    
+    public synchronized Map<String, Object> run() {
+        if (shardedProductStore != null) {
+            throw new RuntimeException("Forecasting is not supported when sharding is enabled");
+        }
+        if (historyDays < 2 * SEASON) {
+            throw new RuntimeException("Forecast history must cover at least two weeks");
+        }
+        long started = System.nanoTime();
+        
+        ProductColumns products = loadProducts();
+        int count = products.size;
+        int[] recommended = new int[count];
+        float[] dailyDemand = new float[count];
+        float[] stdDev = new float[count];
+        
+        long today = Math.floorDiv(System.currentTimeMillis(), DAY_MILLIS);
+        long firstDay = today - historyDays;
+        double z = inverseNormal(serviceLevel);
+        
+        // One chunk of products at a time keeps the demand matrix bounded on large catalogs
+        for (int from = 0; from < count; from += chunkSize) {
+            int to = Math.min(count, from + chunkSize);
+            float[] demand = new float[(to - from) * historyDays];
+            int[] firstSampleDay = new int[to - from];
+            int[] sampleCount = new int[to - from];
+            Arrays.fill(firstSampleDay, NO_SAMPLES);
+            collectDemand(products.ids, from, to, firstDay, demand, firstSampleDay, sampleCount);
+            ForkJoinPool.commonPool().invoke(new FitTask(demand, firstSampleDay, sampleCount, from, 0, to - from,
+                    firstDay, z, recommended, dailyDemand, stdDev));
+        }
+        
+        int withHistory = 0;
+        int changed = 0;
+        for (int i = 0; i < count; i++) {
+            if (recommended[i] != UNSET) {
+                withHistory++;
+                if (recommended[i] != products.minimumStocks[i]) {
+                    changed++;
+                }
+            }
+        }
+        
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        latestRun = new ForecastRun(LocalDateTime.now(), products.ids, products.minimumStocks, recommended,
+                dailyDemand, stdDev, withHistory, changed, elapsedMillis);
+        log.info("Forecast {} products ({} with history, {} changed) in {} ms", count, withHistory, changed, elapsedMillis);
+        return latestRun.summary();
+    }
+    
+    public List<MinimumStockRecommendation> findRecommendations(boolean changedOnly, int offset, int limit) {
+        ForecastRun run = latestRun;
+        if (run == null) {
+            run();
+            run = latestRun;
+        }
+        List<MinimumStockRecommendation> page = new ArrayList<>(Math.min(limit, 1024));
+        int skipped = 0;
+        for (int i = 0; i < run.productIds.length && page.size() < limit; i++) {
+            if (run.recommended[i] == UNSET || (changedOnly && run.recommended[i] == run.current[i])) {
+                continue;
+            }
+            if (skipped++ < offset) {
+                continue;
+            }
+            page.add(new MinimumStockRecommendation(run.productIds[i],
+                    run.current[i] == UNSET ? null : run.current[i], run.recommended[i],
+                    run.dailyDemand[i], run.stdDev[i]));
+        }
+        return page;
+    }
+    
+    // Only rows whose minimumStock is still what the forecast read are updated; edits made since are kept
+    @Transactional
+    public Map<String, Object> applyRecommendations() {
+        ForecastRun run = latestRun;
+        if (run == null) {
+            throw new RuntimeException("No forecast has been run yet");
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        int attempted = 0;
+        int updated = 0;
+        for (int i = 0; i < run.productIds.length; i++) {
+            if (run.recommended[i] == UNSET || run.recommended[i] == run.current[i]) {
+                continue;
+            }
+            batch.add(new Object[] { run.recommended[i], now, run.productIds[i],
+                    run.current[i] == UNSET ? null : run.current[i] });
+            attempted++;
+            if (batch.size() == 1000) {
+                updated += sum(jdbcTemplate.batchUpdate(APPLY_SQL, batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            updated += sum(jdbcTemplate.batchUpdate(APPLY_SQL, batch));
+        }
+        if (updated > 0) {
+            auditTrail.record("product", null, "BULK_MINIMUM_STOCK_UPDATE");
+            invalidationBus.publish("product", null, System.currentTimeMillis());
+        }
+        if (updated < attempted) {
+            log.info("Skipped {} minimum stock recommendations for products changed since the forecast", attempted - updated);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("updated", updated);
+        result.put("skipped", attempted - updated);
+        return result;
+    }
+    
+    private ProductColumns loadProducts() {
+        ProductColumns products = new ProductColumns();
+        jdbcTemplate.query("SELECT id, minimum_stock FROM products ORDER BY id", rs -> {
+            int minimumStock = rs.getInt(2);
+            products.add(rs.getLong(1), rs.wasNull() ? UNSET : minimumStock);
+        });
+        return products;
+    }
+    
+    // Turns quantity samples into removed units per day; a drop between consecutive samples counts as demand.
+    // Also records the day of each product's first sample, since days before it say nothing about demand,
+    // and how many samples fall inside the window.
+    private void collectDemand(long[] ids, int from, int to, long firstDay, float[] demand, int[] firstSampleDay,
+                               int[] sampleCount) {
+        int[] lastQuantity = new int[to - from];
+        long windowStart = firstDay * DAY_MILLIS;
+        stockHistoryStore.scan(ids[from], ids[to - 1], windowStart, Long.MAX_VALUE, (productId, series) -> {
+            int index = Arrays.binarySearch(ids, from, to, productId);
+            if (index < 0) {
+                return;
+            }
+            int local = index - from;
+            int rowOffset = local * historyDays;
+            boolean hasPrevious = firstSampleDay[local] != NO_SAMPLES;
+            int previous = lastQuantity[local];
+            for (int i = 0; i < series.size(); i++) {
+                int quantity = series.valueAt(i);
+                int day = (int) (Math.floorDiv(series.timestampAt(i), DAY_MILLIS) - firstDay);
+                if (hasPrevious && quantity < previous && day >= 0 && day < historyDays) {
+                    demand[rowOffset + day] += previous - quantity;
+                }
+                if (day >= 0 && day < firstSampleDay[local]) {
+                    firstSampleDay[local] = day;
+                }
+                if (day >= 0 && day < historyDays) {
+                    sampleCount[local]++;
+                }
+                previous = quantity;
+                hasPrevious = true;
+            }
+            lastQuantity[local] = previous;
+        });
+    }
+    
+    // Fits from the product's first sample day, so the days before it are not read as zero demand
+    private int recommend(float[] demand, int rowOffset, int start, long firstDay, double z, double[] season, float[] fitted) {
+        double level = 0;
+        for (int t = start; t < start + SEASON; t++) {
+            level += demand[rowOffset + t];
+        }
+        level /= SEASON;
+        for (int t = start; t < start + SEASON; t++) {
+            season[(int) Math.floorMod(firstDay + t, SEASON)] = demand[rowOffset + t] - level;
+        }
+        
+        double squaredErrors = 0;
+        int errors = 0;
+        for (int t = start + SEASON; t < historyDays; t++) {
+            int slot = (int) Math.floorMod(firstDay + t, SEASON);
+            double observed = demand[rowOffset + t];
+            double error = observed - (level + season[slot]);
+            squaredErrors += error * error;
+            errors++;
+            double nextLevel = alpha * (observed - season[slot]) + (1 - alpha) * level;
+            season[slot] = gamma * (observed - nextLevel) + (1 - gamma) * season[slot];
+            level = nextLevel;
+        }
+        
+        double leadTimeDemand = 0;
+        long nextDay = firstDay + historyDays;
+        for (int h = 0; h < leadTimeDays; h++) {
+            leadTimeDemand += Math.max(0, level + season[(int) Math.floorMod(nextDay + h, SEASON)]);
+        }
+        double sigma = errors == 0 ? 0 : Math.sqrt(squaredErrors / errors);
+        fitted[0] = (float) Math.max(0, level);
+        fitted[1] = (float) sigma;
+        return (int) Math.ceil(leadTimeDemand + z * sigma * Math.sqrt(leadTimeDays));
+    }
+    
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+    
+    // Acklam's rational approximation of the standard normal quantile
+    static double inverseNormal(double p) {
+        if (p <= 0 || p >= 1) {
+            throw new RuntimeException("Service level must be between 0 and 1");
+        }
+        double[] a = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00 };
+        double[] b = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01 };
+        double[] c = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00 };
+        double[] d = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00 };
+        double low = 0.02425;
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+    
+    private class FitTask extends RecursiveAction {
+        
+        private final float[] demand;
+        private final int[] firstSampleDay;
+        private final int[] sampleCount;
+        private final int base;
+        private final int from;
+        private final int to;
+        private final long firstDay;
+        private final double z;
+        private final int[] recommended;
+        private final float[] dailyDemand;
+        private final float[] stdDev;
+        
+        FitTask(float[] demand, int[] firstSampleDay, int[] sampleCount, int base, int from, int to, long firstDay,
+                double z, int[] recommended, float[] dailyDemand, float[] stdDev) {
+            this.demand = demand;
+            this.firstSampleDay = firstSampleDay;
+            this.sampleCount = sampleCount;
+            this.base = base;
+            this.from = from;
+            this.to = to;
+            this.firstDay = firstDay;
+            this.z = z;
+            this.recommended = recommended;
+            this.dailyDemand = dailyDemand;
+            this.stdDev = stdDev;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                double[] season = new double[SEASON];
+                float[] fitted = new float[2];
+                for (int i = from; i < to; i++) {
+                    // Two full seasons of history are needed to fit both the level and the weekly pattern
+                    if (firstSampleDay[i] > historyDays - 2 * SEASON || sampleCount[i] < minSamples) {
+                        recommended[base + i] = UNSET;
+                        continue;
+                    }
+                    recommended[base + i] = recommend(demand, i * historyDays, firstSampleDay[i], firstDay, z, season, fitted);
+                    dailyDemand[base + i] = fitted[0];
+                    stdDev[base + i] = fitted[1];
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new FitTask(demand, firstSampleDay, sampleCount, base, from, mid, firstDay, z, recommended,
+                            dailyDemand, stdDev),
+                    new FitTask(demand, firstSampleDay, sampleCount, base, mid, to, firstDay, z, recommended,
+                            dailyDemand, stdDev));
+        }
+    }
+    
+    private static class ProductColumns {
+        
+        private long[] ids = new long[1024];
+        private int[] minimumStocks = new int[1024];
+        private int size;
+        
+        void add(long id, int minimumStock) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                minimumStocks = Arrays.copyOf(minimumStocks, size * 2);
+            }
+            ids[size] = id;
+            minimumStocks[size] = minimumStock;
+            size++;
+        }
+    }
+    
+    private static class ForecastRun {
+        
+        private final LocalDateTime computedAt;
+        private final long[] productIds;
+        private final int[] current;
+        private final int[] recommended;
+        private final float[] dailyDemand;
+        private final float[] stdDev;
+        private final int withHistory;
+        private final int changed;
+        private final long elapsedMillis;
+        
+        ForecastRun(LocalDateTime computedAt, long[] productIds, int[] current, int[] recommended, float[] dailyDemand,
+                    float[] stdDev, int withHistory, int changed, long elapsedMillis) {
+            this.computedAt = computedAt;
+            this.productIds = Arrays.copyOf(productIds, recommended.length);
+            this.current = Arrays.copyOf(current, recommended.length);
+            this.recommended = recommended;
+            this.dailyDemand = dailyDemand;
+            this.stdDev = stdDev;
+            this.withHistory = withHistory;
+            this.changed = changed;
+            this.elapsedMillis = elapsedMillis;
+        }
+        
+        Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("computedAt", computedAt);
+            summary.put("products", productIds.length);
+            summary.put("withHistory", withHistory);
+            summary.put("changed", changed);
+            summary.put("elapsedMillis", elapsedMillis);
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.dto.ProductLookupResult;
+import com.example.supply_manager.entity.Product;
+import com.example.supply_manager.repository.ProductRepository;
+import com.example.supply_manager.repository.ShardedProductStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+// Distinct keys are queried in chunked IN lists on a small pool, so a lookup never holds more than that many connections
+@Service
+public class ProductLookupService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+
+    @Autowired
+    private ProductSuggestionIndex productSuggestionIndex;
+
+    @Value("${supply.products.lookup.max-keys:5000}")
+    private int maxKeys;
+
+    @Value("${supply.products.lookup.chunk-size:500}")
+    private int chunkSize;
+
+    // Kept below the connection pool size so lookups cannot starve other requests
+    @Value("${supply.products.lookup.parallelism:4}")
+    private int parallelism;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newFixedThreadPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // The calling thread only waits on the chunks, so it should not hold a connection of its own
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductLookupResult lookup(List<Long> ids, List<String> codes) {
+        List<Long> requestedIds = ids != null ? ids : List.of();
+        List<String> requestedCodes = codes != null ? codes : List.of();
+        if (requestedIds.isEmpty() && requestedCodes.isEmpty()) {
+            throw new RuntimeException("At least one id or code is required");
+        }
+        if (requestedIds.size() + requestedCodes.size() > maxKeys) {
+            throw new RuntimeException("At most " + maxKeys + " ids and codes can be looked up per request");
+        }
+        // Not contains(null): immutable lists throw on a null argument
+        if (requestedIds.stream().anyMatch(Objects::isNull) || requestedCodes.stream().anyMatch(Objects::isNull)) {
+            throw new RuntimeException("Ids and codes must not be null");
+        }
+
+        List<CompletableFuture<List<Product>>> idChunks = submit(new ArrayList<>(new LinkedHashSet<>(requestedIds)), this::findByIds);
+        List<CompletableFuture<List<Product>>> codeChunks = submit(new ArrayList<>(new LinkedHashSet<>(requestedCodes)), this::findByCodes);
+
+        Map<Long, Product> byId = new HashMap<>();
+        for (Product product : join(idChunks)) {
+            byId.put(product.getId(), product);
+        }
+        Map<String, Product> byCode = new HashMap<>();
+        for (Product product : join(codeChunks)) {
+            byCode.put(product.getCode(), product);
+        }
+
+        List<ProductLookupResult.Entry> idEntries = new ArrayList<>(requestedIds.size());
+        for (Long id : requestedIds) {
+            idEntries.add(new ProductLookupResult.Entry(id, byId.get(id)));
+        }
+        List<ProductLookupResult.Entry> codeEntries = new ArrayList<>(requestedCodes.size());
+        for (String code : requestedCodes) {
+            codeEntries.add(new ProductLookupResult.Entry(code, byCode.get(code)));
+        }
+        byId.keySet().forEach(productSuggestionIndex::recordHit);
+        byCode.values().forEach(product -> productSuggestionIndex.recordHit(product.getId()));
+        return new ProductLookupResult(idEntries, codeEntries);
+    }
+
+    private List<Product> findByIds(List<Long> ids) {
+        if (shardedProductStore == null) {
+            return productRepository.findByIdIn(ids);
+        }
+        List<Product> products = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            shardedProductStore.findById(id).ifPresent(products::add);
+        }
+        return products;
+    }
+
+    private List<Product> findByCodes(List<String> codes) {
+        if (shardedProductStore == null) {
+            return productRepository.findByCodeIn(codes);
+        }
+        List<Product> products = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            shardedProductStore.findByCode(code).ifPresent(products::add);
+        }
+        return products;
+    }
+
+    private <K> List<CompletableFuture<List<Product>>> submit(List<K> keys, Function<List<K>, List<Product>> query) {
+        List<CompletableFuture<List<Product>>> futures = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += chunkSize) {
+            List<K> chunk = keys.subList(from, Math.min(from + chunkSize, keys.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(chunk), executor));
+        }
+        return futures;
+    }
+
+    private List<Product> join(List<CompletableFuture<List<Product>>> futures) {
+        List<Product> products = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<Product>> future : futures) {
+                products.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            throw new RuntimeException("Product lookup failed: " + e.getCause().getMessage());
+        }
+        return products;
+    }
+}
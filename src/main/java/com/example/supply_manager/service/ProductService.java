@@ -1,55 +1,216 @@
 package com.example.supply_manager.service;
 
+import com.example.supply_manager.audit.AuditTrail;
+import com.example.supply_manager.cache.InvalidationBus;
+import com.example.supply_manager.cache.SingleFlight;
+import com.example.supply_manager.dto.BulkPriceUpdateRequest;
+import com.example.supply_manager.dto.BulkPriceUpdateResult;
+import com.example.supply_manager.dto.ProductSuggestion;
+import com.example.supply_manager.dto.StockSample;
 import com.example.supply_manager.entity.Product;
+import com.example.supply_manager.repository.FieldSelection;
 import com.example.supply_manager.repository.ProductRepository;
+import com.example.supply_manager.repository.ProductSpecifications;
+import com.example.supply_manager.repository.ShardedProductStore;
+import com.example.supply_manager.repository.SparseFieldRepository;
+import com.example.supply_manager.timeseries.StockHistoryStore;
+import com.example.supply_manager.timeseries.StockSeries;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class ProductService {
     
+    // Associations are exposed as their ids so a sparse read never joins
+    private static final FieldSelection<Product> PRODUCT_FIELDS = FieldSelection.of(Product.class)
+            .field("id")
+            .field("code")
+            .field("name")
+            .field("description")
+            .field("price")
+            .field("quantity")
+            .field("minimumStock")
+            .field("categoryId", "category.id")
+            .field("supplierId", "supplier.id")
+            .field("createdAt")
+            .field("updatedAt");
+    
+    private final Object shardedNameClaims = new Object();
+    
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private ProductSuggestionIndex productSuggestionIndex;
+    
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+    
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    @Autowired
+    private AuditTrail auditTrail;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Autowired
+    private StockHistoryStore stockHistoryStore;
+    
+    @Autowired
+    private SparseFieldRepository sparseFieldRepository;
+    
+    @Transactional(readOnly = true)
     public List<Product> findAll() {
+        if (shardedProductStore != null) {
+            return shardedProductStore.findAll(0, Integer.MAX_VALUE);
+        }
         return productRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
+    public List<Product> findPage(int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new RuntimeException("Page must be non-negative and size must be positive");
+        }
+        if (shardedProductStore != null) {
+            return shardedProductStore.findAll(Math.multiplyExact(page, size), size);
+        }
+        return productRepository.findAll(PageRequest.of(page, size, Sort.by("id"))).getContent();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Product> findByFilter(Long categoryId, Long supplierId, BigDecimal minPrice, BigDecimal maxPrice, Boolean lowStock, Sort sort) {
+        if (shardedProductStore != null) {
+            return shardedProductStore.findByFilter(categoryId, supplierId, minPrice, maxPrice, lowStock, sort);
+        }
+        return productRepository.findAll(
+                ProductSpecifications.filter(categoryId, supplierId, minPrice, maxPrice, lowStock), sort);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFields(String fields, Long categoryId, Long supplierId, BigDecimal minPrice,
+                                                BigDecimal maxPrice, Boolean lowStock, Sort sort, Integer page, int size) {
+        requireFieldSelectionSupported();
+        if (page != null && (page < 0 || size <= 0)) {
+            throw new RuntimeException("Page must be non-negative and size must be positive");
+        }
+        return sparseFieldRepository.find(PRODUCT_FIELDS, fields,
+                ProductSpecifications.filter(categoryId, supplierId, minPrice, maxPrice, lowStock), sort,
+                page != null ? Math.multiplyExact(page, size) : null, page != null ? size : null);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findFieldsById(Long id, String fields) {
+        requireFieldSelectionSupported();
+        return sparseFieldRepository.find(PRODUCT_FIELDS, fields, ProductSpecifications.hasId(id), null, null, null)
+                .stream().findFirst();
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findFieldsByCode(String code, String fields) {
+        requireFieldSelectionSupported();
+        return sparseFieldRepository.find(PRODUCT_FIELDS, fields, ProductSpecifications.hasCode(code), null, null, null)
+                .stream().findFirst();
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<Product> findById(Long id) {
-        return productRepository.findById(id);
+        Optional<Product> product = shardedProductStore != null
+                ? shardedProductStore.findById(id)
+                : productRepository.findById(id);
+        product.ifPresent(p -> productSuggestionIndex.recordHit(p.getId()));
+        return product;
     }
     
+    @Transactional(readOnly = true)
     public Optional<Product> findByCode(String code) {
-        return productRepository.findByCode(code);
+        Optional<Product> product = shardedProductStore != null
+                ? shardedProductStore.findByCode(code)
+                : productRepository.findByCode(code);
+        product.ifPresent(p -> productSuggestionIndex.recordHit(p.getId()));
+        return product;
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        return productSuggestionIndex.suggest(prefix, limit);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Product> findByNameContaining(String name) {
+        if (shardedProductStore != null) {
+            return shardedProductStore.findByNameContaining(name);
+        }
         return productRepository.findByNameContainingIgnoreCase(name);
     }
     
+    @Transactional(readOnly = true)
     public List<Product> findByCategory(Long categoryId) {
+        if (shardedProductStore != null) {
+            return shardedProductStore.findByCategory(categoryId);
+        }
         return productRepository.findByCategoryId(categoryId);
     }
     
+    @Transactional(readOnly = true)
     public List<Product> findBySupplier(Long supplierId) {
+        if (shardedProductStore != null) {
+            return shardedProductStore.findBySupplier(supplierId);
+        }
         return productRepository.findBySupplierId(supplierId);
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Product> findLowStockProducts() {
-        return productRepository.findLowStockProducts();
+        return singleFlight.execute("product:low-stock", () -> shardedProductStore != null
+                ? shardedProductStore.findLowStock()
+                : productRepository.findLowStockProducts());
     }
     
+    @Transactional(readOnly = true)
     public List<Product> findLowStockProductsByCategory(Long categoryId) {
+        if (shardedProductStore != null) {
+            return shardedProductStore.findLowStockByCategory(categoryId);
+        }
         return productRepository.findLowStockProductsByCategory(categoryId);
     }
     
+    // Stock history lives outside the database, so this never needs a transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<StockSample> findStockHistory(Long id, long from, long to) {
+        if (from > to) {
+            throw new RuntimeException("Range start must not be after its end");
+        }
+        StockSeries series = stockHistoryStore.query(id, from, to);
+        List<StockSample> samples = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            samples.add(new StockSample(series.timestampAt(i), series.valueAt(i)));
+        }
+        return samples;
+    }
+    
     public Product save(Product product) {
+        if (shardedProductStore != null) {
+            return saveSharded(product);
+        }
+        
         if (product.getId() != null) {
             Optional<Product> existingProduct = productRepository.findById(product.getId());
             if (existingProduct.isPresent()) {
@@ -78,17 +239,108 @@ public class ProductService {
             throw new RuntimeException("Product quantity must be non-negative");
         }
         
-        return productRepository.save(product);
+        String action = product.getId() == null ? "CREATE" : "UPDATE";
+        Product saved = productRepository.save(product);
+        // The response is serialized after the transaction, so the associations must be loaded here
+        Hibernate.initialize(saved.getCategory());
+        Hibernate.initialize(saved.getSupplier());
+        auditTrail.record("product", saved.getId(), action);
+        TransactionHooks.afterCommit(() -> productSuggestionIndex.put(saved.getId(), saved.getCode(), saved.getName()));
+        invalidationBus.publish("product", saved.getId(), System.currentTimeMillis());
+        return saved;
     }
     
     public void deleteById(Long id) {
+        if (shardedProductStore != null) {
+            if (!shardedProductStore.deleteById(id)) {
+                throw new RuntimeException("Product not found");
+            }
+            productSuggestionIndex.remove(id);
+            auditTrail.record("product", id, "DELETE");
+            invalidationBus.publish("product", id, System.currentTimeMillis());
+            return;
+        }
         if (!productRepository.existsById(id)) {
             throw new RuntimeException("Product not found");
         }
         productRepository.deleteById(id);
+        TransactionHooks.afterCommit(() -> productSuggestionIndex.remove(id));
+        auditTrail.record("product", id, "DELETE");
+        invalidationBus.publish("product", id, System.currentTimeMillis());
+    }
+    
+    public BulkPriceUpdateResult bulkUpdatePrices(BulkPriceUpdateRequest request) {
+        if (shardedProductStore != null) {
+            throw new RuntimeException("Bulk pricing is not supported when sharding is enabled");
+        }
+        if (request.getMode() == null) {
+            throw new RuntimeException("Pricing mode is required");
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        int affected;
+        switch (request.getMode()) {
+            case PERCENTAGE:
+                if (request.getValue() == null || request.getValue().compareTo(BigDecimal.valueOf(-100)) <= 0) {
+                    throw new RuntimeException("Percentage must be greater than -100");
+                }
+                BigDecimal factor = BigDecimal.ONE.add(request.getValue().movePointLeft(2));
+                affected = productRepository.multiplyPrices(factor, request.getCategoryId(), request.getSupplierId(), now);
+                break;
+            case ABSOLUTE:
+                if (request.getValue() == null) {
+                    throw new RuntimeException("Price adjustment value is required");
+                }
+                affected = productRepository.addToPrices(request.getValue(), request.getCategoryId(), request.getSupplierId(), now);
+                break;
+            case PRICE_TABLE:
+                if (request.getPrices() == null || request.getPrices().isEmpty()) {
+                    throw new RuntimeException("Price table is required");
+                }
+                Map<String, BigDecimal> prices = new LinkedHashMap<>();
+                request.getPrices().forEach((code, price) -> {
+                    if (price == null || price.compareTo(BigDecimal.ZERO) < 0) {
+                        throw new RuntimeException("Product price must be positive: " + code);
+                    }
+                    prices.put(code, price.setScale(2, RoundingMode.HALF_UP));
+                });
+                affected = productRepository.setPricesByCode(prices, request.getCategoryId(), request.getSupplierId(), now);
+                break;
+            default:
+                throw new RuntimeException("Unsupported pricing mode: " + request.getMode());
+        }
+        
+        if (affected > 0) {
+            auditTrail.record("product", null, "BULK_PRICE_UPDATE");
+            invalidationBus.publish("product", null, System.currentTimeMillis());
+        }
+        return new BulkPriceUpdateResult(request.getMode(), affected);
+    }
+    
+    public int deleteChunk(List<Long> ids) {
+        if (shardedProductStore != null) {
+            throw new RuntimeException("Cascade delete is not supported when sharding is enabled");
+        }
+        int deleted = productRepository.deleteInBulkByIds(ids);
+        TransactionHooks.afterCommit(() -> ids.forEach(productSuggestionIndex::remove));
+        return deleted;
     }
     
     public Product updateStock(Long id, Integer quantity) {
+        if (shardedProductStore != null) {
+            if (quantity < 0) {
+                throw new RuntimeException("Quantity must be non-negative");
+            }
+            if (!shardedProductStore.setQuantity(id, quantity)) {
+                throw new RuntimeException("Product not found");
+            }
+            auditTrail.record("product", id, "STOCK_SET");
+            invalidationBus.publish("product", id, System.currentTimeMillis());
+            Product updated = findShardedProduct(id);
+            recordStockSample(id, updated.getQuantity());
+            return updated;
+        }
+        
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         
@@ -97,10 +349,27 @@ public class ProductService {
         }
         
         product.setQuantity(quantity);
+        auditTrail.record("product", id, "STOCK_SET");
+        invalidationBus.publish("product", id, System.currentTimeMillis());
+        recordStockSample(id, product.getQuantity());
         return productRepository.save(product);
     }
     
     public Product addStock(Long id, Integer quantityToAdd) {
+        if (shardedProductStore != null) {
+            if (quantityToAdd < 0) {
+                throw new RuntimeException("Quantity to add must be positive");
+            }
+            if (!shardedProductStore.adjustQuantity(id, quantityToAdd)) {
+                throw new RuntimeException("Product not found");
+            }
+            auditTrail.record("product", id, "STOCK_ADD");
+            invalidationBus.publish("product", id, System.currentTimeMillis());
+            Product updated = findShardedProduct(id);
+            recordStockSample(id, updated.getQuantity());
+            return updated;
+        }
+        
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         
@@ -109,10 +378,29 @@ public class ProductService {
         }
         
         product.setQuantity(product.getQuantity() + quantityToAdd);
+        auditTrail.record("product", id, "STOCK_ADD");
+        invalidationBus.publish("product", id, System.currentTimeMillis());
+        recordStockSample(id, product.getQuantity());
         return productRepository.save(product);
     }
     
     public Product removeStock(Long id, Integer quantityToRemove) {
+        if (shardedProductStore != null) {
+            if (quantityToRemove < 0) {
+                throw new RuntimeException("Quantity to remove must be positive");
+            }
+            if (!shardedProductStore.adjustQuantity(id, -quantityToRemove)) {
+                findShardedProduct(id);
+                throw new RuntimeException("Insufficient stock");
+            }
+            productSuggestionIndex.recordHit(id);
+            auditTrail.record("product", id, "STOCK_REMOVE");
+            invalidationBus.publish("product", id, System.currentTimeMillis());
+            Product updated = findShardedProduct(id);
+            recordStockSample(id, updated.getQuantity());
+            return updated;
+        }
+        
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         
@@ -125,6 +413,63 @@ public class ProductService {
         }
         
         product.setQuantity(product.getQuantity() - quantityToRemove);
+        productSuggestionIndex.recordHit(id);
+        auditTrail.record("product", id, "STOCK_REMOVE");
+        invalidationBus.publish("product", id, System.currentTimeMillis());
+        recordStockSample(id, product.getQuantity());
         return productRepository.save(product);
     }
+    
+    private Product saveSharded(Product product) {
+        if (product.getPrice() == null || product.getPrice().compareTo(BigDecimal.ZERO) < 0) {
+            throw new RuntimeException("Product price must be positive");
+        }
+        
+        if (product.getQuantity() == null || product.getQuantity() < 0) {
+            throw new RuntimeException("Product quantity must be non-negative");
+        }
+        
+        Product saved;
+        String action = product.getId() == null ? "CREATE" : "UPDATE";
+        // Names have no unique constraint across shards, so claims are serialized here; this only
+        // covers writers on this node
+        synchronized (shardedNameClaims) {
+            if (shardedProductStore.existsByNameAndIdNot(product.getName(), product.getId())) {
+                throw new RuntimeException("Product name already exists");
+            }
+            
+            if (product.getId() != null) {
+                Product existing = findShardedProduct(product.getId());
+                if (!existing.getCode().equals(product.getCode())) {
+                    throw new RuntimeException("Product code cannot be changed when sharding is enabled");
+                }
+                saved = shardedProductStore.update(product);
+            } else {
+                if (shardedProductStore.existsByCode(product.getCode())) {
+                    throw new RuntimeException("Product code already exists");
+                }
+                saved = shardedProductStore.insert(product);
+            }
+        }
+        productSuggestionIndex.put(saved.getId(), saved.getCode(), saved.getName());
+        auditTrail.record("product", saved.getId(), action);
+        invalidationBus.publish("product", saved.getId(), System.currentTimeMillis());
+        return saved;
+    }
+    
+    private void recordStockSample(Long id, int quantity) {
+        long timestamp = System.currentTimeMillis();
+        TransactionHooks.afterCommit(() -> stockHistoryStore.record(id, quantity, timestamp));
+    }
+    
+    private Product findShardedProduct(Long id) {
+        return shardedProductStore.findById(id)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+    }
+    
+    private void requireFieldSelectionSupported() {
+        if (shardedProductStore != null) {
+            throw new RuntimeException("Field selection is not supported when sharding is enabled");
+        }
+    }
 }
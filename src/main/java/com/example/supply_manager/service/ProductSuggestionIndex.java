@@ -0,0 +1,606 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.cache.InvalidationBus;
+import com.example.supply_manager.cache.InvalidationEvent;
+import com.example.supply_manager.cache.InvalidationListener;
+import com.example.supply_manager.dto.ProductSuggestion;
+import com.example.supply_manager.repository.ProductRepository;
+import com.example.supply_manager.repository.ShardedProductStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Radix trie over lower-cased codes and names; large subtrees cache a ranked top list so big prefixes skip the walk
+@Component
+public class ProductSuggestionIndex implements InvalidationListener {
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final int CACHE_THRESHOLD = 4 * MAX_LIMIT;
+
+    private static final char[] EMPTY_LABEL = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong((Entry e) -> e.score.get()).reversed()
+            .thenComparing(e -> e.code);
+
+    private static final Comparator<Scored> SNAPSHOT_RANKING = Comparator
+            .comparingLong(Scored::score).reversed()
+            .thenComparing(s -> s.entry().code);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Object rebuildMonitor = new Object();
+
+    private Node root = new Node(EMPTY_LABEL);
+
+    private Map<Long, Entry> entries = new HashMap<>();
+
+    // Ids put or removed while a rebuild is loading keys; their live state is newer than the loaded snapshot.
+    // The set itself is only read or modified under the write lock.
+    private volatile Set<Long> touchedDuringRebuild;
+
+    private volatile long rebuildAllocatedBytes = -1;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+
+    @Lazy
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            touchedDuringRebuild = new HashSet<>();
+            try {
+                List<ProductSuggestion> keys = shardedProductStore != null
+                        ? shardedProductStore.findAllSuggestionKeys()
+                        : productRepository.findAllSuggestionKeys();
+
+                lock.writeLock().lock();
+                try {
+                    long allocatedBefore = allocatedBytes();
+                    Node newRoot = new Node(EMPTY_LABEL);
+                    Map<Long, Entry> newEntries = new HashMap<>(keys.size() * 2);
+                    for (ProductSuggestion key : keys) {
+                        if (touchedDuringRebuild.contains(key.getId())) {
+                            continue;
+                        }
+                        Entry previous = entries.get(key.getId());
+                        Entry entry = new Entry(key.getId(), key.getCode(), key.getName());
+                        entry.score.set(previous != null ? previous.score.get() : 0);
+                        newEntries.put(entry.id, entry);
+                    }
+                    for (Long id : touchedDuringRebuild) {
+                        Entry live = entries.get(id);
+                        if (live != null) {
+                            newEntries.put(id, live);
+                        }
+                    }
+                    for (Entry entry : newEntries.values()) {
+                        for (String indexKey : entry.keys()) {
+                            insert(newRoot, indexKey, entry);
+                        }
+                    }
+                    root = newRoot;
+                    entries = newEntries;
+                    rebuildAllocatedBytes = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                touchedDuringRebuild = null;
+            }
+        }
+    }
+
+    // Local writes already updated the trie; only changes made on other nodes are reloaded
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (!"product".equals(event.getEntityType()) || invalidationBus.getNodeId().equals(event.getOriginNode())) {
+            return;
+        }
+        if (event.isBulk()) {
+            rebuild();
+            return;
+        }
+        Optional<ProductSuggestion> key = shardedProductStore != null
+                ? shardedProductStore.findById(event.getEntityId()).map(p -> new ProductSuggestion(p.getId(), p.getCode(), p.getName()))
+                : productRepository.findSuggestionKeyById(event.getEntityId());
+        if (key.isPresent()) {
+            put(key.get().getId(), key.get().getCode(), key.get().getName());
+        } else {
+            remove(event.getEntityId());
+        }
+    }
+
+    @Override
+    public void onInvalidateAll() {
+        rebuild();
+    }
+
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+            Entry[] ranked = node.top != null ? node.top : rank(collect(node));
+            List<ProductSuggestion> suggestions = new ArrayList<>(Math.min(max, ranked.length));
+            for (int i = 0; i < ranked.length && i < max; i++) {
+                Entry entry = ranked[i];
+                suggestions.add(new ProductSuggestion(entry.id, entry.code, entry.name, entry.score.get()));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Long id, String code, String name) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                if (entry.code.equals(code) && entry.name.equals(name)) {
+                    return;
+                }
+                for (String indexKey : entry.keys()) {
+                    remove(root, indexKey, entry);
+                }
+                entry.code = code;
+                entry.name = name;
+            } else {
+                entry = new Entry(id, code, name);
+                entries.put(id, entry);
+            }
+            for (String indexKey : entry.keys()) {
+                insert(root, indexKey, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            Entry entry = entries.remove(id);
+            if (entry != null) {
+                for (String indexKey : entry.keys()) {
+                    remove(root, indexKey, entry);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void recordHit(Long id) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                return;
+            }
+            entry.score.incrementAndGet();
+            if (!changesTopLists(entry)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                return;
+            }
+            for (String indexKey : entry.keys()) {
+                for (Node node : path(indexKey)) {
+                    if (node.top != null && changesTop(node.top, entry)) {
+                        offer(node, entry);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            long[] totals = new long[3];
+            measure(root, totals);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("products", entries.size());
+            stats.put("keys", root.size);
+            stats.put("nodes", totals[0]);
+            stats.put("cachedNodes", totals[1]);
+            stats.put("labelChars", totals[2]);
+            // Measured by the JVM's per-thread allocation counter around the last rebuild, -1 if unsupported
+            stats.put("rebuildAllocatedBytes", rebuildAllocatedBytes);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void markTouched(Long id) {
+        Set<Long> touched = touchedDuringRebuild;
+        if (touched != null) {
+            touched.add(id);
+        }
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean allocation && allocation.isThreadAllocatedMemoryEnabled()) {
+            return allocation.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common == key.length() - i) {
+                return child;
+            }
+            if (common < child.label.length) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    // Whether a hit moved the entry into, or up within, any cached top list on its paths
+    private boolean changesTopLists(Entry entry) {
+        for (String indexKey : entry.keys()) {
+            for (Node node : path(indexKey)) {
+                if (node.top != null && changesTop(node.top, entry)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean changesTop(Entry[] top, Entry entry) {
+        int index = indexOf(top, entry);
+        if (index >= 0) {
+            return index > 0 && RANKING.compare(entry, top[index - 1]) < 0;
+        }
+        return top.length < MAX_LIMIT || RANKING.compare(entry, top[top.length - 1]) < 0;
+    }
+
+    // Nodes from the root down to the node where the key ends, or an empty list if the key is absent
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length) {
+                return List.of();
+            }
+            node = child;
+            i += common;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private void insert(Node root, String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i).toCharArray());
+                node.addChild(child);
+                path.add(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length) {
+                Node middle = new Node(Arrays.copyOf(child.label, common));
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                middle.children = new Node[] { child };
+                middle.size = child.size;
+                middle.top = child.top;
+                node.replaceChild(child, middle);
+                child = middle;
+            }
+            node = child;
+            i += common;
+            path.add(node);
+        }
+
+        for (Entry existing : node.terminals) {
+            if (existing == entry) {
+                return;
+            }
+        }
+        node.terminals = append(node.terminals, entry);
+
+        for (int p = path.size() - 1; p >= 0; p--) {
+            Node current = path.get(p);
+            current.size++;
+            if (current.size <= CACHE_THRESHOLD) {
+                continue;
+            }
+            if (current.top == null) {
+                current.top = rank(candidates(current));
+            } else {
+                offer(current, entry);
+            }
+        }
+    }
+
+    private void remove(Node root, String key, Entry entry) {
+        List<Node> path = path(key);
+        if (path.isEmpty()) {
+            return;
+        }
+        Node end = path.get(path.size() - 1);
+        int index = indexOf(end.terminals, entry);
+        if (index < 0) {
+            return;
+        }
+        Entry[] terminals = new Entry[end.terminals.length - 1];
+        System.arraycopy(end.terminals, 0, terminals, 0, index);
+        System.arraycopy(end.terminals, index + 1, terminals, index, terminals.length - index);
+        end.terminals = terminals;
+
+        for (int p = path.size() - 1; p >= 0; p--) {
+            Node current = path.get(p);
+            current.size--;
+            if (current.size <= CACHE_THRESHOLD) {
+                current.top = null;
+            } else if (current.top != null && indexOf(current.top, entry) >= 0) {
+                current.top = rank(candidates(current));
+            }
+        }
+
+        for (int p = path.size() - 1; p > 0; p--) {
+            Node current = path.get(p);
+            Node parent = path.get(p - 1);
+            if (current.terminals.length == 0 && current.children.length == 0) {
+                parent.removeChild(current);
+            } else if (current.terminals.length == 0 && current.children.length == 1) {
+                Node only = current.children[0];
+                char[] merged = Arrays.copyOf(current.label, current.label.length + only.label.length);
+                System.arraycopy(only.label, 0, merged, current.label.length, only.label.length);
+                only.label = merged;
+                parent.replaceChild(current, only);
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void offer(Node node, Entry entry) {
+        Entry[] top = node.top;
+        Entry[] updated;
+        if (indexOf(top, entry) >= 0) {
+            updated = top.clone();
+        } else if (top.length < MAX_LIMIT) {
+            updated = append(top, entry);
+        } else if (RANKING.compare(entry, top[top.length - 1]) < 0) {
+            updated = top.clone();
+            updated[updated.length - 1] = entry;
+        } else {
+            return;
+        }
+        node.top = sorted(Arrays.asList(updated));
+    }
+
+    // Own terminals plus the best entries of each child; enough to rank the node's top list
+    private Set<Entry> candidates(Node node) {
+        Set<Entry> candidates = new LinkedHashSet<>();
+        candidates.addAll(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            if (child.top != null) {
+                candidates.addAll(Arrays.asList(child.top));
+            } else {
+                collectInto(child, candidates);
+            }
+        }
+        return candidates;
+    }
+
+    private Set<Entry> collect(Node node) {
+        Set<Entry> result = new LinkedHashSet<>();
+        collectInto(node, result);
+        return result;
+    }
+
+    private void collectInto(Node node, Set<Entry> result) {
+        result.addAll(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            collectInto(child, result);
+        }
+    }
+
+    private Entry[] rank(Set<Entry> candidates) {
+        Entry[] ranked = sorted(candidates);
+        return ranked.length > MAX_LIMIT ? Arrays.copyOf(ranked, MAX_LIMIT) : ranked;
+    }
+
+    // Scores move under concurrent hits, so sort on a snapshot to keep the comparator consistent
+    private static Entry[] sorted(Collection<Entry> candidates) {
+        Scored[] scored = new Scored[candidates.size()];
+        int i = 0;
+        for (Entry entry : candidates) {
+            scored[i++] = new Scored(entry, entry.score.get());
+        }
+        Arrays.sort(scored, SNAPSHOT_RANKING);
+        Entry[] result = new Entry[scored.length];
+        for (i = 0; i < scored.length; i++) {
+            result[i] = scored[i].entry();
+        }
+        return result;
+    }
+
+    private void measure(Node node, long[] totals) {
+        totals[0]++;
+        if (node.top != null) {
+            totals[1]++;
+        }
+        totals[2] += node.label.length;
+        for (Node child : node.children) {
+            measure(child, totals);
+        }
+    }
+
+    private static int commonPrefix(char[] label, String key, int offset) {
+        int max = Math.min(label.length, key.length() - offset);
+        int i = 0;
+        while (i < max && label[i] == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int indexOf(Entry[] array, Entry entry) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == entry) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Entry[] append(Entry[] array, Entry entry) {
+        Entry[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = entry;
+        return result;
+    }
+
+    private static final class Entry {
+
+        final long id;
+        String code;
+        String name;
+        final AtomicLong score = new AtomicLong();
+
+        Entry(long id, String code, String name) {
+            this.id = id;
+            this.code = code;
+            this.name = name;
+        }
+
+        List<String> keys() {
+            String codeKey = normalize(code);
+            String nameKey = normalize(name);
+            return codeKey.equals(nameKey) ? List.of(codeKey) : List.of(codeKey, nameKey);
+        }
+    }
+
+    private record Scored(Entry entry, long score) {
+    }
+
+    private static final class Node {
+
+        char[] label;
+        Node[] children = NO_CHILDREN;
+        Entry[] terminals = NO_ENTRIES;
+        Entry[] top;
+        int size;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            for (Node child : children) {
+                if (child.label[0] == first) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            Node[] updated = Arrays.copyOf(children, children.length + 1);
+            updated[children.length] = child;
+            children = updated;
+        }
+
+        void replaceChild(Node current, Node replacement) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == current) {
+                    children[i] = replacement;
+                    return;
+                }
+            }
+        }
+
+        void removeChild(Node child) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    Node[] updated = new Node[children.length - 1];
+                    System.arraycopy(children, 0, updated, 0, i);
+                    System.arraycopy(children, i + 1, updated, i, updated.length - i);
+                    children = updated;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.dto.LowStockItem;
+import com.example.supply_manager.dto.ReorderLine;
+import com.example.supply_manager.dto.SupplierOrderDraft;
+import com.example.supply_manager.repository.ProductRepository;
+import com.example.supply_manager.repository.ShardedProductStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Service
+public class ReplenishmentService {
+    
+    // Below this many order lines a task plans its suppliers sequentially instead of forking
+    private static final int SEQUENTIAL_THRESHOLD = 2048;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+    
+    @Value("${supply.replenishment.target-multiplier:2.0}")
+    private double targetMultiplier;
+    
+    @Value("${supply.replenishment.pack-size:1}")
+    private int packSize;
+    
+    public List<SupplierOrderDraft> planOrders() {
+        checkSupported();
+        List<List<LowStockItem>> groups = lowStockBySupplier();
+        Queue<SupplierOrderDraft> planned = new ConcurrentLinkedQueue<>();
+        ForkJoinPool.commonPool().invoke(new PlanTask(groups, 0, groups.size(), planned::add));
+        List<SupplierOrderDraft> orders = new ArrayList<>(planned);
+        orders.sort(Comparator.comparing(SupplierOrderDraft::getSupplierName));
+        return orders;
+    }
+    
+    // Hands each supplier's draft to the consumer on the calling thread as soon as its task finishes, so drafts
+    // arrive in completion order rather than by supplier name
+    public void planOrders(Consumer<SupplierOrderDraft> consumer) {
+        checkSupported();
+        List<List<LowStockItem>> groups = lowStockBySupplier();
+        BlockingQueue<SupplierOrderDraft> planned = new LinkedBlockingQueue<>();
+        ForkJoinTask<Void> task = ForkJoinPool.commonPool().submit(new PlanTask(groups, 0, groups.size(), planned::add));
+        try {
+            for (int i = 0; i < groups.size(); i++) {
+                SupplierOrderDraft order;
+                while ((order = planned.poll(100, TimeUnit.MILLISECONDS)) == null) {
+                    if (task.isCompletedAbnormally()) {
+                        throw new RuntimeException("Replenishment planning failed: " + task.getException().getMessage());
+                    }
+                }
+                consumer.accept(order);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Replenishment planning was interrupted");
+        } finally {
+            task.cancel(false);
+        }
+    }
+    
+    public void checkSupported() {
+        if (shardedProductStore != null) {
+            throw new RuntimeException("Replenishment planning is not supported when sharding is enabled");
+        }
+    }
+    
+    int computeReorderQuantity(int quantity, int minimumStock) {
+        int target = Math.max(minimumStock, (int) Math.ceil(minimumStock * targetMultiplier));
+        int needed = target - quantity;
+        if (needed <= 0) {
+            return 0;
+        }
+        int pack = Math.max(packSize, 1);
+        return ((needed + pack - 1) / pack) * pack;
+    }
+    
+    private List<List<LowStockItem>> lowStockBySupplier() {
+        Map<Long, List<LowStockItem>> bySupplier = new HashMap<>();
+        for (LowStockItem item : productRepository.findLowStockItems()) {
+            bySupplier.computeIfAbsent(item.getSupplierId(), id -> new ArrayList<>()).add(item);
+        }
+        return new ArrayList<>(bySupplier.values());
+    }
+    
+    private SupplierOrderDraft planSupplier(List<LowStockItem> items) {
+        List<ReorderLine> lines = new ArrayList<>(items.size());
+        for (LowStockItem item : items) {
+            int reorderQuantity = computeReorderQuantity(item.getQuantity(), item.getMinimumStock());
+            if (reorderQuantity > 0) {
+                lines.add(new ReorderLine(item.getProductId(), item.getCode(), item.getName(),
+                        item.getQuantity(), item.getMinimumStock(), reorderQuantity, item.getPrice()));
+            }
+        }
+        lines.sort(Comparator.comparing(ReorderLine::getCode));
+        LowStockItem first = items.get(0);
+        return new SupplierOrderDraft(first.getSupplierId(), first.getSupplierName(), lines);
+    }
+    
+    // The sink is called from pool threads, once per supplier as each draft is planned
+    private class PlanTask extends RecursiveAction {
+        
+        private final List<List<LowStockItem>> groups;
+        private final int from;
+        private final int to;
+        private final Consumer<SupplierOrderDraft> sink;
+        
+        PlanTask(List<List<LowStockItem>> groups, int from, int to, Consumer<SupplierOrderDraft> sink) {
+            this.groups = groups;
+            this.from = from;
+            this.to = to;
+            this.sink = sink;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= 1 || lineCount() <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    sink.accept(planSupplier(groups.get(i)));
+                }
+                return;
+            }
+            
+            int mid = (from + to) >>> 1;
+            invokeAll(new PlanTask(groups, from, mid, sink), new PlanTask(groups, mid, to, sink));
+        }
+        
+        private int lineCount() {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                count += groups.get(i).size();
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.dto.InventorySummary;
+import com.example.supply_manager.repository.ProductRepository;
+import com.example.supply_manager.repository.ShardedProductStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class ReportService {
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+    
+    public InventorySummary summarizeInventory() {
+        checkUnsharded();
+        return productRepository.summarizeInventory();
+    }
+    
+    public List<InventorySummary> summarizeInventory(String groupBy) {
+        checkUnsharded();
+        switch (groupBy.toLowerCase()) {
+            case "category":
+                return productRepository.summarizeInventoryByCategory();
+            case "supplier":
+                return productRepository.summarizeInventoryBySupplier();
+            case "both":
+                return productRepository.summarizeInventoryByCategoryAndSupplier();
+            default:
+                throw new RuntimeException("Invalid groupBy value: " + groupBy);
+        }
+    }
+    
+    // The aggregates run against the JPA products table, which is empty when products are sharded
+    private void checkUnsharded() {
+        if (shardedProductStore != null) {
+            throw new RuntimeException("Inventory reports are not supported when sharding is enabled");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.audit.AuditTrail;
+import com.example.supply_manager.cache.InvalidationBus;
+import com.example.supply_manager.repository.ShardedProductStore;
+import com.example.supply_manager.seed.CatalogSeeder;
+import com.example.supply_manager.seed.SeedResult;
+import com.example.supply_manager.seed.SeedSpec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+
+@Service
+public class SeedService {
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private ProductSuggestionIndex productSuggestionIndex;
+    
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    @Autowired
+    private AuditTrail auditTrail;
+    
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+    
+    // The seeder commits on its own connection, so caches are refreshed here rather than after a transaction
+    public synchronized SeedResult seed(SeedSpec spec) {
+        if (shardedProductStore != null) {
+            throw new RuntimeException("Seeding is not supported when sharding is enabled");
+        }
+        SeedResult result = new CatalogSeeder(dataSource).seed(spec);
+        productSuggestionIndex.rebuild();
+        auditTrail.record("product", null, "SEED");
+        long now = System.currentTimeMillis();
+        invalidationBus.publish("category", null, now);
+        invalidationBus.publish("supplier", null, now);
+        invalidationBus.publish("product", null, now);
+        return result;
+    }
+}
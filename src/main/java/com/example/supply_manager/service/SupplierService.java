@@ -1,45 +1,114 @@
 package com.example.supply_manager.service;
 
+import com.example.supply_manager.audit.AuditTrail;
+import com.example.supply_manager.cache.InvalidationBus;
+import com.example.supply_manager.cache.SingleFlight;
+import com.example.supply_manager.dto.SupplierStats;
 import com.example.supply_manager.entity.Supplier;
+import com.example.supply_manager.repository.FieldSelection;
+import com.example.supply_manager.repository.SparseFieldRepository;
 import com.example.supply_manager.repository.SupplierRepository;
+import com.example.supply_manager.repository.ProductRepository;
+import com.example.supply_manager.repository.ShardedProductStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class SupplierService {
     
+    private static final FieldSelection<Supplier> SUPPLIER_FIELDS = FieldSelection.of(Supplier.class)
+            .field("id")
+            .field("name")
+            .field("contact")
+            .field("email")
+            .field("phone")
+            .field("taxId")
+            .field("address")
+            .field("createdAt")
+            .field("updatedAt");
+    
     @Autowired
     private SupplierRepository supplierRepository;
     
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    @Autowired
+    private AuditTrail auditTrail;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CascadeDeleteService cascadeDeleteService;
+    
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+    
+    @Autowired
+    private SparseFieldRepository sparseFieldRepository;
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Supplier> findAll() {
-        return supplierRepository.findAll();
+        return singleFlight.execute("supplier:all", supplierRepository::findAll);
     }
     
+    @Transactional(readOnly = true)
+    public List<SupplierStats> findAllWithStats() {
+        if (shardedProductStore != null) {
+            throw new RuntimeException("Product statistics are not supported when sharding is enabled");
+        }
+        return supplierRepository.findAllWithStats();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFields(String fields) {
+        return sparseFieldRepository.find(SUPPLIER_FIELDS, fields, null, Sort.by("id"), null, null);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findFieldsById(Long id, String fields) {
+        return sparseFieldRepository.find(SUPPLIER_FIELDS, fields, (root, query, cb) -> cb.equal(root.get("id"), id), null, null, null)
+                .stream().findFirst();
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<Supplier> findById(Long id) {
         return supplierRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Supplier> findByName(String name) {
         return supplierRepository.findByName(name);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Supplier> findByTaxId(String taxId) {
         return supplierRepository.findByTaxId(taxId);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Supplier> findByEmail(String email) {
         return supplierRepository.findByEmail(email);
     }
     
+    @Transactional(readOnly = true)
     public List<Supplier> findByNameContaining(String name) {
         return supplierRepository.findByNameContainingIgnoreCase(name);
     }
     
+    @Transactional(readOnly = true)
     public List<Supplier> findByEmailContaining(String email) {
         return supplierRepository.findByEmailContainingIgnoreCase(email);
     }
@@ -71,13 +140,37 @@ public class SupplierService {
             }
         }
         
-        return supplierRepository.save(supplier);
+        String action = supplier.getId() == null ? "CREATE" : "UPDATE";
+        Supplier saved = supplierRepository.save(supplier);
+        auditTrail.record("supplier", saved.getId(), action);
+        invalidationBus.publish("supplier", saved.getId(), System.currentTimeMillis());
+        return saved;
     }
     
-    public void deleteById(Long id) {
+    // Returns the background job when the cascade is too large to run inline, otherwise null
+    public CascadeDeleteJob deleteById(Long id) {
         if (!supplierRepository.existsById(id)) {
             throw new RuntimeException("Supplier not found");
         }
-        supplierRepository.deleteById(id);
+        
+        long productCount = productRepository.countBySupplierId(id);
+        if (cascadeDeleteService.shouldRunAsync(productCount)) {
+            return cascadeDeleteService.submit("supplier", id, productCount,
+                    page -> productRepository.findIdsBySupplierId(id, page),
+                    () -> deleteSupplierRow(id, true));
+        }
+        
+        long deleted = cascadeDeleteService.deleteProducts(page -> productRepository.findIdsBySupplierId(id, page));
+        deleteSupplierRow(id, deleted > 0);
+        return null;
+    }
+    
+    private void deleteSupplierRow(Long id, boolean productsDeleted) {
+        supplierRepository.deleteInBulkById(id);
+        auditTrail.record("supplier", id, "DELETE");
+        invalidationBus.publish("supplier", id, System.currentTimeMillis());
+        if (productsDeleted) {
+            invalidationBus.publish("product", null, System.currentTimeMillis());
+        }
     }
 }
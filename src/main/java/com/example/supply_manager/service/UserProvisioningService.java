@@ -0,0 +1,213 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.audit.AuditTrail;
+import com.example.supply_manager.cache.InvalidationBus;
+import com.example.supply_manager.dto.BulkUserResult;
+import com.example.supply_manager.entity.Role;
+import com.example.supply_manager.entity.User;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Validates and hashes up front so the transaction only covers the batched inserts
+@Service
+public class UserProvisioningService {
+
+    // BCrypt is CPU bound, so more threads than cores would only add contention
+    private final ExecutorService hashExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Value("${supply.users.bulk.max-size:10000}")
+    private int maxSize;
+
+    @Value("${supply.users.bulk.batch-size:1000}")
+    private int batchSize;
+
+    public BulkUserResult createAll(List<User> users) {
+        if (users == null || users.isEmpty()) {
+            throw new RuntimeException("At least one user is required");
+        }
+        if (users.size() > maxSize) {
+            throw new RuntimeException("At most " + maxSize + " users can be created per request");
+        }
+        validate(users);
+        checkNotTaken(users);
+
+        long hashStart = System.nanoTime();
+        List<String> encodedPasswords = hashPasswords(users);
+        long hashMillis = (System.nanoTime() - hashStart) / 1_000_000;
+
+        long insertStart = System.nanoTime();
+        List<Long> ids = transactionTemplate.execute(status -> insert(users, encodedPasswords));
+        long insertMillis = (System.nanoTime() - insertStart) / 1_000_000;
+        return new BulkUserResult(ids, hashMillis, insertMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    private void validate(List<User> users) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (user == null || isBlank(user.getUsername())) {
+                throw new RuntimeException("User " + i + ": username is required");
+            }
+            if (isBlank(user.getEmail())) {
+                throw new RuntimeException("User " + i + ": email is required");
+            }
+            if (isBlank(user.getPassword())) {
+                throw new RuntimeException("User " + i + ": password is required");
+            }
+            if (!usernames.add(user.getUsername())) {
+                throw new RuntimeException("Username appears more than once in the batch: " + user.getUsername());
+            }
+            if (!emails.add(user.getEmail())) {
+                throw new RuntimeException("Email appears more than once in the batch: " + user.getEmail());
+            }
+        }
+    }
+
+    // One round trip for the whole batch; the unique constraints still catch anything inserted after this check
+    private void checkNotTaken(List<User> users) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usernames", users.stream().map(User::getUsername).toList())
+                .addValue("emails", users.stream().map(User::getEmail).toList());
+        List<Map<String, Object>> taken = namedParameterJdbcTemplate.queryForList(
+                "SELECT username, email FROM users WHERE username IN (:usernames) OR email IN (:emails)", params);
+        if (taken.isEmpty()) {
+            return;
+        }
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Map<String, Object> row : taken) {
+            usernames.add((String) row.get("username"));
+            emails.add((String) row.get("email"));
+        }
+        for (User user : users) {
+            if (usernames.contains(user.getUsername())) {
+                throw new RuntimeException("Username already exists: " + user.getUsername());
+            }
+            if (emails.contains(user.getEmail())) {
+                throw new RuntimeException("Email already exists: " + user.getEmail());
+            }
+        }
+    }
+
+    private List<String> hashPasswords(List<User> users) {
+        List<Callable<String>> tasks = new ArrayList<>(users.size());
+        for (User user : users) {
+            String rawPassword = user.getPassword();
+            tasks.add(() -> passwordEncoder.encode(rawPassword));
+        }
+        List<String> encoded = new ArrayList<>(users.size());
+        try {
+            for (Future<String> future : hashExecutor.invokeAll(tasks)) {
+                encoded.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed: " + e.getCause().getMessage());
+        }
+        return encoded;
+    }
+
+    private List<Long> insert(List<User> users, List<String> encodedPasswords) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = new ArrayList<>(users.size());
+        for (int from = 0; from < users.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, users.size());
+            SqlParameterSource[] batch = new SqlParameterSource[to - from];
+            for (int i = from; i < to; i++) {
+                User user = users.get(i);
+                batch[i - from] = new MapSqlParameterSource()
+                        .addValue("username", user.getUsername())
+                        .addValue("password", encodedPasswords.get(i))
+                        .addValue("email", user.getEmail())
+                        .addValue("fullName", user.getFullName())
+                        .addValue("isActive", user.getIsActive() == null || user.getIsActive())
+                        .addValue("roleMask", Role.toMask(rolesOf(user)))
+                        .addValue("now", now);
+            }
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            namedParameterJdbcTemplate.batchUpdate(
+                    "INSERT INTO users (username, password, email, full_name, is_active, role_mask, created_at, updated_at) " +
+                    "VALUES (:username, :password, :email, :fullName, :isActive, :roleMask, :now, :now)",
+                    batch, keyHolder, new String[] { "id" });
+            for (Map<String, Object> keys : keyHolder.getKeyList()) {
+                ids.add(((Number) keys.get("id")).longValue());
+            }
+        }
+
+        // user_roles is only kept for compatibility; role_mask above is what the application reads
+        List<Object[]> roleRows = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            for (Role role : rolesOf(users.get(i))) {
+                roleRows.add(new Object[] { ids.get(i), role.name() });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role) VALUES (?, ?)", roleRows, batchSize,
+                (ps, row) -> {
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setString(2, (String) row[1]);
+                });
+
+        for (Long id : ids) {
+            auditTrail.record("user", id, "CREATE");
+        }
+        invalidationBus.publish("user", null, System.currentTimeMillis());
+        return ids;
+    }
+
+    private static Set<Role> rolesOf(User user) {
+        return user.getRoles() == null || user.getRoles().isEmpty() ? Set.of(Role.USER) : user.getRoles();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,18 +1,33 @@
 package com.example.supply_manager.service;
 
 import com.example.supply_manager.entity.Role;
+import com.example.supply_manager.audit.AuditTrail;
+import com.example.supply_manager.cache.InvalidationBus;
 import com.example.supply_manager.entity.User;
+import com.example.supply_manager.repository.FieldSelection;
+import com.example.supply_manager.repository.SparseFieldRepository;
 import com.example.supply_manager.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -21,29 +36,83 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserService implements UserDetailsService {
     
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+    
+    // The password hash is deliberately not selectable
+    private static final FieldSelection<User> USER_FIELDS = FieldSelection.of(User.class)
+            .field("id")
+            .field("username")
+            .field("email")
+            .field("fullName")
+            .field("isActive")
+            .field("roles", "roleMask", mask -> Role.fromMask((Integer) mask))
+            .field("createdAt")
+            .field("updatedAt");
+    
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    @Autowired
+    private AuditTrail auditTrail;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private SparseFieldRepository sparseFieldRepository;
+    
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return userRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFields(String fields) {
+        return sparseFieldRepository.find(USER_FIELDS, fields, null, Sort.by("id"), null, null);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findFieldsById(Long id, String fields) {
+        return sparseFieldRepository.find(USER_FIELDS, fields, (root, query, cb) -> cb.equal(root.get("id"), id), null, null, null)
+                .stream().findFirst();
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
     
+    // BCrypt is deliberately slow, so the password is hashed before a connection is taken from the pool
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User save(User user) {
+        boolean hasPassword = user.getPassword() != null && !user.getPassword().isEmpty();
+        if (user.getId() == null && !hasPassword) {
+            throw new RuntimeException("Password is required");
+        }
+        String encodedPassword = hasPassword ? passwordEncoder.encode(user.getPassword()) : null;
+        return transactionTemplate.execute(status -> persist(user, encodedPassword));
+    }
+    
+    private User persist(User user, String encodedPassword) {
         if (user.getId() != null) {
             Optional<User> existingUser = userRepository.findById(user.getId());
             if (existingUser.isPresent()) {
@@ -54,11 +123,9 @@ public class UserService implements UserDetailsService {
                 if (!existing.getEmail().equals(user.getEmail()) && userRepository.existsByEmail(user.getEmail())) {
                     throw new RuntimeException("Email already exists");
                 }
-                if (user.getPassword() != null && !user.getPassword().isEmpty()) {
-                    user.setPassword(passwordEncoder.encode(user.getPassword()));
-                } else {
-                    user.setPassword(existing.getPassword());
-                }
+                user.setPassword(encodedPassword != null ? encodedPassword : existing.getPassword());
+            } else {
+                user.setPassword(encodedPassword);
             }
         } else {
             if (userRepository.existsByUsername(user.getUsername())) {
@@ -67,17 +134,18 @@ public class UserService implements UserDetailsService {
             if (userRepository.existsByEmail(user.getEmail())) {
                 throw new RuntimeException("Email already exists");
             }
-            if (user.getPassword() == null || user.getPassword().isEmpty()) {
-                throw new RuntimeException("Password is required");
-            }
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            user.setPassword(encodedPassword);
             
             if (user.getRoles() == null || user.getRoles().isEmpty()) {
                 user.setRoles(Set.of(Role.USER));
             }
         }
         
-        return userRepository.save(user);
+        String action = user.getId() == null ? "CREATE" : "UPDATE";
+        User saved = userRepository.save(user);
+        auditTrail.record("user", saved.getId(), action);
+        invalidationBus.publish("user", saved.getId(), System.currentTimeMillis());
+        return saved;
     }
     
     public void deleteById(Long id) {
@@ -85,8 +153,11 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("User not found");
         }
         userRepository.deleteById(id);
+        auditTrail.record("user", id, "DELETE");
+        invalidationBus.publish("user", id, System.currentTimeMillis());
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User createDefaultAdmin() {
         if (!userRepository.existsByUsername("admin")) {
             User admin = new User();
@@ -100,7 +171,25 @@ public class UserService implements UserDetailsService {
         return null;
     }
     
+    // Users written before role_mask existed only have user_roles rows; fold those into the mask once
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRoleMasks() {
+        Map<Long, Integer> masks = new HashMap<>();
+        jdbcTemplate.query("SELECT ur.user_id, ur.role FROM user_roles ur JOIN users u ON u.id = ur.user_id WHERE u.role_mask = 0",
+                rs -> {
+                    masks.merge(rs.getLong("user_id"), Role.valueOf(rs.getString("role")).bit(), (a, b) -> a | b);
+                });
+        if (masks.isEmpty()) {
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>(masks.size());
+        masks.forEach((userId, mask) -> updates.add(new Object[] { mask, userId }));
+        jdbcTemplate.batchUpdate("UPDATE users SET role_mask = ? WHERE id = ? AND role_mask = 0", updates);
+        log.info("Backfilled role_mask for {} users", masks.size());
+    }
+    
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
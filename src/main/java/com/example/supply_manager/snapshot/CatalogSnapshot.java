@@ -0,0 +1,279 @@
+package com.example.supply_manager.snapshot;
+
+import com.example.supply_manager.dto.CatalogEntry;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Read-only catalog image: header, fixed-width records sorted by code and a string pool, binary-searched in the mapping
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x43415431;
+
+    private static final int HEADER_BYTES = 4 + 8 + 4;
+
+    // productId, price (unscaled, scale 2), categoryId, then offset/length pairs for code, name and category name
+    private static final int RECORD_BYTES = 8 + 8 + 8 + 4 + 4 + 4 + 4 + 4 + 4;
+
+    private static final int PRICE_SCALE = 2;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long builtAt;
+    private final int count;
+
+    private CatalogSnapshot(Path path, MappedByteBuffer buffer, long builtAt, int count) {
+        this.path = path;
+        this.buffer = buffer;
+        this.builtAt = builtAt;
+        this.count = count;
+    }
+
+    // Rows in any order; written aside and moved over the target so readers never see a partial snapshot
+    static CatalogSnapshot write(Path target, long builtAt, List<CatalogRow> rows) throws IOException {
+        CatalogRow[] sorted = rows.toArray(new CatalogRow[0]);
+        Arrays.sort(sorted, (a, b) -> a.code.compareTo(b.code));
+        int count = sorted.length;
+
+        // Codes are stored as UTF-16 so the lookup can compare them against a String char by char
+        Map<String, int[]> pooledCategoryNames = new HashMap<>();
+        ByteBuffer records = ByteBuffer.allocate(count * RECORD_BYTES);
+        PoolWriter pool = new PoolWriter(HEADER_BYTES + (long) count * RECORD_BYTES);
+        for (CatalogRow row : sorted) {
+            int codeOffset = pool.putChars(row.code);
+            byte[] name = row.name.getBytes(StandardCharsets.UTF_8);
+            int nameOffset = pool.putBytes(name);
+            int[] categoryName = row.categoryName == null ? new int[] { 0, -1 }
+                    : pooledCategoryNames.computeIfAbsent(row.categoryName, value -> {
+                        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                        return new int[] { pool.putBytes(bytes), bytes.length };
+                    });
+            records.putLong(row.productId).putLong(row.priceUnscaled).putLong(row.categoryId)
+                    .putInt(codeOffset).putInt(row.code.length())
+                    .putInt(nameOffset).putInt(name.length)
+                    .putInt(categoryName[0]).putInt(categoryName[1]);
+        }
+        records.flip();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putLong(builtAt).putInt(count);
+        header.flip();
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            writeFully(channel, records);
+            writeFully(channel, pool.toBuffer());
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(target);
+    }
+
+    static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected catalog snapshot size " + size + ": " + path);
+            }
+            // The mapping outlives the channel; it is released when the buffer is collected
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            long builtAt = buffer.getLong(4);
+            int count = buffer.getInt(12);
+            if (HEADER_BYTES + (long) count * RECORD_BYTES > size) {
+                throw new IOException("Truncated catalog snapshot: " + path);
+            }
+            return new CatalogSnapshot(path, buffer, builtAt, count);
+        }
+    }
+
+    // Record index for the code, or -1; absolute reads only, so concurrent lookups can share the buffer
+    public int indexOf(CharSequence code) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareCode(mid, code);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public long productId(int index) {
+        return buffer.getLong(record(index));
+    }
+
+    public long priceUnscaled(int index) {
+        return buffer.getLong(record(index) + 8);
+    }
+
+    public long categoryId(int index) {
+        return buffer.getLong(record(index) + 16);
+    }
+
+    public String code(int index) {
+        int record = record(index);
+        int offset = buffer.getInt(record + 24);
+        char[] chars = new char[buffer.getInt(record + 28)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = buffer.getChar(offset + 2 * i);
+        }
+        return new String(chars);
+    }
+
+    public String name(int index) {
+        int record = record(index);
+        return readString(buffer.getInt(record + 32), buffer.getInt(record + 36));
+    }
+
+    public String categoryName(int index) {
+        int record = record(index);
+        return readString(buffer.getInt(record + 40), buffer.getInt(record + 44));
+    }
+
+    public CatalogEntry entry(int index) {
+        return new CatalogEntry(productId(index), code(index), name(index),
+                BigDecimal.valueOf(priceUnscaled(index), PRICE_SCALE), categoryId(index), categoryName(index));
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getSizeBytes() {
+        return buffer.capacity();
+    }
+
+    private int record(int index) {
+        return HEADER_BYTES + index * RECORD_BYTES;
+    }
+
+    // Same ordering as String.compareTo, which is what the writer sorted by
+    private int compareCode(int index, CharSequence code) {
+        int record = record(index);
+        int offset = buffer.getInt(record + 24);
+        int length = buffer.getInt(record + 28);
+        int common = Math.min(length, code.length());
+        for (int i = 0; i < common; i++) {
+            int diff = buffer.getChar(offset + 2 * i) - code.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - code.length();
+    }
+
+    private String readString(int offset, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // One product as read from the database, before it is laid out in the file
+    static final class CatalogRow {
+
+        final long productId;
+        final String code;
+        final String name;
+        final long priceUnscaled;
+        final long categoryId;
+        final String categoryName;
+
+        CatalogRow(long productId, String code, String name, BigDecimal price, long categoryId, String categoryName) {
+            this.productId = productId;
+            this.code = code;
+            this.name = name;
+            this.priceUnscaled = price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+        }
+    }
+
+    // Grows a heap buffer for the string pool; offsets it hands out are absolute file positions
+    private static final class PoolWriter {
+
+        private final long base;
+        private ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+        PoolWriter(long base) {
+            this.base = base;
+        }
+
+        int putChars(String value) {
+            ensure(value.length() * 2);
+            int offset = position();
+            for (int i = 0; i < value.length(); i++) {
+                buffer.putChar(value.charAt(i));
+            }
+            return offset;
+        }
+
+        int putBytes(byte[] value) {
+            ensure(value.length);
+            int offset = position();
+            buffer.put(value);
+            return offset;
+        }
+
+        ByteBuffer toBuffer() {
+            return buffer.flip();
+        }
+
+        private int position() {
+            long position = base + buffer.position();
+            if (position > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Catalog snapshot exceeds 2 GB");
+            }
+            return (int) position;
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+        }
+    }
+}
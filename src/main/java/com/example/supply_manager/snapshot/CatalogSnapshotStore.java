@@ -0,0 +1,135 @@
+package com.example.supply_manager.snapshot;
+
+import com.example.supply_manager.repository.ShardedProductStore;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Code lookups from a memory-mapped snapshot; rebuilds swap in a new file, readers keep the one they started with
+@Component
+public class CatalogSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotStore.class);
+
+    private static final String FILE_NAME = "catalog.snap";
+
+    @Value("${supply.catalog-snapshot.directory:data/catalog-snapshot}")
+    private String directory;
+
+    @Value("${supply.catalog-snapshot.interval:60000}")
+    private long intervalMillis;
+
+    // Snapshots older than this are not served, so a stuck builder shows up as errors rather than stale prices
+    @Value("${supply.catalog-snapshot.max-age:300000}")
+    private long maxAgeMillis;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private ShardedProductStore shardedProductStore;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong failedBuilds = new AtomicLong();
+    private final AtomicLong lastBuildMillis = new AtomicLong();
+    private final AtomicLong maxBuildMillis = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private Path file;
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path root = Paths.get(directory);
+        Files.createDirectories(root);
+        file = root.resolve(FILE_NAME);
+        if (Files.exists(file)) {
+            try {
+                current.set(CatalogSnapshot.open(file));
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable catalog snapshot {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${supply.catalog-snapshot.interval:60000}")
+    public void rebuild() {
+        if (shardedProductStore != null) {
+            return;
+        }
+        // Taken before the read, so the reported age never understates how old the data is
+        long start = System.currentTimeMillis();
+        try {
+            List<CatalogSnapshot.CatalogRow> rows = new ArrayList<>();
+            jdbcTemplate.query("SELECT p.id, p.code, p.name, p.price, p.category_id, c.name AS category_name " +
+                    "FROM products p LEFT JOIN categories c ON c.id = p.category_id", rs -> {
+                        rows.add(new CatalogSnapshot.CatalogRow(rs.getLong("id"), rs.getString("code"), rs.getString("name"),
+                                rs.getBigDecimal("price"), rs.getLong("category_id"), rs.getString("category_name")));
+                    });
+            current.set(CatalogSnapshot.write(file, start, rows));
+            builds.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            failedBuilds.incrementAndGet();
+            log.warn("Catalog snapshot rebuild failed: {}", e.getMessage());
+        } finally {
+            long elapsed = System.currentTimeMillis() - start;
+            lastBuildMillis.set(elapsed);
+            maxBuildMillis.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    // Null when there is no snapshot yet or it is older than the configured maximum age
+    public CatalogSnapshot current() {
+        CatalogSnapshot snapshot = current.get();
+        if (snapshot == null || ageMillis(snapshot) > maxAgeMillis) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    public void recordLookup(boolean hit) {
+        (hit ? hits : misses).increment();
+    }
+
+    public long ageMillis(CatalogSnapshot snapshot) {
+        return System.currentTimeMillis() - snapshot.getBuiltAt();
+    }
+
+    public Map<String, Object> stats() {
+        CatalogSnapshot snapshot = current.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("available", current() != null);
+        stats.put("records", snapshot != null ? snapshot.getCount() : 0);
+        stats.put("mappedBytes", snapshot != null ? snapshot.getSizeBytes() : 0);
+        stats.put("ageMillis", snapshot != null ? ageMillis(snapshot) : null);
+        // Worst case between rebuilds: a full interval plus the slowest build seen so far
+        stats.put("stalenessBoundMillis", intervalMillis + maxBuildMillis.get());
+        stats.put("maxAgeMillis", maxAgeMillis);
+        stats.put("builds", builds.get());
+        stats.put("failedBuilds", failedBuilds.get());
+        stats.put("lastBuildMillis", lastBuildMillis.get());
+        stats.put("maxBuildMillis", maxBuildMillis.get());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.supply_manager.timeseries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// One sealed window on disk: header, index sorted by product id, one deflated segment per product read on demand
+final class SealedBlock {
+
+    private static final int MAGIC = 0x53545331;
+
+    private static final int HEADER_BYTES = 4 + 8 + 8 + 4;
+
+    private static final int ENTRY_BYTES = 8 + 8 + 4 + 4 + 4;
+
+    private final Path path;
+    private final long windowStart;
+    private final long windowEnd;
+    private final long[] productIds;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final int[] rawLengths;
+    private final int[] sampleCounts;
+    private final long sizeBytes;
+    private final long samples;
+
+    private SealedBlock(Path path, long windowStart, long windowEnd, long[] productIds, long[] offsets,
+                        int[] lengths, int[] rawLengths, int[] sampleCounts, long sizeBytes) {
+        this.path = path;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.productIds = productIds;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.rawLengths = rawLengths;
+        this.sampleCounts = sampleCounts;
+        this.sizeBytes = sizeBytes;
+        long total = 0;
+        for (int count : sampleCounts) {
+            total += count;
+        }
+        this.samples = total;
+    }
+
+    static SealedBlock write(Path directory, long windowStart, long windowEnd, Map<Long, StockSeries> series) throws IOException {
+        return write(directory, windowStart + "-" + System.nanoTime(), windowStart, windowEnd, series);
+    }
+
+    // The id names the file, so a block can be matched to the write-ahead log it was sealed from
+    static SealedBlock write(Path directory, String id, long windowStart, long windowEnd, Map<Long, StockSeries> series) throws IOException {
+        int count = series.size();
+        long[] productIds = new long[count];
+        int i = 0;
+        for (Long productId : series.keySet()) {
+            productIds[i++] = productId;
+        }
+        Arrays.sort(productIds);
+
+        byte[][] segments = new byte[count][];
+        long[] offsets = new long[count];
+        int[] lengths = new int[count];
+        int[] rawLengths = new int[count];
+        int[] sampleCounts = new int[count];
+        long offset = HEADER_BYTES + (long) count * ENTRY_BYTES;
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            for (i = 0; i < count; i++) {
+                StockSeries productSeries = series.get(productIds[i]);
+                productSeries.sortByTime();
+                byte[] raw = StockSeriesCodec.encode(productSeries, windowStart);
+                byte[] compressed = deflate(deflater, raw);
+                segments[i] = compressed.length < raw.length ? compressed : raw;
+                offsets[i] = offset;
+                lengths[i] = segments[i].length;
+                rawLengths[i] = raw.length;
+                sampleCounts[i] = productSeries.size();
+                offset += lengths[i];
+            }
+        } finally {
+            deflater.end();
+        }
+
+        ByteBuffer index = ByteBuffer.allocate(HEADER_BYTES + count * ENTRY_BYTES);
+        index.putInt(MAGIC).putLong(windowStart).putLong(windowEnd).putInt(count);
+        for (i = 0; i < count; i++) {
+            index.putLong(productIds[i]).putLong(offsets[i]).putInt(lengths[i]).putInt(rawLengths[i]).putInt(sampleCounts[i]);
+        }
+        index.flip();
+
+        Path target = directory.resolve("block-" + id + ".sts");
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, index);
+            for (byte[] segment : segments) {
+                writeFully(channel, ByteBuffer.wrap(segment));
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return new SealedBlock(target, windowStart, windowEnd, productIds, offsets, lengths, rawLengths, sampleCounts, offset);
+    }
+
+    static SealedBlock open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a stock history block: " + path);
+            }
+            long windowStart = header.getLong();
+            long windowEnd = header.getLong();
+            int count = header.getInt();
+            ByteBuffer index = readFully(channel, HEADER_BYTES, count * ENTRY_BYTES);
+            long[] productIds = new long[count];
+            long[] offsets = new long[count];
+            int[] lengths = new int[count];
+            int[] rawLengths = new int[count];
+            int[] sampleCounts = new int[count];
+            for (int i = 0; i < count; i++) {
+                productIds[i] = index.getLong();
+                offsets[i] = index.getLong();
+                lengths[i] = index.getInt();
+                rawLengths[i] = index.getInt();
+                sampleCounts[i] = index.getInt();
+            }
+            return new SealedBlock(path, windowStart, windowEnd, productIds, offsets, lengths, rawLengths,
+                    sampleCounts, channel.size());
+        }
+    }
+
+    boolean overlaps(long from, long to) {
+        return windowStart <= to && windowEnd > from;
+    }
+
+    // Returns null when the product has no samples in this block
+    StockSeries read(long productId) throws IOException {
+        int i = Arrays.binarySearch(productIds, productId);
+        if (i < 0) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return decodeSegment(channel, i);
+        }
+    }
+
+    // Decodes the segments of every product whose id lies in [fromId, toId]
+    void forEach(long fromId, long toId, StockSeriesVisitor visitor) throws IOException {
+        int i = Arrays.binarySearch(productIds, fromId);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        if (i >= productIds.length || productIds[i] > toId) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (; i < productIds.length && productIds[i] <= toId; i++) {
+                visitor.visit(productIds[i], decodeSegment(channel, i));
+            }
+        }
+    }
+
+    String getId() {
+        String name = path.getFileName().toString();
+        return name.substring("block-".length(), name.length() - ".sts".length());
+    }
+
+    long getWindowStart() {
+        return windowStart;
+    }
+
+    long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    long getSamples() {
+        return samples;
+    }
+
+    private StockSeries decodeSegment(FileChannel channel, int i) throws IOException {
+        ByteBuffer segment = readFully(channel, offsets[i], lengths[i]);
+        byte[] raw = segment.array();
+        if (lengths[i] != rawLengths[i]) {
+            raw = inflate(raw, rawLengths[i]);
+        }
+        return StockSeriesCodec.decode(raw, windowStart);
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] buffer = new byte[raw.length + 64];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, length, rawLength - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != rawLength) {
+                throw new IOException("Truncated stock history segment");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt stock history segment", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of stock history block");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.supply_manager.timeseries;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Quantity history per product; open windows are in memory behind a write-ahead log, ended ones are sealed to files
+@Component
+public class StockHistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(StockHistoryStore.class);
+
+    @Value("${supply.stock-history.directory:data/stock-history}")
+    private String directory;
+
+    @Value("${supply.stock-history.block-duration:86400000}")
+    private long blockMillis;
+
+    private final AtomicLong walFailures = new AtomicLong();
+
+    private final Map<Long, OpenBlock> openBlocks = new ConcurrentHashMap<>();
+
+    private final List<SealedBlock> sealedBlocks = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong recorded = new AtomicLong();
+
+    private Path root;
+
+    @PostConstruct
+    public void open() throws IOException {
+        root = Paths.get(directory);
+        Files.createDirectories(root);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, "block-*.sts")) {
+            for (Path file : files) {
+                try {
+                    sealedBlocks.add(SealedBlock.open(file));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable stock history block {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        long replayed = replayLogs();
+        log.info("Loaded {} stock history blocks and {} logged samples from {}", sealedBlocks.size(), replayed,
+                root.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void close() {
+        for (OpenBlock block : new ArrayList<>(openBlocks.values())) {
+            seal(block);
+        }
+    }
+
+    public void record(Long productId, int quantity, long timestamp) {
+        long windowStart = Math.floorDiv(timestamp, blockMillis) * blockMillis;
+        while (!openBlocks.computeIfAbsent(windowStart, this::openBlock).append(productId, timestamp, quantity)) {
+            Thread.onSpinWait();
+        }
+        recorded.incrementAndGet();
+    }
+
+    // Decodes only the blocks whose window overlaps [from, to], oldest window first
+    public StockSeries query(Long productId, long from, long to) {
+        List<OpenBlock> open = openOverlapping(from, to);
+        List<SealedBlock> blocks = sealedOverlapping(from, to);
+        Set<String> sealedIds = new HashSet<>();
+        StockSeries result = new StockSeries();
+        boolean ordered = true;
+        for (SealedBlock block : blocks) {
+            sealedIds.add(block.getId());
+            try {
+                StockSeries series = block.read(productId);
+                if (series != null) {
+                    ordered &= appendInOrder(result, series, from, to);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read stock history: " + e.getMessage());
+            }
+        }
+        for (OpenBlock block : open) {
+            if (!sealedIds.contains(block.wal.getId())) {
+                StockSeries series = new StockSeries();
+                block.copyInto(productId, series, from, to);
+                series.sortByTime();
+                ordered &= appendInOrder(result, series, from, to);
+            }
+        }
+        // Windows never interleave, so this only runs when one window has a second block (a sample recorded after its seal)
+        if (!ordered) {
+            result.sortByTime();
+        }
+        return result;
+    }
+
+    // Visits every series of products in [fromId, toId] from blocks overlapping [from, to], oldest window first
+    public void scan(long fromId, long toId, long from, long to, StockSeriesVisitor visitor) {
+        List<OpenBlock> open = openOverlapping(from, to);
+        List<SealedBlock> blocks = sealedOverlapping(from, to);
+        Set<String> sealedIds = new HashSet<>();
+        for (SealedBlock block : blocks) {
+            sealedIds.add(block.getId());
+            try {
+                block.forEach(fromId, toId, visitor);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read stock history: " + e.getMessage());
+            }
+        }
+
+        for (OpenBlock block : open) {
+            if (!sealedIds.contains(block.wal.getId())) {
+                block.forEach(fromId, toId, visitor);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${supply.stock-history.flush-interval:60000}")
+    public void sealCompletedBlocks() {
+        long currentWindow = Math.floorDiv(System.currentTimeMillis(), blockMillis) * blockMillis;
+        for (OpenBlock block : new ArrayList<>(openBlocks.values())) {
+            if (block.windowStart < currentWindow) {
+                seal(block);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${supply.stock-history.wal-sync-interval:1000}")
+    public void syncLogs() {
+        for (OpenBlock block : openBlocks.values()) {
+            try {
+                block.wal.sync();
+            } catch (IOException e) {
+                walFailures.incrementAndGet();
+                log.warn("Failed to sync stock history log for window {}: {}", block.windowStart, e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long sealedSamples = 0;
+        long sealedBytes = 0;
+        for (SealedBlock block : sealedBlocks) {
+            sealedSamples += block.getSamples();
+            sealedBytes += block.getSizeBytes();
+        }
+        long openSamples = 0;
+        for (OpenBlock block : openBlocks.values()) {
+            openSamples += block.samples();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("recordedSinceStart", recorded.get());
+        stats.put("openBlocks", openBlocks.size());
+        stats.put("openSamples", openSamples);
+        stats.put("sealedBlocks", sealedBlocks.size());
+        stats.put("sealedSamples", sealedSamples);
+        stats.put("sealedBytes", sealedBytes);
+        stats.put("bytesPerSample", sealedSamples == 0 ? 0 : (double) sealedBytes / sealedSamples);
+        stats.put("walFailures", walFailures.get());
+        return stats;
+    }
+
+    // Taken before the sealed list: seal() publishes a block before dropping its open copy, so a window being
+    // sealed is always in one list or both, and the open copy is skipped when its sealed block was seen
+    private List<OpenBlock> openOverlapping(long from, long to) {
+        List<OpenBlock> open = new ArrayList<>();
+        for (OpenBlock block : openBlocks.values()) {
+            if (block.windowStart <= to && block.windowStart + blockMillis > from) {
+                open.add(block);
+            }
+        }
+        open.sort(Comparator.comparingLong(block -> block.windowStart));
+        return open;
+    }
+
+    private List<SealedBlock> sealedOverlapping(long from, long to) {
+        List<SealedBlock> blocks = new ArrayList<>();
+        for (SealedBlock block : sealedBlocks) {
+            if (block.overlaps(from, to)) {
+                blocks.add(block);
+            }
+        }
+        blocks.sort(Comparator.comparingLong(SealedBlock::getWindowStart));
+        return blocks;
+    }
+
+    // Reports whether the samples appended still follow the ones already in the target
+    private static boolean appendInOrder(StockSeries target, StockSeries series, long from, long to) {
+        int start = target.size();
+        target.addAll(series, from, to);
+        return start == 0 || start == target.size() || target.timestampAt(start - 1) <= target.timestampAt(start);
+    }
+
+    private OpenBlock openBlock(long windowStart) {
+        try {
+            return new OpenBlock(windowStart, WriteAheadLog.create(root, windowStart), walFailures);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open stock history log: " + e.getMessage());
+        }
+    }
+
+    // Rebuilds the open blocks a crash left behind; logs whose window was already sealed are leftovers
+    private long replayLogs() throws IOException {
+        Set<String> sealedIds = new HashSet<>();
+        for (SealedBlock block : sealedBlocks) {
+            sealedIds.add(block.getId());
+        }
+        long replayed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, WriteAheadLog.PREFIX + "*" + WriteAheadLog.SUFFIX)) {
+            for (Path file : files) {
+                if (sealedIds.contains(WriteAheadLog.id(file))) {
+                    Files.delete(file);
+                    continue;
+                }
+                long windowStart = WriteAheadLog.windowStart(file);
+                OpenBlock block = new OpenBlock(windowStart, WriteAheadLog.open(file), walFailures);
+                WriteAheadLog.replay(file, block::restore);
+                OpenBlock previous = openBlocks.putIfAbsent(windowStart, block);
+                if (previous != null) {
+                    // Two runs left logs for the same window; seal the older one on its own
+                    seal(block);
+                }
+                replayed += block.samples();
+            }
+        }
+        return replayed;
+    }
+
+    private void seal(OpenBlock block) {
+        Map<Long, StockSeries> series = block.seal();
+        try {
+            if (!series.isEmpty()) {
+                sealedBlocks.add(SealedBlock.write(root, block.wal.getId(), block.windowStart,
+                        block.windowStart + blockMillis, series));
+            }
+            block.wal.delete();
+        } catch (IOException e) {
+            // The log stays on disk, so the window is replayed and sealed again on the next start
+            log.error("Failed to seal stock history block {}: {}", block.windowStart, e.getMessage());
+        }
+        // Only once the sealed block is visible, so a concurrent query never finds the window in neither list
+        openBlocks.remove(block.windowStart, block);
+    }
+
+    private static final class OpenBlock {
+
+        private final long windowStart;
+
+        private final WriteAheadLog wal;
+
+        private final AtomicLong walFailures;
+
+        private final Map<Long, StockSeries> series = new ConcurrentHashMap<>();
+
+        // Appenders share the read lock; sealing takes the write lock so no sample lands after the snapshot
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private boolean sealed;
+
+        OpenBlock(long windowStart, WriteAheadLog wal, AtomicLong walFailures) {
+            this.windowStart = windowStart;
+            this.wal = wal;
+            this.walFailures = walFailures;
+        }
+
+        boolean append(Long productId, long timestamp, int quantity) {
+            lock.readLock().lock();
+            try {
+                if (sealed) {
+                    return false;
+                }
+                StockSeries productSeries = series.computeIfAbsent(productId, id -> new StockSeries());
+                synchronized (productSeries) {
+                    productSeries.add(timestamp, quantity);
+                }
+                try {
+                    wal.append(productId, timestamp, quantity);
+                } catch (IOException e) {
+                    // The sample is still served from memory; it only misses crash recovery
+                    if (walFailures.getAndIncrement() == 0) {
+                        log.warn("Failed to append to stock history log for window {}: {}", windowStart, e.getMessage());
+                    }
+                }
+                return true;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void restore(long productId, long timestamp, int quantity) {
+            series.computeIfAbsent(productId, id -> new StockSeries()).add(timestamp, quantity);
+        }
+
+        void copyInto(Long productId, StockSeries target, long from, long to) {
+            StockSeries productSeries = series.get(productId);
+            if (productSeries != null) {
+                synchronized (productSeries) {
+                    target.addAll(productSeries, from, to);
+                }
+            }
+        }
+
+        void forEach(long fromId, long toId, StockSeriesVisitor visitor) {
+            for (Map.Entry<Long, StockSeries> entry : series.entrySet()) {
+                long productId = entry.getKey();
+                if (productId < fromId || productId > toId) {
+                    continue;
+                }
+                StockSeries copy = new StockSeries();
+                synchronized (entry.getValue()) {
+                    copy.addAll(entry.getValue(), Long.MIN_VALUE, Long.MAX_VALUE);
+                }
+                copy.sortByTime();
+                visitor.visit(productId, copy);
+            }
+        }
+
+        long samples() {
+            long samples = 0;
+            for (StockSeries productSeries : series.values()) {
+                samples += productSeries.size();
+            }
+            return samples;
+        }
+
+        Map<Long, StockSeries> seal() {
+            lock.writeLock().lock();
+            try {
+                sealed = true;
+                return series;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
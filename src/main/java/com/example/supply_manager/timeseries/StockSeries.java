@@ -0,0 +1,76 @@
+package com.example.supply_manager.timeseries;
+
+import java.util.Arrays;
+
+// Growable (timestamp, quantity) columns for one product
+public class StockSeries {
+
+    private long[] timestamps;
+
+    private int[] values;
+
+    private int size;
+
+    public StockSeries() {
+        this(8);
+    }
+
+    public StockSeries(int capacity) {
+        this.timestamps = new long[Math.max(1, capacity)];
+        this.values = new int[Math.max(1, capacity)];
+    }
+
+    public void add(long timestamp, int value) {
+        if (size == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        timestamps[size] = timestamp;
+        values[size] = value;
+        size++;
+    }
+
+    public void addAll(StockSeries other, long from, long to) {
+        for (int i = 0; i < other.size; i++) {
+            if (other.timestamps[i] >= from && other.timestamps[i] <= to) {
+                add(other.timestamps[i], other.values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long timestampAt(int index) {
+        return timestamps[index];
+    }
+
+    public int valueAt(int index) {
+        return values[index];
+    }
+
+    public long[] timestamps() {
+        return timestamps;
+    }
+
+    public int[] values() {
+        return values;
+    }
+
+    // Samples can arrive slightly out of order from concurrent writers; a stable insertion sort is cheap here
+    public void sortByTime() {
+        for (int i = 1; i < size; i++) {
+            long timestamp = timestamps[i];
+            int value = values[i];
+            int j = i - 1;
+            while (j >= 0 && timestamps[j] > timestamp) {
+                timestamps[j + 1] = timestamps[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            timestamps[j + 1] = timestamp;
+            values[j + 1] = value;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.supply_manager.timeseries;
+
+import java.util.Arrays;
+
+// Sample count, then zigzag varint timestamp deltas from the block start, then zigzag varint quantity deltas
+final class StockSeriesCodec {
+
+    private StockSeriesCodec() {
+    }
+
+    static byte[] encode(StockSeries series, long base) {
+        Output out = new Output(16 + series.size() * 4);
+        out.writeVarLong(series.size());
+        long previousTimestamp = base;
+        for (int i = 0; i < series.size(); i++) {
+            out.writeVarLong(zigzag(series.timestampAt(i) - previousTimestamp));
+            previousTimestamp = series.timestampAt(i);
+        }
+        long previousValue = 0;
+        for (int i = 0; i < series.size(); i++) {
+            out.writeVarLong(zigzag((long) series.valueAt(i) - previousValue));
+            previousValue = series.valueAt(i);
+        }
+        return out.toByteArray();
+    }
+
+    static StockSeries decode(byte[] data, long base) {
+        Input in = new Input(data);
+        int count = (int) in.readVarLong();
+        StockSeries series = new StockSeries(count);
+        long[] timestamps = new long[count];
+        long timestamp = base;
+        for (int i = 0; i < count; i++) {
+            timestamp += unzigzag(in.readVarLong());
+            timestamps[i] = timestamp;
+        }
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            value += unzigzag(in.readVarLong());
+            series.add(timestamps[i], (int) value);
+        }
+        return series;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+
+        private int position;
+
+        Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void writeVarLong(long value) {
+            if (position + 10 > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + 10));
+            }
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+
+        private int position;
+
+        Input(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
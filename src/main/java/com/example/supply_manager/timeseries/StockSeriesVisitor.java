@@ -0,0 +1,6 @@
+package com.example.supply_manager.timeseries;
+
+public interface StockSeriesVisitor {
+
+    void visit(long productId, StockSeries series);
+}
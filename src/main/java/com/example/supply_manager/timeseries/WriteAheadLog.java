@@ -0,0 +1,111 @@
+package com.example.supply_manager.timeseries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Fixed-size records (product id, timestamp, quantity) for an open block; a torn tail record is dropped on reopen
+final class WriteAheadLog {
+
+    static final String PREFIX = "wal-";
+
+    static final String SUFFIX = ".log";
+
+    private static final int RECORD_BYTES = Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final int BUFFERED_RECORDS = 512;
+
+    private final Path path;
+
+    private final String id;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * BUFFERED_RECORDS);
+
+    private WriteAheadLog(Path path, String id, FileChannel channel) {
+        this.path = path;
+        this.id = id;
+        this.channel = channel;
+    }
+
+    static WriteAheadLog create(Path directory, long windowStart) throws IOException {
+        return open(directory.resolve(PREFIX + windowStart + "-" + System.nanoTime() + SUFFIX));
+    }
+
+    static WriteAheadLog open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        long complete = channel.size() - channel.size() % RECORD_BYTES;
+        channel.truncate(complete);
+        channel.position(complete);
+        return new WriteAheadLog(path, id(path), channel);
+    }
+
+    // Ids are "<windowStart>-<nanos>", the same form SealedBlock uses for its file names
+    static String id(Path path) {
+        String name = path.getFileName().toString();
+        return name.substring(PREFIX.length(), name.length() - SUFFIX.length());
+    }
+
+    static long windowStart(Path path) {
+        String id = id(path);
+        return Long.parseLong(id.substring(0, id.indexOf('-')));
+    }
+
+    String getId() {
+        return id;
+    }
+
+    // Feeds every complete record to the visitor in the order it was appended
+    static void replay(Path path, SampleVisitor visitor) throws IOException {
+        ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(path));
+        while (records.remaining() >= RECORD_BYTES) {
+            visitor.visit(records.getLong(), records.getLong(), records.getInt());
+        }
+    }
+
+    synchronized void append(long productId, long timestamp, int quantity) throws IOException {
+        if (buffer.remaining() < RECORD_BYTES) {
+            writeBuffer();
+        }
+        buffer.putLong(productId).putLong(timestamp).putInt(quantity);
+    }
+
+    synchronized void sync() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        writeBuffer();
+        channel.force(false);
+    }
+
+    synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        writeBuffer();
+        channel.close();
+    }
+
+    // Only once the block it covers has been sealed
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    interface SampleVisitor {
+
+        void visit(long productId, long timestamp, int quantity);
+    }
+}
@@ -1,13 +1,14 @@
 let products = [];
 let categories = [];
 let suppliers = [];
+let categoryNames = new Map();
+let supplierNames = new Map();
 let editingProductId = null;
 
 // Inicialização
 document.addEventListener('DOMContentLoaded', function() {
-    loadProducts();
-    loadCategories();
-    loadSuppliers();
+    performance.mark('products-load-start');
+    loadProducts().then(reportTimeToInteractive);
     
     // Form submit event
     document.getElementById('productForm').addEventListener('submit', function(e) {
@@ -16,14 +17,23 @@ document.addEventListener('DOMContentLoaded', function() {
     });
 });
 
-// Carregar produtos
+// Carregar produtos, categorias e fornecedores numa única requisição
+// (o navegador revalida com If-None-Match e recebe 304 quando nada mudou)
 async function loadProducts() {
     try {
         showLoading(true);
-        const response = await fetch('/api/products');
+        const response = await fetch('/api/bootstrap/products');
         if (!response.ok) throw new Error('Erro ao carregar produtos');
         
-        products = await response.json();
+        const data = await response.json();
+        products = data.products;
+        categories = data.categories;
+        suppliers = data.suppliers;
+        categoryNames = new Map(categories.map(c => [c.id, c.name]));
+        supplierNames = new Map(suppliers.map(s => [s.id, s.name]));
+        
+        populateCategorySelect();
+        populateSupplierSelect();
         renderProducts();
         showLoading(false);
     } catch (error) {
@@ -32,30 +42,11 @@ async function loadProducts() {
     }
 }
 
-// Carregar categorias
-async function loadCategories() {
-    try {
-        const response = await fetch('/api/categories');
-        if (!response.ok) throw new Error('Erro ao carregar categorias');
-        
-        categories = await response.json();
-        populateCategorySelect();
-    } catch (error) {
-        console.error('Erro ao carregar categorias:', error);
-    }
-}
-
-// Carregar fornecedores
-async function loadSuppliers() {
-    try {
-        const response = await fetch('/api/suppliers');
-        if (!response.ok) throw new Error('Erro ao carregar fornecedores');
-        
-        suppliers = await response.json();
-        populateSupplierSelect();
-    } catch (error) {
-        console.error('Erro ao carregar fornecedores:', error);
-    }
+// Medir o tempo até a página ficar interativa
+function reportTimeToInteractive() {
+    performance.mark('products-interactive');
+    const measure = performance.measure('products-time-to-interactive', 'products-load-start', 'products-interactive');
+    console.info(`Produtos: ${products.length} itens renderizados em ${measure.duration.toFixed(0)} ms`);
 }
 
 // Renderizar produtos na tabela
@@ -109,15 +100,13 @@ function getStockClass(stock) {
 // Obter nome da categoria
 function getCategoryName(categoryId) {
     if (!categoryId) return '-';
-    const category = categories.find(c => c.id === categoryId);
-    return category ? category.name : '-';
+    return categoryNames.get(categoryId) || '-';
 }
 
 // Obter nome do fornecedor
 function getSupplierName(supplierId) {
     if (!supplierId) return '-';
-    const supplier = suppliers.find(s => s.id === supplierId);
-    return supplier ? supplier.name : '-';
+    return supplierNames.get(supplierId) || '-';
 }
 
 // Popular select de categorias
@@ -0,0 +1,140 @@
+package com.example.supply_manager.alert;
+
+import com.example.supply_manager.dto.LowStockAlert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The schedule is pushed out of the way and the job is driven by hand; a batch of 3 makes every run page
+@SpringBootTest(properties = {
+		"supply.alerts.low-stock.interval=3600000",
+		"supply.alerts.low-stock.batch-size=3",
+		"supply.alerts.low-stock.feed.capacity=100000"
+})
+class LowStockAlertJobTests {
+
+	@Autowired
+	private LowStockAlertJob job;
+
+	@Autowired
+	private InAppLowStockAlertFeed feed;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long categoryId;
+
+	private long supplierId;
+
+	@BeforeEach
+	void setUp() {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.update("INSERT INTO categories (name, description, created_at, updated_at) VALUES (?, NULL, ?, ?)",
+				"Alerts " + suffix, now, now);
+		jdbcTemplate.update("INSERT INTO suppliers (name, contact, email, phone, tax_id, address, created_at, updated_at) " +
+				"VALUES (?, 'Buyer', ?, '555-0100', ?, '1 Alert Way', ?, ?)",
+				"Alerts " + suffix, suffix + "@example.com", "ALERTS-" + suffix, now, now);
+		categoryId = jdbcTemplate.queryForObject("SELECT id FROM categories WHERE name = ?", Long.class, "Alerts " + suffix);
+		supplierId = jdbcTemplate.queryForObject("SELECT id FROM suppliers WHERE name = ?", Long.class, "Alerts " + suffix);
+		// Catch up on whatever the catalog already holds so each test only sees its own rows
+		job.run();
+	}
+
+	@Test
+	void crossingIsAlertedOnceWhileStockStaysLow() {
+		long id = insertProduct(2, LocalDateTime.now());
+
+		job.run();
+		assertEquals(1, alertsFor(id));
+		assertTrue(isAlerted(id));
+
+		setQuantity(id, 1, LocalDateTime.now());
+		job.run();
+		job.run();
+		assertEquals(1, alertsFor(id));
+	}
+
+	@Test
+	void recoveryClearsTheStateSoTheNextCrossingAlertsAgain() {
+		long id = insertProduct(2, LocalDateTime.now());
+		job.run();
+
+		setQuantity(id, 50, LocalDateTime.now());
+		job.run();
+		assertFalse(isAlerted(id));
+		assertEquals(1, alertsFor(id));
+
+		setQuantity(id, 1, LocalDateTime.now());
+		job.run();
+		assertTrue(isAlerted(id));
+		assertEquals(2, alertsFor(id));
+	}
+
+	@Test
+	void rowStampedBehindTheWatermarkIsStillRead() {
+		LocalDateTime stamped = LocalDateTime.now();
+		// A later change moves the watermark past the stamp, as if a long transaction committed afterwards
+		insertProduct(50, stamped.plusSeconds(30));
+		job.run();
+
+		long late = insertProduct(2, stamped);
+		job.run();
+		assertEquals(1, alertsFor(late));
+	}
+
+	@Test
+	void watermarkPagesThroughEveryChangedRow() {
+		LocalDateTime stamped = LocalDateTime.now();
+		long[] ids = new long[10];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = insertProduct(1, stamped);
+		}
+
+		job.run();
+		for (long id : ids) {
+			assertEquals(1, alertsFor(id));
+		}
+		LocalDateTime watermark = (LocalDateTime) job.stats().get("watermarkUpdatedAt");
+		assertFalse(watermark.isBefore(stamped));
+
+		// A rerun only rereads the overlap and never moves the watermark back
+		job.run();
+		assertEquals(watermark, job.stats().get("watermarkUpdatedAt"));
+		for (long id : ids) {
+			assertEquals(1, alertsFor(id));
+		}
+	}
+
+	private long insertProduct(int quantity, LocalDateTime updatedAt) {
+		String code = "LS-" + UUID.randomUUID().toString().substring(0, 12);
+		jdbcTemplate.update("INSERT INTO products (code, name, price, quantity, minimum_stock, category_id, supplier_id, " +
+				"created_at, updated_at) VALUES (?, ?, 1.00, ?, 5, ?, ?, ?, ?)",
+				code, "Alert " + code, quantity, categoryId, supplierId, Timestamp.valueOf(updatedAt), Timestamp.valueOf(updatedAt));
+		return jdbcTemplate.queryForObject("SELECT id FROM products WHERE code = ?", Long.class, code);
+	}
+
+	private void setQuantity(long id, int quantity, LocalDateTime updatedAt) {
+		jdbcTemplate.update("UPDATE products SET quantity = ?, updated_at = ? WHERE id = ?",
+				quantity, Timestamp.valueOf(updatedAt), id);
+	}
+
+	private boolean isAlerted(long id) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM low_stock_alert_state WHERE product_id = ?", Long.class, id) > 0;
+	}
+
+	private long alertsFor(long id) {
+		return feed.latest(Integer.MAX_VALUE).stream().filter((LowStockAlert alert) -> alert.getProductId() == id).count();
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.example.supply_manager.audit;
+
+import com.example.supply_manager.SupplyManagerApplication;
+import com.example.supply_manager.entity.Category;
+import com.example.supply_manager.service.CategoryService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.supply_manager.audit.AuditRingBufferBenchmark
+public class AuditRingBufferBenchmark {
+
+	private static final int RECORDS_PER_PRODUCER = 1_000_000;
+	private static final int CAPACITY = 16_384;
+	private static final int SAVES_PER_WRITER = 2_000;
+	private static final int WRITERS = 4;
+
+	public static void main(String[] args) throws Exception {
+		for (int producers : new int[] { 1, 4, 16 }) {
+			report("ring publish, producers=" + producers, measurePublish(producers));
+		}
+		// The full write path: service save, commit, then the afterCommit hook that publishes the record
+		for (boolean audit : new boolean[] { false, true }) {
+			report("CategoryService.save, audit=" + audit, measureServiceSave(audit));
+		}
+	}
+
+	private static void report(String label, long[] latencies) {
+		Arrays.sort(latencies);
+		System.out.printf("%s p50=%dns p99=%dns p99.9=%dns max=%dns%n", label,
+				latencies[latencies.length / 2],
+				latencies[(int) (latencies.length * 0.99)],
+				latencies[(int) (latencies.length * 0.999)],
+				latencies[latencies.length - 1]);
+	}
+
+	private static long[] measureServiceSave(boolean audit) throws InterruptedException {
+		try (ConfigurableApplicationContext context = SpringApplication.run(SupplyManagerApplication.class,
+				"--spring.main.web-application-type=none", "--spring.jpa.show-sql=false",
+				"--supply.audit.enabled=" + audit)) {
+			CategoryService categoryService = context.getBean(CategoryService.class);
+			for (int i = 0; i < 500; i++) {
+				categoryService.save(new Category("Warmup " + audit + " " + i, null));
+			}
+
+			long[] latencies = new long[WRITERS * SAVES_PER_WRITER];
+			CountDownLatch done = new CountDownLatch(WRITERS);
+			for (int w = 0; w < WRITERS; w++) {
+				int writer = w;
+				new Thread(() -> {
+					for (int i = 0; i < SAVES_PER_WRITER; i++) {
+						Category category = new Category("Bench " + audit + " " + writer + "-" + i, null);
+						long start = System.nanoTime();
+						categoryService.save(category);
+						latencies[writer * SAVES_PER_WRITER + i] = System.nanoTime() - start;
+					}
+					done.countDown();
+				}).start();
+			}
+			done.await();
+			return latencies;
+		}
+	}
+
+	// Samples every 16th publish so the timer itself does not dominate
+	private static long[] measurePublish(int producers) throws InterruptedException {
+		AuditRingBuffer buffer = new AuditRingBuffer(CAPACITY, AuditRingBuffer.OverflowPolicy.BLOCK);
+		AtomicBoolean running = new AtomicBoolean(true);
+		Thread consumer = new Thread(() -> {
+			while (running.get() || buffer.size() > 0) {
+				if (buffer.drain(slot -> { }, 500) == 0) {
+					Thread.onSpinWait();
+				}
+			}
+		});
+		consumer.start();
+
+		int samplesPerProducer = RECORDS_PER_PRODUCER / 16;
+		long[] latencies = new long[producers * samplesPerProducer];
+		CountDownLatch done = new CountDownLatch(producers);
+		for (int p = 0; p < producers; p++) {
+			int offset = p * samplesPerProducer;
+			new Thread(() -> {
+				for (int i = 0; i < RECORDS_PER_PRODUCER; i++) {
+					if ((i & 15) == 0) {
+						long start = System.nanoTime();
+						buffer.publish("product", (long) i, "STOCK_ADD", "bench", System.currentTimeMillis());
+						latencies[offset + (i >> 4)] = System.nanoTime() - start;
+					} else {
+						buffer.publish("product", (long) i, "STOCK_ADD", "bench", System.currentTimeMillis());
+					}
+				}
+				done.countDown();
+			}).start();
+		}
+		done.await();
+		running.set(false);
+		consumer.join();
+		return latencies;
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.example.supply_manager.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditRingBufferTests {
+
+	@Test
+	void blockedProducerFallsBackToDropWhenConsumerDies() throws Exception {
+		AuditRingBuffer buffer = new AuditRingBuffer(2, AuditRingBuffer.OverflowPolicy.BLOCK);
+		AtomicBoolean consumerAlive = new AtomicBoolean(true);
+		buffer.setConsumerAlive(consumerAlive::get);
+		assertTrue(publish(buffer, 1));
+		assertTrue(publish(buffer, 2));
+
+		CompletableFuture<Boolean> blocked = CompletableFuture.supplyAsync(() -> publish(buffer, 3));
+		Thread.sleep(100);
+		assertFalse(blocked.isDone(), "BLOCK should wait while the consumer is alive");
+
+		consumerAlive.set(false);
+
+		assertFalse(blocked.get(5, TimeUnit.SECONDS));
+		assertEquals(1, buffer.getDropped());
+		assertEquals(1, buffer.getDroppedWithoutConsumer());
+	}
+
+	@Test
+	void blockedProducerResumesWhenConsumerDrains() throws Exception {
+		AuditRingBuffer buffer = new AuditRingBuffer(2, AuditRingBuffer.OverflowPolicy.BLOCK);
+		publish(buffer, 1);
+		publish(buffer, 2);
+
+		CompletableFuture<Boolean> blocked = CompletableFuture.supplyAsync(() -> publish(buffer, 3));
+		Thread.sleep(50);
+		assertEquals(1, buffer.drain(slot -> { }, 1));
+
+		assertTrue(blocked.get(5, TimeUnit.SECONDS));
+		assertEquals(0, buffer.getDropped());
+	}
+
+	private static boolean publish(AuditRingBuffer buffer, long id) {
+		return buffer.publish("product", id, "UPDATE", "test", System.currentTimeMillis());
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.example.supply_manager.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvalidationBusTests {
+
+	private static final long MAX_STALENESS = 100;
+
+	private final InvalidationBus bus = new InvalidationBus();
+
+	private final EchoTransport transport = new EchoTransport();
+
+	private final AtomicInteger flushes = new AtomicInteger();
+
+	private final List<InvalidationEvent> delivered = new ArrayList<>();
+
+	@BeforeEach
+	void startBus() {
+		InvalidationListener listener = new InvalidationListener() {
+			@Override
+			public void onInvalidation(InvalidationEvent event) {
+				delivered.add(event);
+			}
+
+			@Override
+			public void onInvalidateAll() {
+				flushes.incrementAndGet();
+			}
+		};
+		ReflectionTestUtils.setField(bus, "transport", transport);
+		ReflectionTestUtils.setField(bus, "listeners", List.of(listener));
+		ReflectionTestUtils.setField(bus, "maxStalenessMillis", MAX_STALENESS);
+		ReflectionTestUtils.setField(bus, "peerExpiryMillis", 60_000L);
+		bus.start();
+	}
+
+	@Test
+	void singleNodeHearingOnlyItselfStaysHealthy() throws InterruptedException {
+		Thread.sleep(MAX_STALENESS * 2);
+		bus.heartbeat();
+
+		assertTrue(bus.isHealthy());
+		assertEquals(0, flushes.get());
+	}
+
+	@Test
+	void ownEchoesDoNotHidePartitionedPeer() throws InterruptedException {
+		transport.deliver(heartbeatFrom("peer-a"));
+		bus.heartbeat();
+		assertTrue(bus.isHealthy());
+
+		// The transport keeps echoing this node's own heartbeats while peer-a has gone quiet
+		Thread.sleep(MAX_STALENESS * 2);
+		bus.heartbeat();
+
+		assertFalse(bus.isHealthy());
+		assertEquals(1, flushes.get());
+	}
+
+	@Test
+	void onePeerTalkingDoesNotCoverForAnother() throws InterruptedException {
+		transport.deliver(heartbeatFrom("peer-a"));
+		transport.deliver(heartbeatFrom("peer-b"));
+
+		Thread.sleep(MAX_STALENESS * 2);
+		transport.deliver(heartbeatFrom("peer-a"));
+		bus.heartbeat();
+
+		assertFalse(bus.isHealthy());
+
+		transport.deliver(heartbeatFrom("peer-b"));
+		bus.heartbeat();
+
+		assertTrue(bus.isHealthy());
+	}
+
+	@Test
+	void departedPeerNoLongerHoldsNodeStale() throws InterruptedException {
+		transport.deliver(heartbeatFrom("peer-a"));
+		transport.deliver(new InvalidationEvent(InvalidationEvent.LEAVE, null, 0, "peer-a", System.currentTimeMillis()));
+
+		Thread.sleep(MAX_STALENESS * 2);
+		bus.heartbeat();
+
+		assertTrue(bus.isHealthy());
+	}
+
+	@Test
+	void ownEventsAreDispatchedOnceOnPublish() {
+		bus.publish("product", 7L, 1L);
+
+		assertEquals(1, delivered.size());
+		assertEquals(7L, delivered.get(0).getEntityId());
+	}
+
+	private static InvalidationEvent heartbeatFrom(String node) {
+		return new InvalidationEvent(InvalidationEvent.HEARTBEAT, null, 0, node, System.currentTimeMillis());
+	}
+
+	// Behaves like multicast with loopback on: everything sent comes back to the sender
+	private static class EchoTransport implements InvalidationTransport {
+
+		private Consumer<InvalidationEvent> receiver;
+
+		@Override
+		public void start(Consumer<InvalidationEvent> receiver) {
+			this.receiver = receiver;
+		}
+
+		@Override
+		public void send(InvalidationEvent event) {
+			deliver(event);
+		}
+
+		void deliver(InvalidationEvent event) {
+			receiver.accept(event);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+}
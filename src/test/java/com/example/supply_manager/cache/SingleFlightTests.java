@@ -0,0 +1,77 @@
+package com.example.supply_manager.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTests {
+
+	private final SingleFlight singleFlight = new SingleFlight();
+
+	@Test
+	void waiterGivesUpWhenLoadIsStuck() throws Exception {
+		ReflectionTestUtils.setField(singleFlight, "ttlMillis", 0L);
+		ReflectionTestUtils.setField(singleFlight, "waitTimeoutMillis", 100L);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("stuck", () -> {
+			loading.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "late";
+		}));
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+		long started = System.nanoTime();
+		RuntimeException e = assertThrows(RuntimeException.class, () -> singleFlight.execute("stuck", () -> "unused"));
+		long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+		assertTrue(e.getMessage().contains("stuck"), e.getMessage());
+		assertTrue(waitedMillis >= 100 && waitedMillis < 2_000, "waited " + waitedMillis + " ms");
+		assertEquals(1L, singleFlight.stats().get("waitTimeouts"));
+
+		release.countDown();
+		assertEquals("late", leader.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void waiterSeesLoaderError() throws Exception {
+		ReflectionTestUtils.setField(singleFlight, "ttlMillis", 0L);
+		ReflectionTestUtils.setField(singleFlight, "waitTimeoutMillis", 5_000L);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("failing", () -> {
+			loading.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			throw new IllegalStateException("database down");
+		}));
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+		CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> singleFlight.execute("failing", () -> "unused"));
+		while ((Long) singleFlight.stats().get("joinedInFlight") == 0) {
+			Thread.onSpinWait();
+		}
+		release.countDown();
+
+		ExecutionException e = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(IllegalStateException.class, e.getCause());
+		assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.example.supply_manager.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdmissionControlFilterTests {
+
+	private static final int BURST = 5;
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void rotatingClientIdHeaderDoesNotBypassRateLimit() throws Exception {
+		AdmissionControlFilter filter = filter(100);
+
+		int admitted = 0;
+		for (int i = 0; i < BURST * 4; i++) {
+			MockHttpServletRequest request = request("203.0.113.7");
+			request.addHeader(ClientContextFilter.CLIENT_ID_HEADER, "client-" + i);
+			admitted += send(filter, request) == 200 ? 1 : 0;
+		}
+
+		assertEquals(BURST, admitted);
+		assertEquals(1, filter.stats().get("trackedClients"));
+	}
+
+	@Test
+	void authenticatedPrincipalGetsItsOwnBucket() throws Exception {
+		AdmissionControlFilter filter = filter(100);
+		for (int i = 0; i < BURST; i++) {
+			send(filter, request("203.0.113.7"));
+		}
+
+		SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+				"alice", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+		assertEquals(200, send(filter, request("203.0.113.7")));
+		assertEquals("user:alice", AdmissionControlFilter.clientKey(request("203.0.113.7")));
+	}
+
+	@Test
+	void trackedClientsAreCappedAndOverflowSharesOneBucket() throws Exception {
+		AdmissionControlFilter filter = filter(3);
+
+		int admitted = 0;
+		for (int i = 0; i < 50; i++) {
+			admitted += send(filter, request("198.51.100." + i)) == 200 ? 1 : 0;
+		}
+
+		assertEquals(3, filter.stats().get("trackedClients"));
+		assertEquals(47L, filter.stats().get("overflowRequests"));
+		assertEquals(3 + BURST, admitted);
+	}
+
+	@Test
+	void slowResponsesBackOffOncePerWindow() throws InterruptedException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 2, 200, 10, 200);
+		long slow = 50_000_000L;
+
+		for (int i = 0; i < 20; i++) {
+			limiter.tryAcquire();
+			limiter.release(slow);
+		}
+		assertEquals(90, limiter.currentLimit());
+
+		Thread.sleep(250);
+		limiter.tryAcquire();
+		limiter.release(slow);
+		assertEquals(81, limiter.currentLimit());
+		assertEquals(2L, limiter.stats().get("backoffs"));
+	}
+
+	private static AdmissionControlFilter filter(int maxTrackedClients) {
+		Map<AdmissionControlFilter.RequestClass, AdaptiveConcurrencyLimiter> limiters =
+				new EnumMap<>(AdmissionControlFilter.RequestClass.class);
+		for (AdmissionControlFilter.RequestClass requestClass : AdmissionControlFilter.RequestClass.values()) {
+			limiters.put(requestClass, new AdaptiveConcurrencyLimiter(100, 2, 200, 60_000, 1_000));
+		}
+		// Effectively no refill during the test, so each bucket admits exactly its burst
+		return new AdmissionControlFilter(limiters, () -> new TokenBucket(0.001, BURST), maxTrackedClients);
+	}
+
+	private static MockHttpServletRequest request(String remoteAddr) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+		request.setRemoteAddr(remoteAddr);
+		return request;
+	}
+
+	private static int send(AdmissionControlFilter filter, MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.example.supply_manager.config;
+
+import com.example.supply_manager.SupplyManagerApplication;
+import com.example.supply_manager.seed.CatalogSeeder;
+import com.example.supply_manager.seed.SeedSpec;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+// Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.supply_manager.config.ConnectionHoldBenchmark
+// Open-in-view on reproduces the hold times from before connections were scoped to the service call
+public class ConnectionHoldBenchmark {
+
+	private static final int REQUESTS = 300;
+
+	public static void main(String[] args) throws Exception {
+		for (boolean openInView : new boolean[] { true, false }) {
+			try (ConfigurableApplicationContext context = SpringApplication.run(SupplyManagerApplication.class,
+					"--server.port=0", "--spring.jpa.show-sql=false", "--supply.alerts.low-stock.interval=3600000",
+					"--supply.admission.enabled=false", "--supply.connection-hold.enabled=true",
+					"--spring.jpa.open-in-view=" + openInView)) {
+				new CatalogSeeder(context.getBean(DataSource.class)).seed(new SeedSpec(42, 50, 25, 10_000));
+				JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+				long categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM categories", Long.class);
+				long supplierId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM suppliers", Long.class);
+				long productId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+
+				HttpClient client = HttpClient.newHttpClient();
+				String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+				ConnectionHoldRecorder recorder = context.getBean(ConnectionHoldRecorder.class);
+				for (int round = 0; round < 2; round++) {
+					// The first round warms up, the second is reported
+					recorder.reset();
+					for (int i = 0; i < REQUESTS; i++) {
+						send(client, HttpRequest.newBuilder(URI.create(base + "/api/products/" + (productId + i))).GET());
+						send(client, HttpRequest.newBuilder(URI.create(base + "/api/products?page=" + (i % 20) + "&size=50")).GET());
+						send(client, HttpRequest.newBuilder(URI.create(base + "/api/products/low-stock/category/" + categoryId)).GET());
+						send(client, HttpRequest.newBuilder(URI.create(base + "/api/categories")).GET());
+						send(client, HttpRequest.newBuilder(URI.create(base + "/api/products"))
+								.header("Content-Type", "application/json")
+								.POST(HttpRequest.BodyPublishers.ofString(String.format(
+										"{\"code\":\"%1$s\",\"name\":\"%1$s\",\"price\":1.00,\"quantity\":5,"
+												+ "\"minimumStock\":1,\"category\":{\"id\":%2$d},\"supplier\":{\"id\":%3$d}}",
+										"HOLD-" + openInView + "-" + round + "-" + i, categoryId, supplierId))));
+					}
+				}
+
+				System.out.printf("-- open-in-view=%s%n", openInView);
+				recorder.stats().forEach((endpoint, stats) -> {
+					Map<?, ?> hold = (Map<?, ?>) stats;
+					System.out.printf("%-50s requests=%5s avg=%6sus max=%6sus%n", endpoint,
+							hold.get("requests"), hold.get("averageHoldMicros"), hold.get("maxHoldMicros"));
+				});
+			}
+		}
+	}
+
+	private static void send(HttpClient client, HttpRequest.Builder request) throws Exception {
+		HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() >= 400) {
+			throw new IllegalStateException(request.build().uri() + " returned " + response.statusCode() + ": " + response.body());
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.example.supply_manager.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The replica is a separate H2 database, so its heartbeat row can be made to lag behind the primary's
+@SpringBootTest(properties = {
+		"supply.datasource.routing.enabled=true",
+		"supply.datasource.routing.replicas[0].url=" + ReplicaRoutingTests.REPLICA_URL,
+		"supply.datasource.routing.max-lag=5s",
+		"supply.datasource.routing.stickiness=5s",
+		"supply.datasource.routing.heartbeat-interval=3600000"
+})
+class ReplicaRoutingTests {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:replica_routing_test;DB_CLOSE_DELAY=-1";
+
+	private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+
+	@Autowired
+	private ReplicaRoutingConfig replicaRoutingConfig;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void createReplicaHeartbeat() {
+		replica.execute("CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+		replica.update("DELETE FROM replication_heartbeat");
+	}
+
+	@Test
+	void replicaLaggingPastThresholdRoutesReadsToPrimary() {
+		stampReplica(System.currentTimeMillis() - 60_000);
+		replicaRoutingConfig.checkReplicaLag();
+
+		assertEquals("SUPPLYDB", readOnlyDatabase());
+	}
+
+	@Test
+	void replicaWithinThresholdServesReads() {
+		stampReplica(System.currentTimeMillis() + 60_000);
+		replicaRoutingConfig.checkReplicaLag();
+
+		assertEquals("REPLICA_ROUTING_TEST", readOnlyDatabase());
+	}
+
+	@Test
+	void missingHeartbeatRoutesReadsToPrimary() {
+		replicaRoutingConfig.checkReplicaLag();
+
+		assertEquals("SUPPLYDB", readOnlyDatabase());
+	}
+
+	@Test
+	void onlyCommittedWritesMakeClientStickToPrimary() throws Exception {
+		stampReplica(System.currentTimeMillis() + 60_000);
+		replicaRoutingConfig.checkReplicaLag();
+		List<String> databases = new ArrayList<>();
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(ClientContextFilter.CLIENT_ID_HEADER, "sticky-client");
+		new ClientContextFilter().doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+			TransactionTemplate write = new TransactionTemplate(transactionManager);
+			write.executeWithoutResult(status -> {
+				jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+				status.setRollbackOnly();
+			});
+			databases.add(readOnlyDatabase());
+
+			write.executeWithoutResult(status -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+			databases.add(readOnlyDatabase());
+		});
+
+		assertEquals(List.of("REPLICA_ROUTING_TEST", "SUPPLYDB"), databases);
+	}
+
+	private void stampReplica(long beatAt) {
+		replica.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", beatAt);
+	}
+
+	private String readOnlyDatabase() {
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		return readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+	}
+
+}
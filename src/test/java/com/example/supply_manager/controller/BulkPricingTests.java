@@ -0,0 +1,175 @@
+package com.example.supply_manager.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every request is scoped to a fresh category or supplier so the rest of the catalog is never repriced
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkPricingTests {
+
+	private static final LocalDateTime STAMPED = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private String suffix;
+
+	private long category;
+
+	private long otherCategory;
+
+	private long supplier;
+
+	private long otherSupplier;
+
+	@BeforeEach
+	void setUp() {
+		suffix = UUID.randomUUID().toString().substring(0, 8);
+		category = insertCategory("A");
+		otherCategory = insertCategory("B");
+		supplier = insertSupplier("A");
+		otherSupplier = insertSupplier("B");
+	}
+
+	@Test
+	void percentageRoundsHalfUpToTwoDecimals() throws Exception {
+		insertProduct("P1", "1.25", category, supplier);
+		insertProduct("P2", "0.15", category, supplier);
+
+		bulk("{\"mode\":\"PERCENTAGE\",\"value\":10,\"categoryId\":" + category + "}")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.affectedRows").value(2));
+
+		assertEquals(new BigDecimal("1.38"), price("P1"));
+		assertEquals(new BigDecimal("0.17"), price("P2"));
+	}
+
+	@Test
+	void categoryAndSupplierFiltersLimitTheRowsChanged() throws Exception {
+		insertProduct("IN", "10.00", category, supplier);
+		insertProduct("OTHER-CATEGORY", "10.00", otherCategory, supplier);
+		insertProduct("OTHER-SUPPLIER", "10.00", category, otherSupplier);
+
+		bulk("{\"mode\":\"ABSOLUTE\",\"value\":2.5,\"categoryId\":" + category + ",\"supplierId\":" + supplier + "}")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.affectedRows").value(1));
+
+		assertEquals(new BigDecimal("12.50"), price("IN"));
+		assertEquals(new BigDecimal("10.00"), price("OTHER-CATEGORY"));
+		assertEquals(new BigDecimal("10.00"), price("OTHER-SUPPLIER"));
+	}
+
+	@Test
+	void adjustmentThatWouldMakeAPriceNegativeIsRejectedWhole() throws Exception {
+		insertProduct("CHEAP", "3.00", category, supplier);
+		insertProduct("DEAR", "30.00", category, supplier);
+
+		bulk("{\"mode\":\"ABSOLUTE\",\"value\":-5,\"categoryId\":" + category + "}")
+				.andExpect(status().isBadRequest());
+
+		assertEquals(new BigDecimal("3.00"), price("CHEAP"));
+		assertEquals(new BigDecimal("30.00"), price("DEAR"));
+		assertEquals(STAMPED, updatedAt("DEAR"));
+	}
+
+	@Test
+	void updatedAtIsStampedOnChangedRows() throws Exception {
+		insertProduct("P1", "5.00", category, supplier);
+		LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+
+		bulk("{\"mode\":\"PERCENTAGE\",\"value\":-50,\"supplierId\":" + supplier + "}")
+				.andExpect(status().isOk());
+
+		assertEquals(new BigDecimal("2.50"), price("P1"));
+		assertTrue(updatedAt("P1").isAfter(before));
+	}
+
+	@Test
+	void priceTableSetsListedCodesWithinTheFilters() throws Exception {
+		insertProduct("T1", "1.00", category, supplier);
+		insertProduct("T2", "1.00", otherCategory, supplier);
+
+		bulk("{\"mode\":\"PRICE_TABLE\",\"categoryId\":" + category + ",\"prices\":{\"" + code("T1") + "\":2.345,\"" +
+				code("T2") + "\":9.99,\"" + code("MISSING") + "\":1}}")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.affectedRows").value(1));
+
+		assertEquals(new BigDecimal("2.35"), price("T1"));
+		assertEquals(new BigDecimal("1.00"), price("T2"));
+		assertTrue(updatedAt("T1").isAfter(STAMPED));
+		assertEquals(STAMPED, updatedAt("T2"));
+	}
+
+	@Test
+	void priceTableRejectsNegativePrices() throws Exception {
+		insertProduct("T1", "1.00", category, supplier);
+
+		bulk("{\"mode\":\"PRICE_TABLE\",\"prices\":{\"" + code("T1") + "\":-1}}")
+				.andExpect(status().isBadRequest());
+
+		assertEquals(new BigDecimal("1.00"), price("T1"));
+	}
+
+	private ResultActions bulk(String body) throws Exception {
+		return mockMvc.perform(post("/api/products/pricing/bulk")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body));
+	}
+
+	private long insertCategory(String name) {
+		Timestamp now = Timestamp.valueOf(STAMPED);
+		jdbcTemplate.update("INSERT INTO categories (name, description, created_at, updated_at) VALUES (?, NULL, ?, ?)",
+				"Pricing " + suffix + name, now, now);
+		return jdbcTemplate.queryForObject("SELECT id FROM categories WHERE name = ?", Long.class, "Pricing " + suffix + name);
+	}
+
+	private long insertSupplier(String name) {
+		Timestamp now = Timestamp.valueOf(STAMPED);
+		jdbcTemplate.update("INSERT INTO suppliers (name, contact, email, phone, tax_id, address, created_at, updated_at) " +
+				"VALUES (?, 'Buyer', ?, '555-0100', ?, '1 Pricing Way', ?, ?)",
+				"Pricing " + suffix + name, suffix + name + "@example.com", "PRICING-" + suffix + name, now, now);
+		return jdbcTemplate.queryForObject("SELECT id FROM suppliers WHERE name = ?", Long.class, "Pricing " + suffix + name);
+	}
+
+	private void insertProduct(String name, String price, long categoryId, long supplierId) {
+		Timestamp now = Timestamp.valueOf(STAMPED);
+		jdbcTemplate.update("INSERT INTO products (code, name, price, quantity, minimum_stock, category_id, supplier_id, " +
+				"created_at, updated_at) VALUES (?, ?, ?, 5, 1, ?, ?, ?, ?)",
+				code(name), "Pricing " + code(name), new BigDecimal(price), categoryId, supplierId, now, now);
+	}
+
+	private String code(String name) {
+		return "PR-" + suffix + "-" + name;
+	}
+
+	private BigDecimal price(String name) {
+		return jdbcTemplate.queryForObject("SELECT price FROM products WHERE code = ?", BigDecimal.class, code(name));
+	}
+
+	private LocalDateTime updatedAt(String name) {
+		return jdbcTemplate.queryForObject("SELECT updated_at FROM products WHERE code = ?", LocalDateTime.class, code(name));
+	}
+
+}
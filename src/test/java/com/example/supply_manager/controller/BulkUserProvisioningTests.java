@@ -0,0 +1,132 @@
+package com.example.supply_manager.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkUserProvisioningTests {
+
+	private static final String PREFIX = "bulk-user-";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AuthenticationProvider authenticationProvider;
+
+	@AfterEach
+	void deleteUsers() {
+		jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (SELECT id FROM users WHERE username LIKE ?)", PREFIX + "%");
+		jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", PREFIX + "%");
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void createsUsersWithRoleMaskAndLegacyRoleRows() throws Exception {
+		bulk("[" + user("a", "[\"ADMIN\",\"MANAGER\"]") + "," + user("b", null) + "]")
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.created").value(2))
+				.andExpect(jsonPath("$.ids.length()").value(2));
+
+		// ADMIN is bit 0 and MANAGER bit 2; a user sent without roles gets USER (bit 1)
+		assertEquals(5, queryInt("SELECT role_mask FROM users WHERE username = ?", PREFIX + "a"));
+		assertEquals(2, queryInt("SELECT role_mask FROM users WHERE username = ?", PREFIX + "b"));
+		assertEquals(List.of("ADMIN", "MANAGER"), roles(PREFIX + "a"));
+		assertEquals(List.of("USER"), roles(PREFIX + "b"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void duplicatesInsideTheBatchAreRejected() throws Exception {
+		bulk("[" + user("dup", null) + "," + user("dup", null) + "]")
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string(containsString("more than once")));
+
+		assertEquals(0, queryInt("SELECT COUNT(*) FROM users WHERE username LIKE ?", PREFIX + "%"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void existingUsernamesAndEmailsAreRejected() throws Exception {
+		bulk("[" + user("taken", null) + "]").andExpect(status().isCreated());
+
+		bulk("[" + user("fresh", null) + "," + user("taken", null) + "]")
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string(containsString("Username already exists: " + PREFIX + "taken")));
+		bulk("[{\"username\":\"" + PREFIX + "other\",\"email\":\"" + PREFIX + "taken@example.com\",\"password\":\"secret\"}]")
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string(containsString("Email already exists")));
+
+		assertEquals(1, queryInt("SELECT COUNT(*) FROM users WHERE username LIKE ?", PREFIX + "%"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void provisionedUserCanAuthenticate() throws Exception {
+		bulk("[" + user("login", "[\"MANAGER\"]") + "]").andExpect(status().isCreated());
+
+		Authentication authentication = authenticationProvider.authenticate(
+				new UsernamePasswordAuthenticationToken(PREFIX + "login", "secret-login"));
+
+		assertTrue(authentication.isAuthenticated());
+		assertEquals(List.of("ROLE_MANAGER"), authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+		assertThrows(BadCredentialsException.class, () -> authenticationProvider.authenticate(
+				new UsernamePasswordAuthenticationToken(PREFIX + "login", "wrong")));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void onlyAdminsCanProvision() throws Exception {
+		bulk("[" + user("denied", null) + "]").andExpect(status().isForbidden());
+	}
+
+	private ResultActions bulk(String body) throws Exception {
+		return mockMvc.perform(post("/api/users/bulk")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body));
+	}
+
+	private static String user(String name, String roles) {
+		return "{\"username\":\"" + PREFIX + name + "\",\"email\":\"" + PREFIX + name + "@example.com\"," +
+				"\"password\":\"secret-" + name + "\",\"fullName\":\"Bulk " + name + "\"" +
+				(roles != null ? ",\"roles\":" + roles : "") + "}";
+	}
+
+	private List<String> roles(String username) {
+		return jdbcTemplate.queryForList("SELECT r.role FROM user_roles r JOIN users u ON u.id = r.user_id " +
+				"WHERE u.username = ? ORDER BY r.role", String.class, username);
+	}
+
+	private int queryInt(String sql, Object arg) {
+		return jdbcTemplate.queryForObject(sql, Integer.class, arg);
+	}
+
+}
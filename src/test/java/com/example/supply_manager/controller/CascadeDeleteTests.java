@@ -0,0 +1,146 @@
+package com.example.supply_manager.controller;
+
+import com.example.supply_manager.repository.ShardedProductStore;
+import com.example.supply_manager.service.CascadeDeleteService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Small chunks and threshold so both paths cross several chunk boundaries
+@SpringBootTest(properties = {
+		"supply.cascade-delete.chunk-size=7",
+		"supply.cascade-delete.async-threshold=20"
+})
+@AutoConfigureMockMvc
+class CascadeDeleteTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void smallCategoryIsDeletedInlineInChunks() throws Exception {
+		long[] parents = insertParents();
+		insertProducts(parents, 15);
+
+		mockMvc.perform(delete("/api/categories/" + parents[0]))
+				.andExpect(status().isNoContent());
+
+		assertEquals(0, queryLong("SELECT COUNT(*) FROM products WHERE category_id = ?", parents[0]));
+		assertEquals(0, queryLong("SELECT COUNT(*) FROM categories WHERE id = ?", parents[0]));
+	}
+
+	@Test
+	void largeSupplierIsDeletedByBackgroundJob() throws Exception {
+		long[] parents = insertParents();
+		insertProducts(parents, 50);
+
+		MvcResult accepted = mockMvc.perform(delete("/api/suppliers/" + parents[1]))
+				.andExpect(status().isAccepted())
+				.andExpect(header().exists("Location"))
+				.andReturn();
+		String location = accepted.getResponse().getHeader("Location");
+		assertTrue(location.startsWith("/api/jobs/"));
+
+		JsonNode job = poll(location);
+
+		assertEquals("COMPLETED", job.get("status").asText());
+		assertEquals("supplier", job.get("entityType").asText());
+		assertEquals(50, job.get("totalProducts").asLong());
+		assertEquals(50, job.get("deletedProducts").asLong());
+		assertEquals(100, job.get("progressPercent").asInt());
+		assertEquals(0, queryLong("SELECT COUNT(*) FROM products WHERE supplier_id = ?", parents[1]));
+		assertEquals(0, queryLong("SELECT COUNT(*) FROM suppliers WHERE id = ?", parents[1]));
+	}
+
+	@Test
+	void unknownJobIsNotFound() throws Exception {
+		mockMvc.perform(get("/api/jobs/" + UUID.randomUUID()))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void cascadeIsRejectedWhenSharded() {
+		CascadeDeleteService service = new CascadeDeleteService();
+		ReflectionTestUtils.setField(service, "shardedProductStore", mock(ShardedProductStore.class));
+
+		RuntimeException e = assertThrows(RuntimeException.class,
+				() -> service.deleteProducts((Pageable page) -> List.of()));
+		assertTrue(e.getMessage().contains("sharding"));
+	}
+
+	private JsonNode poll(String location) throws Exception {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (true) {
+			String body = mockMvc.perform(get(location))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+			JsonNode job = objectMapper.readTree(body);
+			String state = job.get("status").asText();
+			if ("COMPLETED".equals(state) || "FAILED".equals(state) || System.currentTimeMillis() > deadline) {
+				return job;
+			}
+			assertTrue(job.get("progressPercent").asInt() < 100);
+			Thread.sleep(20);
+		}
+	}
+
+	// Returns { categoryId, supplierId }
+	private long[] insertParents() {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.update("INSERT INTO categories (name, description, created_at, updated_at) VALUES (?, NULL, ?, ?)",
+				"Cascade " + suffix, now, now);
+		jdbcTemplate.update("INSERT INTO suppliers (name, contact, email, phone, tax_id, address, created_at, updated_at) " +
+				"VALUES (?, 'Buyer', ?, '555-0100', ?, '1 Cascade Way', ?, ?)",
+				"Cascade " + suffix, suffix + "@example.com", "CASCADE-" + suffix, now, now);
+		return new long[] {
+				queryLong("SELECT id FROM categories WHERE name = ?", "Cascade " + suffix),
+				queryLong("SELECT id FROM suppliers WHERE name = ?", "Cascade " + suffix)
+		};
+	}
+
+	private void insertProducts(long[] parents, int products) {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < products; i++) {
+			rows.add(new Object[] { "CD-" + suffix + "-" + i, "Cascade " + suffix + " " + i, parents[0], parents[1], now, now });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO products (code, name, price, quantity, minimum_stock, category_id, supplier_id, " +
+				"created_at, updated_at) VALUES (?, ?, 1.00, 5, 1, ?, ?, ?, ?)", rows);
+	}
+
+	private long queryLong(String sql, Object arg) {
+		return jdbcTemplate.queryForObject(sql, Long.class, arg);
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.example.supply_manager.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The alert job is pushed out of the way so nothing else prepares statements while a request is measured
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"supply.alerts.low-stock.interval=3600000"
+})
+@AutoConfigureMockMvc
+class ParentStatsQueryCountTests {
+
+	private static final int PARENTS = 2_000;
+
+	private static final int PRODUCTS_PER_PARENT = 3;
+
+	private static final String PREFIX = "stats-count-";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@BeforeEach
+	void insertParents() {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> categories = new ArrayList<>(PARENTS);
+		List<Object[]> suppliers = new ArrayList<>(PARENTS);
+		for (int i = 0; i < PARENTS; i++) {
+			categories.add(new Object[] { PREFIX + i, now, now });
+			suppliers.add(new Object[] { PREFIX + i, PREFIX + i + "@example.com", PREFIX.toUpperCase() + i, now, now });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO categories (name, description, created_at, updated_at) VALUES (?, NULL, ?, ?)", categories);
+		jdbcTemplate.batchUpdate("INSERT INTO suppliers (name, contact, email, phone, tax_id, address, created_at, updated_at) " +
+				"VALUES (?, 'Buyer', ?, '555-0100', ?, '1 Stats Way', ?, ?)", suppliers);
+		// Each pair of parents gets products with quantities 1, 2 and 3 at 2.50 each
+		for (int j = 1; j <= PRODUCTS_PER_PARENT; j++) {
+			jdbcTemplate.update("INSERT INTO products (code, name, price, quantity, minimum_stock, category_id, supplier_id, created_at, updated_at) " +
+					"SELECT CONCAT(c.name, '-', ?), CONCAT(c.name, ' ', ?), 2.50, ?, 1, c.id, s.id, ?, ? " +
+					"FROM categories c JOIN suppliers s ON s.name = c.name WHERE c.name LIKE ?", j, j, j, now, now, PREFIX + "%");
+		}
+	}
+
+	@AfterEach
+	void deleteParents() {
+		jdbcTemplate.update("DELETE FROM products WHERE code LIKE ?", PREFIX + "%");
+		jdbcTemplate.update("DELETE FROM categories WHERE name LIKE ?", PREFIX + "%");
+		jdbcTemplate.update("DELETE FROM suppliers WHERE name LIKE ?", PREFIX + "%");
+	}
+
+	@Test
+	void categoryStatsRunOneQueryRegardlessOfCategoryCount() throws Exception {
+		Statistics statistics = statistics();
+
+		mockMvc.perform(get("/api/categories").param("withStats", "true"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.name == 'stats-count-7')].productCount").value(PRODUCTS_PER_PARENT))
+				.andExpect(jsonPath("$[?(@.name == 'stats-count-7')].unitsInStock").value(6))
+				.andExpect(jsonPath("$[?(@.name == 'stats-count-7')].stockValue").value(15.0));
+
+		assertEquals(1, statistics.getPrepareStatementCount(), "GET /api/categories?withStats=true should aggregate in one query");
+		assertEquals(0, statistics.getEntityLoadCount(), "No category or product entities should be loaded");
+	}
+
+	@Test
+	void supplierStatsRunOneQueryRegardlessOfSupplierCount() throws Exception {
+		Statistics statistics = statistics();
+
+		mockMvc.perform(get("/api/suppliers").param("withStats", "true"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.name == 'stats-count-7')].productCount").value(PRODUCTS_PER_PARENT))
+				.andExpect(jsonPath("$[?(@.name == 'stats-count-7')].unitsInStock").value(6))
+				.andExpect(jsonPath("$[?(@.name == 'stats-count-7')].stockValue").value(15.0));
+
+		assertEquals(1, statistics.getPrepareStatementCount(), "GET /api/suppliers?withStats=true should aggregate in one query");
+		assertEquals(0, statistics.getEntityLoadCount(), "No supplier or product entities should be loaded");
+	}
+
+	private Statistics statistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.example.supply_manager.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class UserListingQueryCountTests {
+
+	private static final int USERS = 10_000;
+
+	private static final String PREFIX = "query-count-";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@BeforeEach
+	void insertUsers() {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> rows = new ArrayList<>(USERS);
+		for (int i = 0; i < USERS; i++) {
+			// Alternate USER (bit 1) and ADMIN + MANAGER (bits 0 and 2)
+			rows.add(new Object[] { PREFIX + i, "{noop}secret", PREFIX + i + "@example.com", "User " + i, i % 2 == 0 ? 2 : 5, now, now });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO users (username, password, email, full_name, is_active, role_mask, created_at, updated_at) " +
+				"VALUES (?, ?, ?, ?, TRUE, ?, ?, ?)", rows);
+		jdbcTemplate.update("INSERT INTO user_roles (user_id, role) SELECT id, 'USER' FROM users WHERE username LIKE ?", PREFIX + "%");
+	}
+
+	@AfterEach
+	void deleteUsers() {
+		jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (SELECT id FROM users WHERE username LIKE ?)", PREFIX + "%");
+		jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", PREFIX + "%");
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void listingUsersRunsOneQueryRegardlessOfUserCount() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		mockMvc.perform(get("/api/users"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.username == 'query-count-0')].roles[0]").value("USER"))
+				.andExpect(jsonPath("$[?(@.username == 'query-count-1')].roles[*]", containsInAnyOrder("ADMIN", "MANAGER")));
+
+		assertEquals(1, statistics.getPrepareStatementCount(), "GET /api/users should load users and roles in one query");
+		assertEquals(0, statistics.getCollectionFetchCount(), "Roles should not be fetched as a collection");
+	}
+
+}
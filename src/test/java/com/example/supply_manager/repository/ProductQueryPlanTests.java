@@ -0,0 +1,96 @@
+package com.example.supply_manager.repository;
+
+import com.example.supply_manager.entity.Product;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Explains the SQL Hibernate actually emits for ProductSpecifications.filter + sort, not a hand-written equivalent
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.example.supply_manager.repository.ProductQueryPlanTests$CapturingInspector")
+class ProductQueryPlanTests {
+
+	private static final BigDecimal TEN = BigDecimal.TEN;
+	private static final BigDecimal TWENTY = BigDecimal.valueOf(20);
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	static Stream<Arguments> filterCombinations() {
+		return Stream.of(
+				Arguments.of(1L, null, null, null, null, null),
+				Arguments.of(1L, null, null, null, true, null),
+				Arguments.of(1L, null, null, null, false, null),
+				Arguments.of(1L, null, TEN, TWENTY, null, "-price"),
+				Arguments.of(null, 1L, null, null, null, "name"),
+				Arguments.of(null, 1L, null, null, true, null),
+				Arguments.of(null, null, TEN, null, null, "price,desc"),
+				Arguments.of(null, null, TEN, TWENTY, null, null)
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("filterCombinations")
+	void filterCombinationUsesIndex(Long categoryId, Long supplierId, BigDecimal minPrice, BigDecimal maxPrice,
+									Boolean lowStock, String sort) {
+		CapturingInspector.CAPTURED.get().clear();
+		productRepository.findAll(ProductSpecifications.filter(categoryId, supplierId, minPrice, maxPrice, lowStock),
+				ProductSpecifications.sort(sort));
+		List<String> statements = CapturingInspector.CAPTURED.get();
+		assertEquals(1, statements.size(), () -> "Expected a single statement but got " + statements);
+		String sql = statements.get(0);
+
+		// Bind the same values, in the same order, as the predicates ProductSpecifications.filter adds
+		List<Object> args = new ArrayList<>();
+		for (Object value : new Object[] { categoryId, supplierId, minPrice, maxPrice }) {
+			if (value != null) {
+				args.add(value);
+			}
+		}
+		String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args.toArray());
+		String access = productsAccess(plan);
+		assertTrue(access.contains(": "), () -> "Expected an index lookup on products for\n" + sql + "\nbut got:\n" + plan);
+	}
+
+	@Test
+	void planCheckRejectsUnfilteredScan() {
+		String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM products ORDER BY id", String.class);
+		assertFalse(productsAccess(plan).contains(": "), () -> "Unfiltered scan was not detected:\n" + plan);
+	}
+
+	// H2 prints the access path as "/* PUBLIC.INDEX_NAME: condition */" after the table; a full scan has no condition
+	private static String productsAccess(String plan) {
+		int table = plan.indexOf("\"PUBLIC\".\"PRODUCTS\"");
+		int start = plan.indexOf("/*", table);
+		return table < 0 || start < 0 ? "" : plan.substring(start, plan.indexOf("*/", start));
+	}
+
+	public static class CapturingInspector implements StatementInspector {
+
+		static final ThreadLocal<List<String>> CAPTURED = ThreadLocal.withInitial(ArrayList::new);
+
+		@Override
+		public String inspect(String sql) {
+			CAPTURED.get().add(sql);
+			return sql;
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.example.supply_manager.repository;
+
+import com.example.supply_manager.entity.Category;
+import com.example.supply_manager.entity.Product;
+import com.example.supply_manager.entity.Supplier;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.supply_manager.repository.ShardedProductStoreBenchmark
+public class ShardedProductStoreBenchmark {
+
+	private static final int PRODUCTS = 50_000;
+	private static final int WRITERS = 16;
+
+	public static void main(String[] args) throws Exception {
+		for (int shardCount : new int[] { 1, 2, 4, 8 }) {
+			List<DataSource> dataSources = new ArrayList<>();
+			for (int i = 0; i < shardCount; i++) {
+				dataSources.add(new DriverManagerDataSource(
+						"jdbc:h2:mem:bench_" + shardCount + "_" + i + ";DB_CLOSE_DELAY=-1", "sa", ""));
+			}
+			try (ShardedProductStore store = new ShardedProductStore(dataSources)) {
+				System.out.printf("shards=%d inserts/s=%.0f%n", shardCount, measureInserts(store));
+			}
+		}
+	}
+
+	private static double measureInserts(ShardedProductStore store) throws InterruptedException {
+		Category category = new Category();
+		category.setId(1L);
+		Supplier supplier = new Supplier();
+		supplier.setId(1L);
+		AtomicInteger next = new AtomicInteger();
+
+		ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+		long start = System.nanoTime();
+		for (int w = 0; w < WRITERS; w++) {
+			writers.execute(() -> {
+				int n;
+				while ((n = next.getAndIncrement()) < PRODUCTS) {
+					store.insert(new Product("SKU-" + n, "Product " + n, null, BigDecimal.TEN, 100, 10, category, supplier));
+				}
+			});
+		}
+		writers.shutdown();
+		writers.awaitTermination(10, TimeUnit.MINUTES);
+		return PRODUCTS / ((System.nanoTime() - start) / 1e9);
+	}
+
+}
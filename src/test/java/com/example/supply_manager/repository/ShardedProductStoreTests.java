@@ -0,0 +1,96 @@
+package com.example.supply_manager.repository;
+
+import com.example.supply_manager.entity.Category;
+import com.example.supply_manager.entity.Product;
+import com.example.supply_manager.entity.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ShardedProductStoreTests {
+
+	private static final int SHARDS = 3;
+	private static final int PRODUCTS = 120;
+
+	private ShardedProductStore store;
+
+	private final List<Product> inserted = new ArrayList<>();
+
+	@BeforeEach
+	void createShards() {
+		String run = UUID.randomUUID().toString().replace("-", "");
+		List<DataSource> dataSources = new ArrayList<>();
+		for (int i = 0; i < SHARDS; i++) {
+			dataSources.add(new DriverManagerDataSource("jdbc:h2:mem:shard_" + run + "_" + i + ";DB_CLOSE_DELAY=-1", "sa", ""));
+		}
+		store = new ShardedProductStore(dataSources);
+		for (int n = 0; n < PRODUCTS; n++) {
+			Category category = new Category();
+			category.setId(1L + n % 3);
+			Supplier supplier = new Supplier();
+			supplier.setId(1L + n % 4);
+			inserted.add(store.insert(new Product("SKU-" + n, "Product " + (n * 37 % PRODUCTS), null,
+					BigDecimal.valueOf(5 + n % 20), n % 15, 7, category, supplier)));
+		}
+	}
+
+	@AfterEach
+	void closeShards() throws Exception {
+		store.close();
+	}
+
+	@Test
+	void idOutsideShardRangeIsNotFound() {
+		long unknownShard = (1L << ShardedProductStore.SHARD_BITS) | SHARDS;
+
+		assertFalse(store.setQuantity(unknownShard, 5));
+		assertFalse(store.adjustQuantity(unknownShard, 5));
+		assertFalse(store.findById(unknownShard).isPresent());
+	}
+
+	@Test
+	void categoryAndSupplierReadsGatherEveryShard() {
+		assertEquals(ids(p -> p.getCategory().getId() == 2L), ids(store.findByCategory(2L)));
+		assertEquals(ids(p -> p.getSupplier().getId() == 3L), ids(store.findBySupplier(3L)));
+		assertEquals(ids(p -> p.getCategory().getId() == 1L && p.getQuantity() < p.getMinimumStock()),
+				ids(store.findLowStockByCategory(1L)));
+	}
+
+	@Test
+	void filterMergesShardsInRequestedOrder() {
+		List<Product> result = store.findByFilter(null, 2L, BigDecimal.valueOf(8), BigDecimal.valueOf(20), false,
+				Sort.by(Sort.Order.desc("price"), Sort.Order.asc("name")));
+
+		List<Long> expected = inserted.stream()
+				.filter(p -> p.getSupplier().getId() == 2L)
+				.filter(p -> p.getPrice().compareTo(BigDecimal.valueOf(8)) >= 0 && p.getPrice().compareTo(BigDecimal.valueOf(20)) <= 0)
+				.filter(p -> p.getQuantity() >= p.getMinimumStock())
+				.sorted(Comparator.comparing(Product::getPrice).reversed().thenComparing(Product::getName))
+				.map(Product::getId)
+				.toList();
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, result.stream().map(Product::getId).toList());
+	}
+
+	private List<Long> ids(Predicate<Product> filter) {
+		return inserted.stream().filter(filter).map(Product::getId).sorted().toList();
+	}
+
+	private static List<Long> ids(List<Product> products) {
+		return products.stream().map(Product::getId).toList();
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.example.supply_manager.repository;
+
+import com.example.supply_manager.SupplyManagerApplication;
+import com.example.supply_manager.seed.CatalogSeeder;
+import com.example.supply_manager.seed.SeedSpec;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+
+// Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.supply_manager.repository.SparseFieldsBenchmark
+public class SparseFieldsBenchmark {
+
+	private static final int ROUNDS = 20;
+
+	public static void main(String[] args) throws Exception {
+		try (ConfigurableApplicationContext context = SpringApplication.run(SupplyManagerApplication.class,
+				"--server.port=0", "--spring.jpa.show-sql=false", "--supply.alerts.low-stock.interval=3600000",
+				"--supply.admission.enabled=false")) {
+			new CatalogSeeder(context.getBean(DataSource.class)).seed(new SeedSpec(42, 1_000, 500, 100_000));
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			HttpClient client = HttpClient.newHttpClient();
+
+			String page = "http://localhost:" + port + "/api/products?page=0&size=10000";
+			run(client, "full entities", page);
+			run(client, "fields=id,code,quantity", page + "&fields=id,code,quantity");
+			run(client, "fields=id,code,name,price", page + "&fields=id,code,name,price");
+			run(client, "suppliers full", "http://localhost:" + port + "/api/suppliers");
+			run(client, "suppliers fields=id,name", "http://localhost:" + port + "/api/suppliers?fields=id,name");
+		}
+	}
+
+	private static void run(HttpClient client, String label, String url) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+		long[] micros = new long[ROUNDS];
+		long bytes = 0;
+		for (int warmup = 0; warmup < 5; warmup++) {
+			client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+		}
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+			micros[i] = (System.nanoTime() - start) / 1_000;
+			if (response.statusCode() != 200) {
+				throw new IllegalStateException(label + " returned " + response.statusCode());
+			}
+			bytes = response.body().length;
+		}
+		Arrays.sort(micros);
+		System.out.printf("%-28s payload=%8.1fKB p50=%6.1fms p90=%6.1fms%n",
+				label, bytes / 1024.0, micros[ROUNDS / 2] / 1000.0, micros[ROUNDS * 9 / 10] / 1000.0);
+	}
+
+}
@@ -0,0 +1,127 @@
+package com.example.supply_manager.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+		"com.example.supply_manager.repository.SparseFieldsTests$RecordingInspector")
+@AutoConfigureMockMvc
+class SparseFieldsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void passwordCannotBeSelected() throws Exception {
+		mockMvc.perform(get("/api/users").param("fields", "id,password"))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string(containsString("Unknown field: password")));
+		mockMvc.perform(get("/api/users").param("fields", "password"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void selectedUserFieldsAreTheOnlyOnesReturned() throws Exception {
+		String username = "sparse-" + UUID.randomUUID().toString().substring(0, 8);
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.update("INSERT INTO users (username, password, email, full_name, is_active, role_mask, created_at, updated_at) " +
+				"VALUES (?, '{noop}secret', ?, 'Sparse', TRUE, 2, ?, ?)", username, username + "@example.com", now, now);
+		try {
+			mockMvc.perform(get("/api/users").param("fields", "id,username,roles"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$[?(@.username == '" + username + "')].roles[0]").value("USER"))
+					.andExpect(jsonPath("$[0].id").exists())
+					.andExpect(jsonPath("$[0].password").doesNotExist())
+					.andExpect(jsonPath("$[0].email").doesNotExist());
+		} finally {
+			jdbcTemplate.update("DELETE FROM users WHERE username = ?", username);
+		}
+	}
+
+	@Test
+	void unknownAndEmptyFieldsAreRejected() throws Exception {
+		mockMvc.perform(get("/api/products").param("fields", "id,cost"))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string(containsString("Unknown field: cost")));
+		mockMvc.perform(get("/api/products").param("fields", " , "))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/suppliers").param("fields", "products"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void categoryIdIsReadFromTheForeignKeyWithoutAJoin() throws Exception {
+		long[] ids = insertProduct();
+
+		RecordingInspector.STATEMENTS.clear();
+		mockMvc.perform(get("/api/products/" + ids[0]).param("fields", "code,categoryId,supplierId"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.categoryId").value(ids[1]))
+				.andExpect(jsonPath("$.supplierId").value(ids[2]))
+				.andExpect(jsonPath("$.name").doesNotExist());
+
+		List<String> selects = RecordingInspector.STATEMENTS.stream()
+				.filter(sql -> sql.toLowerCase().startsWith("select")).toList();
+		assertEquals(1, selects.size(), "one query: " + selects);
+		String sql = selects.get(0).toLowerCase();
+		assertFalse(sql.contains(" join "), sql);
+		assertFalse(sql.contains("categories"), sql);
+		assertFalse(sql.contains("description"), sql);
+	}
+
+	// Returns { productId, categoryId, supplierId }
+	private long[] insertProduct() {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.update("INSERT INTO categories (name, description, created_at, updated_at) VALUES (?, NULL, ?, ?)",
+				"Sparse " + suffix, now, now);
+		jdbcTemplate.update("INSERT INTO suppliers (name, contact, email, phone, tax_id, address, created_at, updated_at) " +
+				"VALUES (?, 'Buyer', ?, '555-0100', ?, '1 Sparse Way', ?, ?)",
+				"Sparse " + suffix, suffix + "@example.com", "SPARSE-" + suffix, now, now);
+		long categoryId = jdbcTemplate.queryForObject("SELECT id FROM categories WHERE name = ?", Long.class, "Sparse " + suffix);
+		long supplierId = jdbcTemplate.queryForObject("SELECT id FROM suppliers WHERE name = ?", Long.class, "Sparse " + suffix);
+		jdbcTemplate.update("INSERT INTO products (code, name, price, quantity, minimum_stock, category_id, supplier_id, " +
+				"created_at, updated_at) VALUES (?, ?, 1.00, 5, 1, ?, ?, ?, ?)",
+				"SP-" + suffix, "Sparse " + suffix, categoryId, supplierId, now, now);
+		long productId = jdbcTemplate.queryForObject("SELECT id FROM products WHERE code = ?", Long.class, "SP-" + suffix);
+		return new long[] { productId, categoryId, supplierId };
+	}
+
+	// Sees every SQL string Hibernate prepares, so the test can check what a sparse read actually selects
+	public static class RecordingInspector implements StatementInspector {
+
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+
+}
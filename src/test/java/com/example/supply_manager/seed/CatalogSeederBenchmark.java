@@ -0,0 +1,23 @@
+package com.example.supply_manager.seed;
+
+import com.example.supply_manager.SupplyManagerApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+
+// Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.supply_manager.seed.CatalogSeederBenchmark
+public class CatalogSeederBenchmark {
+
+	public static void main(String[] args) {
+		try (ConfigurableApplicationContext context = SpringApplication.run(SupplyManagerApplication.class,
+				"--server.port=0", "--spring.jpa.show-sql=false", "--supply.alerts.low-stock.interval=3600000")) {
+			CatalogSeeder seeder = new CatalogSeeder(context.getBean(DataSource.class));
+			SeedResult result = seeder.seed(new SeedSpec(42, 2_000, 1_000, 1_000_000));
+			System.out.printf("products=%d categories=%d suppliers=%d lowStock=%d elapsed=%dms (%.0f rows/s)%n",
+					result.getProducts(), result.getCategories(), result.getSuppliers(), result.getLowStockProducts(),
+					result.getElapsedMillis(), result.getProducts() / (result.getElapsedMillis() / 1000.0));
+		}
+	}
+
+}
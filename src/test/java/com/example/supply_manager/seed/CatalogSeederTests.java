@@ -0,0 +1,60 @@
+package com.example.supply_manager.seed;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest
+class CatalogSeederTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void sameSeedProducesSameRows() {
+		// Batch size below the row counts so ids come back across several batches
+		SeedResult first = seed("DETA", 11);
+		SeedResult second = seed("DETB", 11);
+		seed("DETC", 12);
+
+		assertEquals(first.getLowStockProducts(), second.getLowStockProducts());
+		List<String> rows = rows("DETA");
+		assertEquals(60, rows.size());
+		assertEquals(rows, rows("DETB"));
+		assertNotEquals(rows, rows("DETC"));
+	}
+
+	private SeedResult seed(String prefix, long seed) {
+		SeedSpec spec = new SeedSpec(seed, 4, 3, 60);
+		spec.setPrefix(prefix);
+		spec.setBatchSize(7);
+		return new CatalogSeeder(dataSource).seed(spec);
+	}
+
+	// Every product column plus the category and supplier it points at, with the run prefix removed
+	private List<String> rows(String prefix) {
+		return jdbcTemplate.query("SELECT p.code, p.name, p.description, p.price, p.quantity, p.minimum_stock, "
+						+ "c.name, s.name, s.email, s.phone, s.tax_id, s.address FROM products p "
+						+ "JOIN categories c ON c.id = p.category_id JOIN suppliers s ON s.id = p.supplier_id "
+						+ "WHERE p.code LIKE ? ORDER BY p.code",
+				(rs, rowNum) -> {
+					StringBuilder row = new StringBuilder();
+					for (int i = 1; i <= 12; i++) {
+						row.append(rs.getString(i)).append('|');
+					}
+					return row.toString().replace(prefix, "").replace(prefix.toLowerCase(), "");
+				},
+				prefix + "-%");
+	}
+
+}
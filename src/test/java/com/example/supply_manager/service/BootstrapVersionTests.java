@@ -0,0 +1,54 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.entity.Category;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest
+class BootstrapVersionTests {
+
+	@Autowired
+	private BootstrapService bootstrapService;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void versionChangesOnlyOnceWriteCommits() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		String before = bootstrapService.version();
+
+		transaction.executeWithoutResult(status -> {
+			categoryService.save(new Category("Bootstrap " + UUID.randomUUID(), null));
+			// A long bulk write is still open here; clients must keep their copy
+			assertEquals(before, bootstrapService.version());
+		});
+
+		assertNotEquals(before, bootstrapService.version());
+	}
+
+	@Test
+	void rolledBackWriteKeepsVersion() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		String before = bootstrapService.version();
+
+		transaction.executeWithoutResult(status -> {
+			categoryService.save(new Category("Bootstrap " + UUID.randomUUID(), null));
+			status.setRollbackOnly();
+		});
+
+		assertEquals(before, bootstrapService.version());
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.cache.SingleFlight;
+import com.example.supply_manager.entity.Category;
+import com.example.supply_manager.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+class CategoryListCoalescingTests {
+
+	private static final int READERS = 32;
+
+	@MockitoSpyBean
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private SingleFlight singleFlight;
+
+	@Test
+	void concurrentIdenticalListReadsShareOneRepositoryCall() throws Exception {
+		singleFlight.onInvalidateAll();
+		clearInvocations(categoryRepository);
+		List<Category> stored = List.of(new Category("Coalesced", null));
+		// Keep the first load in flight long enough for every reader to arrive
+		doAnswer(invocation -> {
+			Thread.sleep(300);
+			return stored;
+		}).when(categoryRepository).findAll();
+
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService readers = Executors.newFixedThreadPool(READERS);
+		try {
+			List<Future<List<Category>>> results = new ArrayList<>();
+			for (int i = 0; i < READERS; i++) {
+				results.add(readers.submit(() -> {
+					start.await();
+					return categoryService.findAll();
+				}));
+			}
+			start.countDown();
+
+			for (Future<List<Category>> result : results) {
+				assertSame(stored, result.get());
+			}
+		} finally {
+			readers.shutdown();
+		}
+
+		verify(categoryRepository, times(1)).findAll();
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.dto.MinimumStockRecommendation;
+import com.example.supply_manager.entity.Category;
+import com.example.supply_manager.entity.Product;
+import com.example.supply_manager.entity.Supplier;
+import com.example.supply_manager.repository.CategoryRepository;
+import com.example.supply_manager.repository.ProductRepository;
+import com.example.supply_manager.repository.SupplierRepository;
+import com.example.supply_manager.timeseries.StockHistoryStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class DemandForecastServiceTests {
+
+	private static final long DAY_MILLIS = 86_400_000L;
+
+	@TempDir
+	static Path historyDirectory;
+
+	@DynamicPropertySource
+	static void historyProperties(DynamicPropertyRegistry registry) {
+		registry.add("supply.stock-history.directory", historyDirectory::toString);
+	}
+
+	@Autowired
+	private DemandForecastService demandForecastService;
+
+	@Autowired
+	private StockHistoryStore stockHistoryStore;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private SupplierRepository supplierRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void productsNeedTwoSeasonsOfHistoryAndEditedRowsAreSkipped() {
+		Long established = createProduct();
+		Long edited = createProduct();
+		Long recent = createProduct();
+		Long single = createProduct();
+		Long oldSingle = createProduct();
+		long today = Math.floorDiv(System.currentTimeMillis(), DAY_MILLIS);
+		recordDailyRemovals(established, today - 30, today);
+		recordDailyRemovals(edited, today - 30, today);
+		recordDailyRemovals(recent, today - 10, today);
+		stockHistoryStore.record(single, 100, (today - 1) * DAY_MILLIS);
+		stockHistoryStore.record(oldSingle, 100, (today - 40) * DAY_MILLIS);
+
+		demandForecastService.run();
+		Map<Long, MinimumStockRecommendation> recommendations = new HashMap<>();
+		for (MinimumStockRecommendation recommendation : demandForecastService.findRecommendations(false, 0, Integer.MAX_VALUE)) {
+			recommendations.put(recommendation.getProductId(), recommendation);
+		}
+
+		assertTrue(recommendations.containsKey(established));
+		assertEquals(5, recommendations.get(established).getDailyDemand(), 0.5);
+		assertFalse(recommendations.containsKey(recent), "ten days of samples is less than two weekly seasons");
+		assertFalse(recommendations.containsKey(single), "one sample is not a history");
+		assertFalse(recommendations.containsKey(oldSingle), "one old sample spans two seasons but is still not a history");
+
+		// Someone sets a minimum stock by hand after the forecast read it
+		jdbcTemplate.update("UPDATE products SET minimum_stock = 42 WHERE id = ?", edited);
+
+		Map<String, Object> result = demandForecastService.applyRecommendations();
+
+		assertTrue((Integer) result.get("skipped") >= 1);
+		assertEquals(42, minimumStock(edited));
+		assertEquals(recommendations.get(established).getRecommendedMinimumStock(), minimumStock(established));
+	}
+
+	private Long createProduct() {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		Category category = categoryRepository.save(new Category("Forecast " + suffix, null));
+		Supplier supplier = supplierRepository.save(new Supplier("Forecast " + suffix, "Buyer", suffix + "@example.com",
+				"555-0100", "TAX-" + suffix, "1 Forecast Way"));
+		return productRepository.save(new Product("FC-" + suffix, "Forecast " + suffix, null, BigDecimal.ONE,
+				1_000, 999, category, supplier)).getId();
+	}
+
+	// Five units removed every day, sampled at noon
+	private void recordDailyRemovals(Long productId, long fromDay, long toDay) {
+		int quantity = 1_000;
+		for (long day = fromDay; day < toDay; day++) {
+			stockHistoryStore.record(productId, quantity, day * DAY_MILLIS + DAY_MILLIS / 2);
+			quantity -= 5;
+		}
+	}
+
+	private int minimumStock(Long productId) {
+		return jdbcTemplate.queryForObject("SELECT minimum_stock FROM products WHERE id = ?", Integer.class, productId);
+	}
+
+}
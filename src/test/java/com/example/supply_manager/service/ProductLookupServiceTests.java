@@ -0,0 +1,140 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.dto.ProductLookupResult;
+import com.example.supply_manager.entity.Product;
+import com.example.supply_manager.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Even ids exist, with code "P-<id>"; the repository records the size of every IN list it is given
+class ProductLookupServiceTests {
+
+	private static final int CHUNK_SIZE = 500;
+
+	private static final int MAX_KEYS = 5_000;
+
+	private final List<Integer> idChunks = Collections.synchronizedList(new ArrayList<>());
+
+	private final List<Integer> codeChunks = Collections.synchronizedList(new ArrayList<>());
+
+	private ProductLookupService service;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		ProductRepository productRepository = mock(ProductRepository.class);
+		when(productRepository.findByIdIn(anyList())).thenAnswer(invocation -> {
+			List<Long> ids = invocation.getArgument(0);
+			idChunks.add(ids.size());
+			return ids.stream().filter(id -> id % 2 == 0).map(ProductLookupServiceTests::product).toList();
+		});
+		when(productRepository.findByCodeIn(anyList())).thenAnswer(invocation -> {
+			List<String> codes = invocation.getArgument(0);
+			codeChunks.add(codes.size());
+			return codes.stream().map(code -> Long.parseLong(code.substring(2))).filter(id -> id % 2 == 0)
+					.map(ProductLookupServiceTests::product).toList();
+		});
+		service = new ProductLookupService();
+		ReflectionTestUtils.setField(service, "productRepository", productRepository);
+		ReflectionTestUtils.setField(service, "productSuggestionIndex", mock(ProductSuggestionIndex.class));
+		ReflectionTestUtils.setField(service, "maxKeys", MAX_KEYS);
+		ReflectionTestUtils.setField(service, "chunkSize", CHUNK_SIZE);
+		ReflectionTestUtils.setField(service, "parallelism", 4);
+		service.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void entriesFollowRequestOrderWithNotFoundMarkers() {
+		ProductLookupResult result = service.lookup(List.of(8L, 3L, 2L), null);
+
+		assertEquals(List.of(8L, 3L, 2L), result.getIds().stream().map(ProductLookupResult.Entry::getKey).toList());
+		assertEquals(8L, result.getIds().get(0).getProduct().getId());
+		assertFalse(result.getIds().get(1).isFound());
+		assertNull(result.getIds().get(1).getProduct());
+		assertEquals(2, result.getFound());
+		assertEquals(1, result.getNotFound());
+	}
+
+	@Test
+	void duplicateKeysAreQueriedOnceButAnsweredEachTime() {
+		ProductLookupResult result = service.lookup(List.of(4L, 4L, 5L, 4L), List.of("P-6", "P-6"));
+
+		assertEquals(List.of(2), idChunks);
+		assertEquals(List.of(1), codeChunks);
+		assertEquals(4, result.getIds().size());
+		assertEquals(2, result.getCodes().size());
+		assertTrue(result.getIds().get(3).isFound());
+		assertTrue(result.getCodes().get(1).isFound());
+		assertEquals(5, result.getFound());
+		assertEquals(1, result.getNotFound());
+	}
+
+	@Test
+	void idsAndCodesAreResolvedSeparately() {
+		ProductLookupResult result = service.lookup(List.of(10L, 11L), List.of("P-10", "P-11", "P-12"));
+
+		assertEquals(List.of(true, false), result.getIds().stream().map(ProductLookupResult.Entry::isFound).toList());
+		assertEquals(List.of("P-10", "P-11", "P-12"), result.getCodes().stream().map(ProductLookupResult.Entry::getKey).toList());
+		assertEquals(List.of(true, false, true), result.getCodes().stream().map(ProductLookupResult.Entry::isFound).toList());
+		assertEquals("P-12", result.getCodes().get(2).getProduct().getCode());
+	}
+
+	@Test
+	void keysAreSplitIntoChunksOfTheConfiguredSize() {
+		List<Long> ids = LongStream.rangeClosed(1, 2 * CHUNK_SIZE + 1).boxed().toList();
+		List<String> codes = LongStream.rangeClosed(1, CHUNK_SIZE).mapToObj(id -> "P-" + id).toList();
+
+		ProductLookupResult result = service.lookup(ids, codes);
+
+		assertEquals(List.of(1, CHUNK_SIZE, CHUNK_SIZE), idChunks.stream().sorted().toList());
+		assertEquals(List.of(CHUNK_SIZE), codeChunks);
+		assertEquals(ids.size(), result.getIds().size());
+		assertEquals(ids, result.getIds().stream().map(ProductLookupResult.Entry::getKey).toList());
+		assertEquals(CHUNK_SIZE + CHUNK_SIZE / 2, result.getFound());
+	}
+
+	@Test
+	void requestsOverTheKeyLimitAreRejected() {
+		List<Long> ids = LongStream.rangeClosed(1, MAX_KEYS - 1).boxed().toList();
+
+		assertEquals(MAX_KEYS, service.lookup(ids, List.of("P-1")).getIds().size() + 1);
+		RuntimeException e = assertThrows(RuntimeException.class, () -> service.lookup(ids, List.of("P-1", "P-2")));
+		assertTrue(e.getMessage().contains("At most " + MAX_KEYS));
+	}
+
+	@Test
+	void emptyAndNullKeysAreRejected() {
+		assertThrows(RuntimeException.class, () -> service.lookup(null, List.of()));
+		assertThrows(RuntimeException.class, () -> service.lookup(Arrays.asList(1L, null), null));
+	}
+
+	private static Product product(long id) {
+		Product product = new Product();
+		product.setId(id);
+		product.setCode("P-" + id);
+		return product;
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.SupplyManagerApplication;
+import com.example.supply_manager.seed.CatalogSeeder;
+import com.example.supply_manager.seed.SeedSpec;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+
+// Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.supply_manager.service.ProductPageBootstrapBenchmark
+public class ProductPageBootstrapBenchmark {
+
+	private static final int ROUNDS = 15;
+
+	public static void main(String[] args) throws Exception {
+		try (ConfigurableApplicationContext context = SpringApplication.run(SupplyManagerApplication.class,
+				"--server.port=0", "--spring.jpa.show-sql=false", "--supply.alerts.low-stock.interval=3600000")) {
+			CatalogSeeder seeder = new CatalogSeeder(context.getBean(DataSource.class));
+			HttpClient client = HttpClient.newHttpClient();
+			String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+			// Each round adds to the previous one, so the totals are 10k and then 100k products
+			int total = 0;
+			for (int added : new int[] { 10_000, 90_000 }) {
+				SeedSpec spec = new SeedSpec(added, 500, 250, added);
+				spec.setPrefix("BOOT" + added);
+				seeder.seed(spec);
+				total += added;
+				System.out.printf("-- %d products%n", total);
+
+				measure("three sequential requests", () -> {
+					long bytes = 0;
+					for (String path : new String[] { "/api/products", "/api/categories", "/api/suppliers" }) {
+						bytes += get(client, base + path, null).body().length;
+					}
+					return bytes;
+				});
+				measure("bootstrap (200)", () -> get(client, base + "/api/bootstrap/products", null).body().length);
+
+				String etag = get(client, base + "/api/bootstrap/products", null).headers().firstValue("ETag").orElseThrow();
+				measure("bootstrap revalidated (304)", () -> {
+					HttpResponse<byte[]> response = get(client, base + "/api/bootstrap/products", etag);
+					if (response.statusCode() != 304) {
+						throw new IllegalStateException("Expected 304 but got " + response.statusCode());
+					}
+					return response.body().length;
+				});
+			}
+		}
+	}
+
+	private static HttpResponse<byte[]> get(HttpClient client, String url, String ifNoneMatch) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).GET();
+		if (ifNoneMatch != null) {
+			request.header("If-None-Match", ifNoneMatch);
+		}
+		return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private static void measure(String label, Load load) throws Exception {
+		for (int warmup = 0; warmup < 3; warmup++) {
+			load.run();
+		}
+		long[] micros = new long[ROUNDS];
+		long bytes = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			bytes = load.run();
+			micros[i] = (System.nanoTime() - start) / 1_000;
+		}
+		Arrays.sort(micros);
+		System.out.printf("%-30s payload=%9.1fKB p50=%7.1fms p90=%7.1fms%n",
+				label, bytes / 1024.0, micros[ROUNDS / 2] / 1000.0, micros[ROUNDS * 9 / 10] / 1000.0);
+	}
+
+	private interface Load {
+		long run() throws Exception;
+	}
+
+}
@@ -0,0 +1,209 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.dto.ProductSuggestion;
+import com.example.supply_manager.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSuggestionIndexTests {
+
+	private static final int PRODUCTS = 200;
+
+	private final ProductSuggestionIndex index = new ProductSuggestionIndex();
+
+	@Test
+	void insertSplitsEdgeAtSharedPrefix() {
+		index.put(1L, "abc", "abc");
+		index.put(2L, "abd", "ABD");
+
+		// root -> "ab" -> {"c", "d"}
+		assertEquals(4L, index.stats().get("nodes"));
+		assertEquals(4L, index.stats().get("labelChars"));
+		assertEquals(List.of("abc", "abd"), codes(index.suggest("a", 10)));
+		assertEquals(List.of("abc", "abd"), codes(index.suggest("AB", 10)));
+		assertEquals(List.of("abd"), codes(index.suggest("abd", 10)));
+		assertTrue(index.suggest("abx", 10).isEmpty());
+		assertTrue(index.suggest("abcd", 10).isEmpty());
+	}
+
+	@Test
+	void removeMergesSingleChildBackIntoParent() {
+		index.put(1L, "abc", "abc");
+		index.put(2L, "abd", "abd");
+
+		index.remove(2L);
+
+		// "ab" lost its terminal sibling, so it folds into "abc"
+		assertEquals(2L, index.stats().get("nodes"));
+		assertEquals(3L, index.stats().get("labelChars"));
+		assertEquals(List.of("abc"), codes(index.suggest("ab", 10)));
+		assertTrue(index.suggest("abd", 10).isEmpty());
+
+		index.remove(1L);
+
+		assertEquals(1L, index.stats().get("nodes"));
+		assertEquals(0, index.stats().get("keys"));
+		assertTrue(index.suggest("a", 10).isEmpty());
+	}
+
+	@Test
+	void removeKeepsNodeThatStillEndsAKey() {
+		index.put(1L, "ab", "ab");
+		index.put(2L, "abc", "abc");
+
+		index.remove(2L);
+
+		assertEquals(2L, index.stats().get("nodes"));
+		assertEquals(List.of("ab"), codes(index.suggest("a", 10)));
+	}
+
+	@Test
+	void putWithNewNameReindexesProduct() {
+		index.put(1L, "P-1", "Widget");
+
+		index.put(1L, "P-1", "Gadget");
+
+		assertTrue(index.suggest("wid", 10).isEmpty());
+		assertEquals(List.of("P-1"), codes(index.suggest("gad", 10)));
+		assertEquals(List.of("P-1"), codes(index.suggest("p-", 10)));
+	}
+
+	@Test
+	void cachedTopListsMatchFullRanking() {
+		Map<Long, Long> scores = seed();
+		Random random = new Random(7);
+		for (int i = 0; i < 5_000; i++) {
+			long id = 1 + random.nextInt(PRODUCTS);
+			index.recordHit(id);
+			scores.merge(id, 1L, Long::sum);
+		}
+
+		assertTrue((Long) index.stats().get("cachedNodes") > 0);
+		assertEquals(expected("p", scores, 20), codes(index.suggest("p", 20)));
+		assertEquals(expected("p1", scores, 20), codes(index.suggest("p1", 20)));
+		assertEquals(expected("p0", scores, 5), codes(index.suggest("p0", 5)));
+		assertEquals(expected("p15", scores, 20), codes(index.suggest("p15", 20)));
+	}
+
+	@Test
+	void removingTopEntryRecomputesCachedList() {
+		Map<Long, Long> scores = seed();
+		for (int i = 0; i < 50; i++) {
+			index.recordHit(42L);
+			scores.merge(42L, 1L, Long::sum);
+		}
+		assertEquals("p042", index.suggest("p", 1).get(0).getCode());
+
+		index.remove(42L);
+		scores.remove(42L);
+
+		List<String> top = codes(index.suggest("p", 20));
+		assertFalse(top.contains("p042"));
+		assertEquals(expected("p", scores, 20), top);
+	}
+
+	@Test
+	void concurrentHitsKeepRankingConsistent() throws Exception {
+		Map<Long, Long> scores = seed();
+		int threads = 8;
+		int hitsPerThread = 20_000;
+		AtomicLongArray counts = new AtomicLongArray(PRODUCTS + 1);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				Random random = new Random(t);
+				futures.add(pool.submit(() -> {
+					for (int i = 0; i < hitsPerThread; i++) {
+						// Skewed so a few products keep overtaking each other in the cached lists
+						int id = 1 + (int) (PRODUCTS * Math.pow(random.nextDouble(), 3));
+						index.recordHit((long) id);
+						counts.incrementAndGet(id);
+						if (i % 1_000 == 0) {
+							index.suggest("p", 20);
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+		for (long id = 1; id <= PRODUCTS; id++) {
+			scores.put(id, counts.get((int) id));
+		}
+
+		assertEquals(expected("p", scores, 20), codes(index.suggest("p", 20)));
+		assertEquals(expected("p1", scores, 20), codes(index.suggest("p1", 20)));
+	}
+
+	@Test
+	void rebuildKeepsPutThatLandsWhileKeysAreLoading() {
+		ProductRepository repository = mock(ProductRepository.class);
+		ReflectionTestUtils.setField(index, "productRepository", repository);
+		index.put(1L, "old-1", "old-1");
+		index.put(2L, "gone-2", "gone-2");
+		when(repository.findAllSuggestionKeys()).thenAnswer(invocation -> {
+			List<ProductSuggestion> snapshot = List.of(
+					new ProductSuggestion(1L, "old-1", "old-1"),
+					new ProductSuggestion(2L, "gone-2", "gone-2"));
+			// Writes committed after the snapshot was read
+			index.put(1L, "new-1", "new-1");
+			index.remove(2L);
+			index.put(3L, "added-3", "added-3");
+			return snapshot;
+		});
+
+		index.rebuild();
+
+		assertTrue(index.suggest("old", 10).isEmpty());
+		assertEquals(List.of("new-1"), codes(index.suggest("new", 10)));
+		assertTrue(index.suggest("gone", 10).isEmpty());
+		assertEquals(List.of("added-3"), codes(index.suggest("added", 10)));
+		assertEquals(2, index.stats().get("products"));
+	}
+
+	private Map<Long, Long> seed() {
+		Map<Long, Long> scores = new HashMap<>();
+		for (long id = 1; id <= PRODUCTS; id++) {
+			String code = String.format("p%03d", id);
+			index.put(id, code, code);
+			scores.put(id, 0L);
+		}
+		return scores;
+	}
+
+	private static List<String> expected(String prefix, Map<Long, Long> scores, int limit) {
+		return scores.entrySet().stream()
+				.filter(e -> String.format("p%03d", e.getKey()).startsWith(prefix))
+				.sorted(Comparator.comparing((Map.Entry<Long, Long> e) -> e.getValue()).reversed()
+						.thenComparing(e -> String.format("p%03d", e.getKey())))
+				.limit(limit)
+				.map(e -> String.format("p%03d", e.getKey()))
+				.toList();
+	}
+
+	private static List<String> codes(List<ProductSuggestion> suggestions) {
+		return suggestions.stream().map(ProductSuggestion::getCode).toList();
+	}
+
+}
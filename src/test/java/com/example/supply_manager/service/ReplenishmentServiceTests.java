@@ -0,0 +1,124 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.dto.LowStockItem;
+import com.example.supply_manager.dto.ReorderLine;
+import com.example.supply_manager.dto.SupplierOrderDraft;
+import com.example.supply_manager.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplenishmentServiceTests {
+
+	@Test
+	void reorderTopsUpToTheTargetLevel() {
+		ReplenishmentService service = service(2.0, 1);
+
+		assertEquals(17, service.computeReorderQuantity(3, 10));
+		assertEquals(20, service.computeReorderQuantity(0, 10));
+		assertEquals(0, service.computeReorderQuantity(20, 10));
+		assertEquals(0, service.computeReorderQuantity(25, 10));
+	}
+
+	@Test
+	void fractionalTargetIsRoundedUp() {
+		ReplenishmentService service = service(1.5, 1);
+
+		// 1.5 * 7 = 10.5 is a target of 11 units
+		assertEquals(9, service.computeReorderQuantity(2, 7));
+	}
+
+	@Test
+	void targetNeverFallsBelowTheMinimumStock() {
+		ReplenishmentService service = service(0.5, 1);
+
+		assertEquals(6, service.computeReorderQuantity(4, 10));
+	}
+
+	@Test
+	void reorderIsRoundedUpToWholePacks() {
+		ReplenishmentService service = service(2.0, 12);
+
+		assertEquals(24, service.computeReorderQuantity(3, 10));
+		assertEquals(12, service.computeReorderQuantity(8, 10));
+		assertEquals(12, service.computeReorderQuantity(19, 10));
+		assertEquals(0, service.computeReorderQuantity(20, 10));
+	}
+
+	@Test
+	void ordersAreGroupedPerSupplierWithLinesByCode() {
+		ReplenishmentService service = service(2.0, 1, List.of(
+				item(1, "B-2", 1, 5, 20L, "Zeta"),
+				item(2, "A-1", 4, 5, 10L, "Acme"),
+				item(3, "A-0", 2, 5, 10L, "Acme"),
+				item(4, "B-1", 0, 3, 20L, "Zeta")));
+
+		List<SupplierOrderDraft> orders = service.planOrders();
+
+		assertEquals(List.of("Acme", "Zeta"), orders.stream().map(SupplierOrderDraft::getSupplierName).toList());
+		assertEquals(List.of("A-0", "A-1"), codes(orders.get(0)));
+		assertEquals(List.of(8, 6), reorders(orders.get(0)));
+		assertEquals(14L, orders.get(0).getTotalUnits());
+		assertEquals(List.of("B-1", "B-2"), codes(orders.get(1)));
+		assertEquals(List.of(6, 9), reorders(orders.get(1)));
+	}
+
+	@Test
+	void streamedPlanHoldsTheSameDraftsAsTheList() {
+		List<LowStockItem> items = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			long supplier = i % 37;
+			items.add(item(i, "C-" + i, i % 4, 5, supplier, "Supplier " + supplier));
+		}
+		ReplenishmentService service = service(2.0, 6, items);
+
+		List<SupplierOrderDraft> streamed = new CopyOnWriteArrayList<>();
+		service.planOrders(streamed::add);
+		List<SupplierOrderDraft> sorted = new ArrayList<>(streamed);
+		sorted.sort(Comparator.comparing(SupplierOrderDraft::getSupplierName));
+		List<SupplierOrderDraft> listed = service.planOrders();
+
+		assertEquals(37, streamed.size());
+		for (int i = 0; i < listed.size(); i++) {
+			assertEquals(listed.get(i).getSupplierId(), sorted.get(i).getSupplierId());
+			assertEquals(codes(listed.get(i)), codes(sorted.get(i)));
+			assertEquals(reorders(listed.get(i)), reorders(sorted.get(i)));
+		}
+	}
+
+	private static ReplenishmentService service(double targetMultiplier, int packSize) {
+		return service(targetMultiplier, packSize, List.of());
+	}
+
+	private static ReplenishmentService service(double targetMultiplier, int packSize, List<LowStockItem> items) {
+		ProductRepository productRepository = mock(ProductRepository.class);
+		when(productRepository.findLowStockItems()).thenReturn(items);
+		ReplenishmentService service = new ReplenishmentService();
+		ReflectionTestUtils.setField(service, "productRepository", productRepository);
+		ReflectionTestUtils.setField(service, "targetMultiplier", targetMultiplier);
+		ReflectionTestUtils.setField(service, "packSize", packSize);
+		return service;
+	}
+
+	private static LowStockItem item(long id, String code, int quantity, int minimumStock, Long supplierId, String supplierName) {
+		return new LowStockItem(id, code, "Item " + code, BigDecimal.ONE, quantity, minimumStock, supplierId, supplierName);
+	}
+
+	private static List<String> codes(SupplierOrderDraft order) {
+		return order.getLines().stream().map(ReorderLine::getCode).toList();
+	}
+
+	private static List<Integer> reorders(SupplierOrderDraft order) {
+		return order.getLines().stream().map(ReorderLine::getReorderQuantity).toList();
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.example.supply_manager.service;
+
+import com.example.supply_manager.repository.ShardedProductStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+// The rollups read the JPA products table, which holds nothing once products live on the shards
+class ShardedRollupRefusalTests {
+
+	@Test
+	void inventoryReportsAreRejected() {
+		ReportService service = sharded(new ReportService());
+
+		assertRejected(service::summarizeInventory);
+		assertRejected(() -> service.summarizeInventory("category"));
+	}
+
+	@Test
+	void replenishmentPlanIsRejected() {
+		ReplenishmentService service = sharded(new ReplenishmentService());
+
+		assertRejected(service::planOrders);
+	}
+
+	@Test
+	void productStatisticsAreRejected() {
+		CategoryService categories = sharded(new CategoryService());
+		SupplierService suppliers = sharded(new SupplierService());
+
+		assertRejected(categories::findAllWithStats);
+		assertRejected(suppliers::findAllWithStats);
+	}
+
+	private static <T> T sharded(T service) {
+		ReflectionTestUtils.setField(service, "shardedProductStore", mock(ShardedProductStore.class));
+		return service;
+	}
+
+	private static void assertRejected(Executable call) {
+		RuntimeException e = assertThrows(RuntimeException.class, call);
+		assertTrue(e.getMessage().contains("not supported when sharding is enabled"));
+	}
+}
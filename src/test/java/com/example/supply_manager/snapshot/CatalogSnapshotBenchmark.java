@@ -0,0 +1,78 @@
+package com.example.supply_manager.snapshot;
+
+import com.example.supply_manager.dto.CatalogEntry;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.supply_manager.snapshot.CatalogSnapshotBenchmark
+public class CatalogSnapshotBenchmark {
+
+	private static final int PRODUCTS = 1_000_000;
+	private static final int LOOKUPS = 5_000_000;
+
+	public static void main(String[] args) throws Exception {
+		Random random = new Random(42);
+		List<CatalogSnapshot.CatalogRow> rows = new ArrayList<>(PRODUCTS);
+		String[] codes = new String[PRODUCTS];
+		for (int i = 0; i < PRODUCTS; i++) {
+			codes[i] = String.format("SKU-%08d", i);
+			rows.add(new CatalogSnapshot.CatalogRow(i, codes[i], "Product " + i + " " + Long.toHexString(random.nextLong()),
+					BigDecimal.valueOf(100 + random.nextInt(100_000), 2), 1 + random.nextInt(1000), "Category " + random.nextInt(1000)));
+		}
+		Path file = Files.createTempDirectory("catalog-snapshot-bench").resolve("catalog.snap");
+
+		long start = System.nanoTime();
+		CatalogSnapshot snapshot = CatalogSnapshot.write(file, System.currentTimeMillis(), rows);
+		System.out.printf("build=%dms file=%.1fMB (%d bytes/product)%n", (System.nanoTime() - start) / 1_000_000,
+				snapshot.getSizeBytes() / 1e6, snapshot.getSizeBytes() / PRODUCTS);
+
+		long heapBefore = usedHeap();
+		Map<String, CatalogEntry> onHeap = new HashMap<>(PRODUCTS * 2);
+		for (int i = 0; i < PRODUCTS; i++) {
+			onHeap.put(codes[i], snapshot.entry(i));
+		}
+		System.out.printf("equivalent HashMap<String, CatalogEntry> retains %.1fMB of heap; the snapshot retains none%n",
+				(usedHeap() - heapBefore) / 1e6);
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		for (int round = 0; round < 3; round++) {
+			long checksum = 0;
+			long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+			start = System.nanoTime();
+			for (int i = 0; i < LOOKUPS; i++) {
+				int index = snapshot.indexOf(codes[(int) ((i * 2_654_435_761L) % PRODUCTS)]);
+				checksum += snapshot.priceUnscaled(index) + snapshot.categoryId(index);
+			}
+			long snapshotNanos = System.nanoTime() - start;
+			long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+			start = System.nanoTime();
+			for (int i = 0; i < LOOKUPS; i++) {
+				CatalogEntry entry = onHeap.get(codes[(int) ((i * 2_654_435_761L) % PRODUCTS)]);
+				checksum -= entry.getPrice().unscaledValue().longValue() + entry.getCategoryId();
+			}
+			long hashMapNanos = System.nanoTime() - start;
+
+			System.out.printf("snapshot=%dns/lookup (%.3f bytes allocated/lookup) hashmap=%dns/lookup checksum=%d%n",
+					snapshotNanos / LOOKUPS, (double) allocated / LOOKUPS, hashMapNanos / LOOKUPS, checksum);
+		}
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.example.supply_manager.snapshot;
+
+import com.example.supply_manager.dto.CatalogEntry;
+import com.example.supply_manager.snapshot.CatalogSnapshot.CatalogRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CatalogSnapshotTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void writtenSnapshotReopensAndFindsEveryCode() throws IOException {
+		Path file = directory.resolve("catalog.snap");
+		// Unsorted on purpose; the writer sorts by code
+		CatalogSnapshot.write(file, 1234L, List.of(
+				new CatalogRow(3L, "C-300", "Gasket", new BigDecimal("0.5"), 20L, "Plumbing"),
+				new CatalogRow(1L, "A-100", "Bolt", new BigDecimal("1.25"), 10L, "Fasteners"),
+				new CatalogRow(2L, "B-200", "Wrench éè", new BigDecimal("19.999"), 10L, "Fasteners"),
+				new CatalogRow(4L, "D-400", "Unfiled", new BigDecimal("7"), 0L, null)));
+
+		CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+		assertEquals(1234L, snapshot.getBuiltAt());
+		assertEquals(4, snapshot.getCount());
+		CatalogEntry bolt = snapshot.entry(snapshot.indexOf("A-100"));
+		assertEquals(1L, bolt.getProductId());
+		assertEquals("A-100", bolt.getCode());
+		assertEquals("Bolt", bolt.getName());
+		assertEquals(new BigDecimal("1.25"), bolt.getPrice());
+		assertEquals(10L, bolt.getCategoryId());
+		assertEquals("Fasteners", bolt.getCategoryName());
+
+		CatalogEntry wrench = snapshot.entry(snapshot.indexOf("B-200"));
+		assertEquals("Wrench éè", wrench.getName());
+		assertEquals(new BigDecimal("20.00"), wrench.getPrice());
+		assertEquals("Fasteners", wrench.getCategoryName());
+
+		assertEquals(new BigDecimal("0.50"), snapshot.entry(snapshot.indexOf("C-300")).getPrice());
+		assertEquals("Plumbing", snapshot.categoryName(snapshot.indexOf("C-300")));
+	}
+
+	@Test
+	void nullCategoryNameReadsBackAsNull() throws IOException {
+		CatalogSnapshot snapshot = CatalogSnapshot.write(directory.resolve("catalog.snap"), 0L, List.of(
+				new CatalogRow(4L, "D-400", "Unfiled", BigDecimal.ONE, 0L, null)));
+
+		int index = snapshot.indexOf("D-400");
+		assertNull(snapshot.categoryName(index));
+		assertNull(snapshot.entry(index).getCategoryName());
+		assertEquals("Unfiled", snapshot.name(index));
+	}
+
+	@Test
+	void missingCodeIsNotFound() throws IOException {
+		CatalogSnapshot snapshot = CatalogSnapshot.write(directory.resolve("catalog.snap"), 0L, List.of(
+				new CatalogRow(1L, "A-100", "Bolt", BigDecimal.ONE, 10L, "Fasteners"),
+				new CatalogRow(3L, "C-300", "Gasket", BigDecimal.ONE, 20L, "Plumbing")));
+
+		assertEquals(-1, snapshot.indexOf("0-000"));
+		assertEquals(-1, snapshot.indexOf("B-200"));
+		assertEquals(-1, snapshot.indexOf("Z-999"));
+		assertEquals(-1, snapshot.indexOf("A-10"));
+		assertEquals(-1, snapshot.indexOf("A-1000"));
+		assertEquals(-1, snapshot.indexOf(""));
+	}
+
+	@Test
+	void emptySnapshotFindsNothing() throws IOException {
+		CatalogSnapshot snapshot = CatalogSnapshot.write(directory.resolve("catalog.snap"), 0L, List.of());
+
+		assertEquals(0, snapshot.getCount());
+		assertEquals(-1, snapshot.indexOf("A-100"));
+	}
+
+}
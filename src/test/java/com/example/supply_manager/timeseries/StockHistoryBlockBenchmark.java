@@ -0,0 +1,54 @@
+package com.example.supply_manager.timeseries;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+// Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.supply_manager.timeseries.StockHistoryBlockBenchmark
+public class StockHistoryBlockBenchmark {
+
+	private static final int PRODUCTS = 100_000;
+	private static final long BLOCK_MILLIS = 86_400_000L;
+
+	public static void main(String[] args) throws Exception {
+		for (int samplesPerProduct : new int[] { 1, 8, 64 }) {
+			Map<Long, StockSeries> series = generate(samplesPerProduct, new Random(42));
+			Path directory = Files.createTempDirectory("stock-history-bench");
+
+			long start = System.nanoTime();
+			SealedBlock block = SealedBlock.write(directory, 0, BLOCK_MILLIS, series);
+			long writeNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			long decoded = 0;
+			for (long productId = 0; productId < PRODUCTS; productId += 100) {
+				decoded += block.read(productId).size();
+			}
+			long readNanos = System.nanoTime() - start;
+
+			System.out.printf("samples/product=%d bytes/sample=%.2f seal=%dms point-read=%dus (%d samples)%n",
+					samplesPerProduct, (double) block.getSizeBytes() / block.getSamples(),
+					writeNanos / 1_000_000, readNanos / 1_000 / (PRODUCTS / 100), decoded);
+		}
+	}
+
+	// Stock moves are mostly small removals with an occasional large restock, spread over the day
+	private static Map<Long, StockSeries> generate(int samplesPerProduct, Random random) {
+		Map<Long, StockSeries> series = new HashMap<>();
+		for (long productId = 0; productId < PRODUCTS; productId++) {
+			StockSeries productSeries = new StockSeries(samplesPerProduct);
+			int quantity = 50 + random.nextInt(500);
+			long timestamp = random.nextInt(60_000);
+			for (int i = 0; i < samplesPerProduct; i++) {
+				timestamp += random.nextInt((int) (BLOCK_MILLIS / samplesPerProduct));
+				quantity = random.nextInt(20) == 0 ? quantity + 200 : Math.max(0, quantity - 1 - random.nextInt(5));
+				productSeries.add(timestamp, quantity);
+			}
+			series.put(productId, productSeries);
+		}
+		return series;
+	}
+
+}
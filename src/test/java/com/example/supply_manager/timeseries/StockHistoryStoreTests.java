@@ -0,0 +1,115 @@
+package com.example.supply_manager.timeseries;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StockHistoryStoreTests {
+
+	private static final long BLOCK_MILLIS = 86_400_000L;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void samplesSurviveCrashBeforeSeal() throws IOException {
+		StockHistoryStore crashed = openStore();
+		crashed.record(1L, 10, 1_000);
+		crashed.record(1L, 7, 2_000);
+		crashed.record(2L, 3, 1_500);
+		crashed.syncLogs();
+		// No close(): the process died with the window still open
+
+		StockHistoryStore restarted = openStore();
+
+		assertArrayEquals(new int[] { 10, 7 }, values(restarted, 1L));
+		assertArrayEquals(new int[] { 3 }, values(restarted, 2L));
+	}
+
+	@Test
+	void tornRecordAtLogTailIsDropped() throws IOException {
+		StockHistoryStore crashed = openStore();
+		crashed.record(1L, 10, 1_000);
+		crashed.syncLogs();
+		Files.write(logFile(), new byte[] { 1, 2, 3 }, StandardOpenOption.APPEND);
+
+		StockHistoryStore restarted = openStore();
+		restarted.record(1L, 11, 2_000);
+
+		assertArrayEquals(new int[] { 10, 11 }, values(restarted, 1L));
+	}
+
+	@Test
+	void sealedWindowIsNotReplayed() throws IOException {
+		StockHistoryStore store = openStore();
+		store.record(1L, 10, 1_000);
+		store.close();
+
+		StockHistoryStore restarted = openStore();
+
+		assertArrayEquals(new int[] { 10 }, values(restarted, 1L));
+		assertEquals(0L, restarted.stats().get("openSamples"));
+		try (Stream<Path> logs = Files.list(directory).filter(path -> path.toString().endsWith(".log"))) {
+			assertEquals(0, logs.count());
+		}
+	}
+
+	@Test
+	void queryReturnsSealedAndOpenWindowsInTimeOrder() throws IOException {
+		StockHistoryStore store = openStore();
+		store.record(1L, 30, 2 * BLOCK_MILLIS + 5);
+		store.record(1L, 10, 5);
+		store.record(1L, 20, BLOCK_MILLIS + 5);
+		store.sealCompletedBlocks();
+		long now = System.currentTimeMillis();
+		store.record(1L, 41, now + 1);
+		store.record(1L, 40, now);
+
+		StockSeries series = store.query(1L, 0, now + 1);
+
+		assertArrayEquals(new int[] { 10, 20, 30, 40, 41 }, Arrays.copyOf(series.values(), series.size()));
+	}
+
+	@Test
+	void sampleRecordedAfterItsWindowWasSealedIsMergedInOrder() throws IOException {
+		StockHistoryStore store = openStore();
+		store.record(1L, 10, 1_000);
+		store.record(1L, 12, 3_000);
+		store.sealCompletedBlocks();
+		store.record(1L, 11, 2_000);
+
+		assertArrayEquals(new int[] { 10, 11, 12 }, values(store, 1L));
+		assertEquals(1, store.stats().get("sealedBlocks"));
+		assertEquals(1, store.stats().get("openBlocks"));
+	}
+
+	private static int[] values(StockHistoryStore store, long productId) {
+		StockSeries series = store.query(productId, 0, BLOCK_MILLIS);
+		return Arrays.copyOf(series.values(), series.size());
+	}
+
+	private StockHistoryStore openStore() throws IOException {
+		StockHistoryStore store = new StockHistoryStore();
+		ReflectionTestUtils.setField(store, "directory", directory.toString());
+		ReflectionTestUtils.setField(store, "blockMillis", BLOCK_MILLIS);
+		store.open();
+		return store;
+	}
+
+	private Path logFile() throws IOException {
+		try (Stream<Path> logs = Files.list(directory).filter(path -> path.toString().endsWith(".log"))) {
+			return logs.findFirst().orElseThrow();
+		}
+	}
+
+}
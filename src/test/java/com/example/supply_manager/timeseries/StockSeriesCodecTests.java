@@ -0,0 +1,81 @@
+package com.example.supply_manager.timeseries;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StockSeriesCodecTests {
+
+	private static final long BASE = 1_700_000_000_000L;
+
+	@Test
+	void emptySeriesRoundTrips() {
+		StockSeries decoded = roundTrip(new StockSeries(), BASE);
+
+		assertEquals(0, decoded.size());
+	}
+
+	@Test
+	void singleSampleRoundTrips() {
+		StockSeries series = new StockSeries();
+		series.add(BASE + 12_345, 42);
+
+		StockSeries decoded = roundTrip(series, BASE);
+
+		assertEquals(1, decoded.size());
+		assertEquals(BASE + 12_345, decoded.timestampAt(0));
+		assertEquals(42, decoded.valueAt(0));
+	}
+
+	@Test
+	void timestampsAreDeltasFromBlockStart() {
+		StockSeries series = new StockSeries();
+		series.add(BASE, 10);
+		series.add(BASE + 1, 10);
+		series.add(BASE + 60_000, 10);
+		series.add(BASE + 86_399_999, 10);
+
+		assertSameSamples(series, roundTrip(series, BASE));
+		// A small first delta and regular gaps stay within a few bytes per sample
+		assertEquals(1 + 1 + 1 + 3 + 4 + 4, StockSeriesCodec.encode(series, BASE).length);
+	}
+
+	@Test
+	void negativeDeltasRoundTrip() {
+		StockSeries series = new StockSeries();
+		// Out-of-order timestamps, one before the block start, and falling or negative quantities
+		series.add(BASE + 5_000, 100);
+		series.add(BASE + 1_000, 40);
+		series.add(BASE - 250, -3);
+		series.add(BASE + 9_000, 0);
+		series.add(BASE + 8_999, -7);
+
+		assertSameSamples(series, roundTrip(series, BASE));
+	}
+
+	@Test
+	void extremeValuesRoundTrip() {
+		StockSeries series = new StockSeries();
+		series.add(BASE, Integer.MAX_VALUE);
+		series.add(BASE + 1, Integer.MIN_VALUE);
+		series.add(BASE + 2, Integer.MAX_VALUE);
+		series.add(Long.MAX_VALUE / 2, 0);
+
+		assertSameSamples(series, roundTrip(series, BASE));
+	}
+
+	private static StockSeries roundTrip(StockSeries series, long base) {
+		return StockSeriesCodec.decode(StockSeriesCodec.encode(series, base), base);
+	}
+
+	private static void assertSameSamples(StockSeries expected, StockSeries actual) {
+		// The column arrays are the growable backing store, so compare only the filled prefix
+		assertEquals(expected.size(), actual.size());
+		assertArrayEquals(Arrays.copyOf(expected.timestamps(), expected.size()), Arrays.copyOf(actual.timestamps(), actual.size()));
+		assertArrayEquals(Arrays.copyOf(expected.values(), expected.size()), Arrays.copyOf(actual.values(), actual.size()));
+	}
+
+}